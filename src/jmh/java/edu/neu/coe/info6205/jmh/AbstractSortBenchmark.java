@@ -0,0 +1,81 @@
+package edu.neu.coe.info6205.jmh;
+
+import edu.neu.coe.info6205.sort.BaseHelper;
+import edu.neu.coe.info6205.sort.SortWithHelper;
+import edu.neu.coe.info6205.util.Config;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Base class for the JMH benchmarks of SortWithHelper implementations.
+ * <p>
+ * Each concrete subclass defines the parameters sorter (see Sorters), n and type (see ElementType);
+ * the parameter distribution (see Distribution) is common to all.
+ * The input is generated once per trial (with a fixed seed) and each invocation sorts a fresh copy of it
+ * (the cost of the copy, which is linear, is included in the results).
+ * The sorters use a (non-instrumented) BaseHelper.
+ * At the end of each trial, the sorter is checked for correctness.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public abstract class AbstractSortBenchmark {
+
+    @Param
+    public Distribution distribution;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        data = type().create(distribution.keys(n(), new Random(SEED)));
+        sorter = createSorter();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Benchmark
+    public Comparable<?>[] sort() {
+        final Comparable<?>[] xs = Arrays.copyOf(data, data.length);
+        sorter.mutatingSort(xs);
+        return xs;
+    }
+
+    @SuppressWarnings("unchecked")
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        final Comparable<?>[] xs = sort();
+        if (!sorter.getHelper().sorted(xs)) throw new IllegalStateException(sorter + " did not sort " + distribution + " " + type());
+        sorter.close();
+    }
+
+    /**
+     * @return the simple class name of the sorter.
+     */
+    protected abstract String sorter();
+
+    /**
+     * @return the number of elements to be sorted.
+     */
+    protected abstract int n();
+
+    /**
+     * @return the type of the elements to be sorted.
+     */
+    protected abstract ElementType type();
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private SortWithHelper createSorter() throws IOException {
+        return Sorters.create(sorter(), new BaseHelper(sorter(), n(), Config.load(AbstractSortBenchmark.class)), type());
+    }
+
+    private static final long SEED = 0L;
+
+    private Comparable<?>[] data;
+    @SuppressWarnings("rawtypes")
+    private SortWithHelper sorter;
+}
@@ -0,0 +1,32 @@
+package edu.neu.coe.info6205.jmh;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+
+/**
+ * Main class of benchmarks.jar.
+ * <p>
+ * This accepts exactly the same options as org.openjdk.jmh.Main (try -h),
+ * except that, unless -rf and/or -rff are given, the results are written in JSON format to jmh-result.json.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException, IOException {
+        final CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        if (commandLineOptions.shouldHelp()) {
+            commandLineOptions.showHelp();
+            return;
+        }
+        final ChainedOptionsBuilder builder = new OptionsBuilder().parent(commandLineOptions);
+        if (!commandLineOptions.getResultFormat().hasValue()) builder.resultFormat(ResultFormatType.JSON);
+        if (!commandLineOptions.getResult().hasValue()) builder.result("jmh-result.json");
+        new Runner(builder.build()).run();
+    }
+}
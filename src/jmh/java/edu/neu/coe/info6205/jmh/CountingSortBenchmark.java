@@ -0,0 +1,33 @@
+package edu.neu.coe.info6205.jmh;
+
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * JMH benchmarks of the counting (radix) sorts (STRING is excluded because KeyRadixSort requires long keys).
+ */
+public class CountingSortBenchmark extends AbstractSortBenchmark {
+
+    @Param({"KeyRadixSort"})
+    public String sorter;
+
+    @Param({"10000", "1000000"})
+    public int n;
+
+    @Param({"INTEGER", "DOUBLE", "LOCAL_DATE_TIME"})
+    public ElementType type;
+
+    @Override
+    protected String sorter() {
+        return sorter;
+    }
+
+    @Override
+    protected int n() {
+        return n;
+    }
+
+    @Override
+    protected ElementType type() {
+        return type;
+    }
+}
@@ -0,0 +1,79 @@
+package edu.neu.coe.info6205.jmh;
+
+import java.util.Random;
+
+/**
+ * The distributions of input data for the sort benchmarks.
+ * Each distribution yields an array of non-negative int keys, from which the elements are created (see ElementType).
+ */
+public enum Distribution {
+
+    /**
+     * Keys chosen uniformly at random.
+     */
+    RANDOM {
+        int[] keys(int n, Random random) {
+            final int[] result = new int[n];
+            for (int i = 0; i < n; i++) result[i] = random.nextInt(Integer.MAX_VALUE);
+            return result;
+        }
+    },
+
+    /**
+     * Keys in ascending order.
+     */
+    SORTED {
+        int[] keys(int n, Random random) {
+            final int[] result = new int[n];
+            for (int i = 0; i < n; i++) result[i] = i;
+            return result;
+        }
+    },
+
+    /**
+     * Keys in descending order.
+     */
+    REVERSED {
+        int[] keys(int n, Random random) {
+            final int[] result = new int[n];
+            for (int i = 0; i < n; i++) result[i] = n - i;
+            return result;
+        }
+    },
+
+    /**
+     * Keys in ascending order, except that n/20 random pairs have been swapped.
+     */
+    PARTIAL {
+        int[] keys(int n, Random random) {
+            final int[] result = SORTED.keys(n, random);
+            for (int k = 0; k < n / 20; k++) {
+                final int i = random.nextInt(n), j = random.nextInt(n);
+                final int t = result[i];
+                result[i] = result[j];
+                result[j] = t;
+            }
+            return result;
+        }
+    },
+
+    /**
+     * Keys chosen at random from only 16 distinct values.
+     */
+    DUPLICATES {
+        int[] keys(int n, Random random) {
+            final int[] result = new int[n];
+            for (int i = 0; i < n; i++) result[i] = random.nextInt(16);
+            return result;
+        }
+    };
+
+    /**
+     * Method to generate the keys.
+     *
+     * @param n      the number of keys.
+     * @param random the source of randomness.
+     * @return an array of n non-negative keys.
+     */
+    abstract int[] keys(int n, Random random);
+}
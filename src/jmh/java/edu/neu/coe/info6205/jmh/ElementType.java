@@ -0,0 +1,84 @@
+package edu.neu.coe.info6205.jmh;
+
+import edu.neu.coe.info6205.sort.counting.KeyRadixSort;
+
+import java.time.LocalDateTime;
+import java.util.function.ToLongFunction;
+
+/**
+ * The element types for the sort benchmarks.
+ * Each type maps the (non-negative) keys of a Distribution to elements in an order-preserving way.
+ */
+public enum ElementType {
+
+    INTEGER {
+        Comparable<?>[] create(int[] keys) {
+            final Integer[] result = new Integer[keys.length];
+            for (int i = 0; i < keys.length; i++) result[i] = keys[i];
+            return result;
+        }
+
+        ToLongFunction<?>[] radixKeys() {
+            return new ToLongFunction<?>[]{(ToLongFunction<Integer>) Integer::longValue};
+        }
+    },
+
+    DOUBLE {
+        Comparable<?>[] create(int[] keys) {
+            final Double[] result = new Double[keys.length];
+            for (int i = 0; i < keys.length; i++) result[i] = keys[i] / 1000.0;
+            return result;
+        }
+
+        ToLongFunction<?>[] radixKeys() {
+            // NOTE the elements are non-negative, so the order of their bit patterns is their natural order.
+            return new ToLongFunction<?>[]{(ToLongFunction<Double>) Double::doubleToLongBits};
+        }
+    },
+
+    /**
+     * Zero-padded decimal strings (so that their natural order is the order of the keys).
+     */
+    STRING {
+        Comparable<?>[] create(int[] keys) {
+            final String[] result = new String[keys.length];
+            for (int i = 0; i < keys.length; i++) result[i] = String.format("%010d", keys[i]);
+            return result;
+        }
+
+        ToLongFunction<?>[] radixKeys() {
+            return null;
+        }
+    },
+
+    /**
+     * Date-times which are the given number of seconds after a fixed date-time.
+     */
+    LOCAL_DATE_TIME {
+        Comparable<?>[] create(int[] keys) {
+            final LocalDateTime origin = LocalDateTime.of(2000, 1, 1, 0, 0);
+            final LocalDateTime[] result = new LocalDateTime[keys.length];
+            for (int i = 0; i < keys.length; i++) result[i] = origin.plusSeconds(keys[i]);
+            return result;
+        }
+
+        ToLongFunction<?>[] radixKeys() {
+            return KeyRadixSort.localDateTimeKeys();
+        }
+    };
+
+    /**
+     * Method to create the elements.
+     *
+     * @param keys the keys.
+     * @return an array of elements (whose runtime type is an array of this element type).
+     */
+    abstract Comparable<?>[] create(int[] keys);
+
+    /**
+     * Method to yield the key extractors for KeyRadixSort.
+     *
+     * @return the key extractors (most significant first), or null if this type cannot be radix-sorted.
+     */
+    abstract ToLongFunction<?>[] radixKeys();
+}
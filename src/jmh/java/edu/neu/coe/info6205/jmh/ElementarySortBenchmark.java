@@ -0,0 +1,33 @@
+package edu.neu.coe.info6205.jmh;
+
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * JMH benchmarks of the elementary (mostly quadratic) sorts.
+ */
+public class ElementarySortBenchmark extends AbstractSortBenchmark {
+
+    @Param({"InsertionSort", "InsertionSortOpt", "SelectionSort", "BubbleSort", "SortingNetwork", "ShellSort", "HeapSort", "HeapSort_BottomUp", "HeapSort_4ary"})
+    public String sorter;
+
+    @Param({"1000", "10000"})
+    public int n;
+
+    @Param({"INTEGER", "DOUBLE", "STRING", "LOCAL_DATE_TIME"})
+    public ElementType type;
+
+    @Override
+    protected String sorter() {
+        return sorter;
+    }
+
+    @Override
+    protected int n() {
+        return n;
+    }
+
+    @Override
+    protected ElementType type() {
+        return type;
+    }
+}
@@ -0,0 +1,33 @@
+package edu.neu.coe.info6205.jmh;
+
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * JMH benchmarks of the linearithmic sorts (TimSort, a port of the algorithm used by Arrays.sort for objects, is the baseline).
+ */
+public class LinearithmicSortBenchmark extends AbstractSortBenchmark {
+
+    @Param({"MergeSort", "MergeSortBasic", "MultiwayMergeSort", "QuickSort_Basic", "QuickSort_3way", "QuickSort_DualPivot", "QuickSort_Exp", "QuickSort_Block", "IntroSort", "IntroSort_PatternDefeating", "TimSort"})
+    public String sorter;
+
+    @Param({"10000", "1000000"})
+    public int n;
+
+    @Param({"INTEGER", "DOUBLE", "STRING", "LOCAL_DATE_TIME"})
+    public ElementType type;
+
+    @Override
+    protected String sorter() {
+        return sorter;
+    }
+
+    @Override
+    protected int n() {
+        return n;
+    }
+
+    @Override
+    protected ElementType type() {
+        return type;
+    }
+}
@@ -0,0 +1,33 @@
+package edu.neu.coe.info6205.jmh;
+
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * JMH benchmarks of the parallel sorts (compare with MergeSort in LinearithmicSortBenchmark).
+ */
+public class ParallelSortBenchmark extends AbstractSortBenchmark {
+
+    @Param({"ParallelMergeSort"})
+    public String sorter;
+
+    @Param({"100000", "1000000", "10000000"})
+    public int n;
+
+    @Param({"INTEGER", "STRING"})
+    public ElementType type;
+
+    @Override
+    protected String sorter() {
+        return sorter;
+    }
+
+    @Override
+    protected int n() {
+        return n;
+    }
+
+    @Override
+    protected ElementType type() {
+        return type;
+    }
+}
@@ -0,0 +1,81 @@
+package edu.neu.coe.info6205.jmh;
+
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.SortWithHelper;
+import edu.neu.coe.info6205.sort.counting.KeyRadixSort;
+import edu.neu.coe.info6205.sort.elementary.*;
+import edu.neu.coe.info6205.sort.linearithmic.*;
+import edu.neu.coe.info6205.sort.par.ParallelMergeSort;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * Factory for the SortWithHelper implementations which are benchmarked, by (simple class) name.
+ * <p>
+ * NOTE RandomSort is not included because it does not (in general) sort its input.
+ */
+class Sorters {
+
+    /**
+     * Method to create a sorter.
+     *
+     * @param name   the simple name of the sorter's class (ShellSort uses Knuth's gap sequence).
+     * @param helper the helper.
+     * @param type   the element type (used only by KeyRadixSort).
+     * @param <X>    the underlying type.
+     * @return a new SortWithHelper.
+     */
+    @SuppressWarnings("unchecked")
+    static <X extends Comparable<X>> SortWithHelper<X> create(String name, Helper<X> helper, ElementType type) {
+        switch (name) {
+            case "InsertionSort":
+                return new InsertionSort<>(helper);
+            case "InsertionSortOpt":
+                return new InsertionSortOpt<>(helper);
+            case "SelectionSort":
+                return new SelectionSort<>(helper);
+            case "BubbleSort":
+                return new BubbleSort<>(helper);
+            case "SortingNetwork":
+                return new SortingNetwork<>(helper);
+            case "ShellSort":
+                return new ShellSort<>(3, helper);
+            case "HeapSort":
+                return new HeapSort<>(helper);
+            case "HeapSort_BottomUp":
+                return new HeapSort_BottomUp<>(helper);
+            case "HeapSort_4ary":
+                return new HeapSort_4ary<>(helper);
+            case "MergeSort":
+                return new MergeSort<>(helper);
+            case "MergeSortBasic":
+                return new MergeSortBasic<>(helper);
+            case "MultiwayMergeSort":
+                return new MultiwayMergeSort<>(helper);
+            case "QuickSort_Basic":
+                return new QuickSort_Basic<>(helper);
+            case "QuickSort_3way":
+                return new QuickSort_3way<>(helper);
+            case "QuickSort_DualPivot":
+                return new QuickSort_DualPivot<>(helper);
+            case "QuickSort_Exp":
+                return new QuickSort_Exp<>(helper);
+            case "QuickSort_Block":
+                return new QuickSort_Block<>(helper);
+            case "IntroSort":
+                return new IntroSort<>(helper);
+            case "IntroSort_PatternDefeating":
+                return new IntroSort_PatternDefeating<>(helper);
+            case "TimSort":
+                return new TimSort<>(helper);
+            case "KeyRadixSort":
+                final ToLongFunction<?>[] keys = type.radixKeys();
+                if (keys == null) throw new IllegalArgumentException("KeyRadixSort cannot sort " + type);
+                return new KeyRadixSort<>(helper, (ToLongFunction<X>[]) keys);
+            case "ParallelMergeSort":
+                return new ParallelMergeSort<>(helper);
+            default:
+                throw new IllegalArgumentException("unknown sorter: " + name);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package edu.neu.coe.info6205.life.base;
+
+import edu.neu.coe.info6205.util.Config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Class to detect when a Game has entered a cycle, that's to say it has become a still life (period 1)
+ * or an oscillator (period greater than 1).
+ * <p>
+ * Rather than remembering every Game, we are given only the Zobrist hash of each generation in turn
+ * (a hash collision, which would lead to a false detection, has a probability of about 2^-64 per pair of states).
+ * The most recent hashes are kept in a ring (with an index), so that a cycle whose period is no greater than
+ * the size of the ring is detected as soon as the first state repeats.
+ * Longer cycles, up to the configured maximum period, are detected by Brent's algorithm, which requires only
+ * one saved hash (the "tortoise"): it is replaced every time the number of steps since it was saved reaches
+ * the current power of two, which doubles each time (but no further than the maximum period).
+ * Thus, once a Game has entered a cycle of period p, Brent's algorithm detects it within about 2p generations.
+ */
+public class CycleDetector {
+
+    public static final String GAME = "game";
+    public static final String RECENT = "recent";
+    public static final String MAXPERIOD = "maxperiod";
+
+    /**
+     * Factory method to create a CycleDetector according to the [game] section of config.
+     *
+     * @param config the configuration.
+     * @return a new CycleDetector.
+     */
+    public static CycleDetector create(Config config) {
+        return new CycleDetector(config.getInt(GAME, RECENT, DefaultRecent), config.getInt(GAME, MAXPERIOD, DefaultMaxPeriod));
+    }
+
+    /**
+     * Constructor for CycleDetector.
+     *
+     * @param recent    the number of recent hashes to remember (at least 1).
+     * @param maxPeriod the longest period to be detected by Brent's algorithm (at least 1).
+     */
+    public CycleDetector(int recent, int maxPeriod) {
+        if (recent < 1 || maxPeriod < 1)
+            throw new LifeException("CycleDetector: recent and maxPeriod must be positive: " + recent + ", " + maxPeriod);
+        hashes = new long[recent];
+        generations = new long[recent];
+        maxPower = Long.highestOneBit(maxPeriod) < maxPeriod ? Long.highestOneBit(maxPeriod) << 1 : maxPeriod;
+    }
+
+    /**
+     * Constructor for CycleDetector with the default ring size and maximum period.
+     */
+    public CycleDetector() {
+        this(DefaultRecent, DefaultMaxPeriod);
+    }
+
+    /**
+     * Method to test the next state.
+     * NOTE the generations must be consecutive (and each generation must be tested exactly once).
+     *
+     * @param generation the generation of the state.
+     * @param hash       the Zobrist hash of the state.
+     * @return the period of the cycle, if the state has been seen before; otherwise 0.
+     */
+    public long test(long generation, long hash) {
+        if (period == 0) period = testRecent(generation, hash);
+        if (period == 0) period = testBrent(hash);
+        return period;
+    }
+
+    /**
+     * @return the period of the cycle which has been detected (or 0 if no cycle has yet been detected).
+     */
+    public long getPeriod() {
+        return period;
+    }
+
+    private long testRecent(long generation, long hash) {
+        final Long previous = index.get(hash);
+        final long result = previous != null ? generation - previous : 0;
+        // NOTE evict the oldest entry from the index (unless its hash has been seen again since).
+        if (count == hashes.length && Long.valueOf(generations[next]).equals(index.get(hashes[next])))
+            index.remove(hashes[next]);
+        hashes[next] = hash;
+        generations[next] = generation;
+        index.put(hash, generation);
+        next = (next + 1) % hashes.length;
+        count = Math.min(count + 1, hashes.length);
+        return result;
+    }
+
+    private long testBrent(long hash) {
+        if (!started) {
+            tortoise = hash;
+            started = true;
+            return 0;
+        }
+        lambda++;
+        if (hash == tortoise) return lambda;
+        if (lambda == power) {
+            tortoise = hash;
+            lambda = 0;
+            power = Math.min(2 * power, maxPower);
+        }
+        return 0;
+    }
+
+    public static final int DefaultRecent = 16;
+    public static final int DefaultMaxPeriod = 1024;
+
+    private final long[] hashes;
+    private final long[] generations;
+    private final Map<Long, Long> index = new HashMap<>();
+    private int next = 0;
+    private int count = 0;
+
+    private final long maxPower;
+    private long power = 1;
+    private long lambda = 0;
+    private long tortoise;
+    private boolean started = false;
+
+    private long period = 0;
+}
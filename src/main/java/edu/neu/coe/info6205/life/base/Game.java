@@ -1,10 +1,9 @@
 package edu.neu.coe.info6205.life.base;
 
 import edu.neu.coe.info6205.life.library.Library;
+import edu.neu.coe.info6205.util.Config;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Objects;
+import java.io.IOException;
 import java.util.function.BiConsumer;
 import java.util.function.Predicate;
 
@@ -49,7 +48,25 @@ public class Game implements Generational<Game, Grid>, Countable, Renderable {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(grid);
+        return grid.hashCode();
+    }
+
+    /**
+     * Method to get the Zobrist hash of the cells of this Game (see Point.zobrist).
+     *
+     * @return the Zobrist hash.
+     */
+    long getZobrist() {
+        return grid.getZobrist();
+    }
+
+    /**
+     * Method to get the generation of this Game.
+     *
+     * @return the generation.
+     */
+    long getGeneration() {
+        return generation;
     }
 
     @Override
@@ -65,29 +82,43 @@ public class Game implements Generational<Game, Grid>, Countable, Renderable {
 
     public static final int MaxGenerations = 1000;
 
-    // CONSIDER making this a priority queue so that the older generations can be discarded.
-    public static final Map<Game, Long> generations = new HashMap<>();
-
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
         String patternName = args.length > 0 ? args[0] : "Blip";
         System.out.println("Game of Life with starting pattern: " + patternName);
         final String pattern = Library.get(patternName);
-        run(pattern);
+        run(pattern, CycleDetector.create(Config.load(Game.class)));
     }
 
-    public static void run(String pattern) {
+    /**
+     * Method to run a Game, using the default cycle detector.
+     *
+     * @param pattern the starting pattern.
+     * @return the final Game.
+     */
+    public static Game run(String pattern) {
+        return run(pattern, new CycleDetector());
+    }
+
+    /**
+     * Method to run a Game until it exceeds MaxGenerations, has no cells, or enters a cycle (still life or oscillator).
+     *
+     * @param pattern  the starting pattern.
+     * @param detector the cycle detector (which is given the Zobrist hash of each generation in turn).
+     * @return the final Game.
+     */
+    public static Game run(String pattern, CycleDetector detector) {
         final long generation = 0L;
         final Grid grid = new Grid(generation);
         grid.add(Group.create(generation, pattern));
         BiConsumer<Long, Grid> gridMonitor = (l, g) -> System.out.println("generation " + l + "; grid=" + g);
         BiConsumer<Long, Group> groupMonitor = (l, g) -> System.out.println("generation " + l + ";\ngroup=\n" + g.render());
         Game game = new Game(generation, grid, groupMonitor);
-        while (!game.terminated()) {
-            generations.put(game, game.generation);
+        while (!game.terminated(detector)) {
             System.out.println(game.render());
             game = game.generation(gridMonitor);
         }
         System.out.println("Ending Game of Life after " + game.generation + " generations and with " + game.getCount() + " cells");
+        return game;
     }
 
     private Game(long generation, BiConsumer<Long, Group> monitor) {
@@ -100,10 +131,11 @@ public class Game implements Generational<Game, Grid>, Countable, Renderable {
         this.monitor = monitor;
     }
 
-    private boolean terminated() {
+    private boolean terminated(CycleDetector detector) {
+        final long period = detector.test(generation, getZobrist());
         return testTerminationPredicate(g -> g.generation >= MaxGenerations, "having exceeded " + MaxGenerations + " generations") ||
                 testTerminationPredicate(g -> g.getCount() == 0, "no cells") ||
-                testTerminationPredicate(generations::containsKey, "having previous equivalent game");
+                testTerminationPredicate(g -> period > 0, "having entered a cycle with period " + period);
     }
 
     private boolean testTerminationPredicate(Predicate<Game> predicate, String message) {
@@ -1,21 +1,39 @@
 package edu.neu.coe.info6205.life.base;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
 
 /**
  * This class represents an infinite grid on which the game of life can be played.
  * There can be independent groups in the grid, but if they ever overlap, they must be merged.
  * In practice, you will typically only have one group in a grid.
+ * <p>
+ * Since each Group evolves independently of the others, the groups of a large Grid are stepped in parallel
+ * (on a ForkJoinPool). The new groups are then merged in a deterministic order (that of the groups themselves),
+ * using a spatial index of their extents to find the overlaps.
  */
 public class Grid implements Generational<Grid, Group>, Countable, Renderable {
 
     Grid(long generation) {
-        this(generation, new ArrayList<>());
+        this(generation, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor for an empty Grid.
+     *
+     * @param generation the generation.
+     * @param pool       the ForkJoinPool on which to step the groups (if null, the groups are stepped sequentially).
+     */
+    Grid(long generation, ForkJoinPool pool) {
+        this(generation, new ArrayList<>(), pool);
     }
 
     @Override
@@ -83,12 +101,24 @@ public class Grid implements Generational<Grid, Group>, Countable, Renderable {
 
     /**
      * Get the hash code, ignoring the generation.
+     * NOTE this is based on the Zobrist hash, which does not require us to look at the cells.
      *
      * @return the hash code.
      */
     @Override
     public int hashCode() {
-        return Objects.hash(groups);
+        return Long.hashCode(getZobrist());
+    }
+
+    /**
+     * Method to get the Zobrist hash of all the cells of this Grid (the groups do not overlap).
+     *
+     * @return the XOR of the Zobrist hashes of the groups.
+     */
+    long getZobrist() {
+        long result = 0L;
+        for (Group g : groups) result ^= g.getZobrist();
+        return result;
     }
 
     /**
@@ -128,45 +158,170 @@ public class Grid implements Generational<Grid, Group>, Countable, Renderable {
         forEach(g -> monitor.accept(generation, g));
         if (groups == null)
             throw new LifeException("logic error: groups is null");
-        final List<Group> newGroups = this.groups.stream().map(g -> g.generation((l, group) -> System.out.println("Group generation: " + l))).collect(Collectors.toList());
-        return new Grid(generation + 1, mergeGroups(newGroups));
+        final Group[] newGroups = new Group[groups.size()];
+        if (pool != null && newGroups.length >= PARALLEL_THRESHOLD)
+            pool.invoke(new GenerationAction(newGroups, 0, newGroups.length));
+        else
+            for (int i = 0; i < newGroups.length; i++) newGroups[i] = newGeneration(groups.get(i));
+        return new Grid(generation + 1, mergeGroups(Arrays.asList(newGroups)), pool);
     }
 
     /**
      * method to look for and to merge overlapping Groups.
+     * Empty groups are dropped.
+     * <p>
+     * The candidates for overlap are found by a spatial index (see Extents);
+     * overlapping groups are merged in the order in which they appear in groups.
+     * Since a merged group is larger than its constituents, it may overlap groups which they did not,
+     * so we repeat until no more merges are needed.
      *
      * @param groups the groups to be checked.
-     * @return a list of non-overlapping groups.
+     * @return a list of non-overlapping groups, in the order of the first of each merged set in groups.
      */
     static List<Group> mergeGroups(List<Group> groups) {
-        return inner(groups, new ArrayList<>());
+        List<Group> result = new ArrayList<>();
+        for (Group g : groups) if (g.getCount() > 0) result.add(g);
+        int size;
+        do {
+            size = result.size();
+            result = new Extents(result).merge();
+        } while (result.size() < size);
+        return result;
     }
 
-    private Grid(long generation, List<Group> groups) {
+    private Grid(long generation, List<Group> groups, ForkJoinPool pool) {
         this.generation = generation;
         this.groups = groups;
+        this.pool = pool;
+    }
+
+    private static Group newGeneration(Group group) {
+        return group.generation((l, v) -> {
+        });
+    }
+
+    /**
+     * RecursiveAction which steps the groups[from] ... groups[to-1] of this Grid, placing the results in newGroups.
+     */
+    private class GenerationAction extends RecursiveAction {
+        GenerationAction(Group[] newGroups, int from, int to) {
+            this.newGroups = newGroups;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_GRAIN)
+                for (int i = from; i < to; i++) newGroups[i] = newGeneration(groups.get(i));
+            else {
+                final int mid = (from + to) >>> 1;
+                invokeAll(new GenerationAction(newGroups, from, mid), new GenerationAction(newGroups, mid, to));
+            }
+        }
+
+        private final Group[] newGroups;
+        private final int from;
+        private final int to;
     }
 
-    private static List<Group> inner(List<Group> work, List<Group> result) {
-        if (work.size() == 0) return result;
-        Group group = work.get(0);
-        final List<Group> subList = work.subList(1, work.size());
-        for (int i = 0; i < subList.size(); i++) {
-            final Group other = subList.get(i);
-            if (group.overlap(other)) {
-                List<Group> merged = new ArrayList<>();
-                merged.add(group.merge(other));
-                merged.addAll(subList.subList(0, i));
-                if (i < subList.size()) merged.addAll(subList.subList(i + 1, subList.size()));
-                return inner(merged, result);
+    /**
+     * A spatial index of the extents of a list of (non-empty) groups.
+     * The plane is divided into square buckets (about the size of a typical group) and each group is entered in
+     * every bucket which its extents touch, so that only groups which share a bucket need to be tested for overlap.
+     * A group which spans more than MAX_SPAN_BUCKETS buckets (in either direction) is not entered at all:
+     * instead, it is tested against every other group.
+     * The bucket size is the mean span of the groups, less those which span more than MAX_SPAN_BUCKETS times the mean
+     * (so that one huge group cannot make the buckets huge): usually, there are very few oversized groups.
+     * Groups which overlap (directly or transitively) are then united (with union-find).
+     */
+    private static class Extents {
+        Extents(List<Group> groups) {
+            this.groups = groups;
+            final int n = groups.size();
+            parent = new int[n];
+            for (int i = 0; i < n; i++) parent[i] = i;
+            final long[] spans = new long[n];
+            long sum = 0;
+            for (int i = 0; i < n; i++) {
+                final Point vector = groups.get(i).getExtent1().vector(groups.get(i).getExtent2());
+                spans[i] = Math.max(vector.getX(), vector.getY());
+                sum += spans[i];
             }
+            final long limit = n > 0 ? MAX_SPAN_BUCKETS * (sum / n + 1) : 0;
+            long typicalSum = 0;
+            int typical = 0;
+            for (long span : spans)
+                if (span <= limit) {
+                    typicalSum += span;
+                    typical++;
+                }
+            bucketSize = (int) Math.max(MIN_BUCKET_SIZE, typical > 0 ? typicalSum / typical : 0);
         }
-        result.add(group);
-        return inner(subList, result);
+
+        /**
+         * @return the groups, with each set of overlapping groups merged into one.
+         */
+        List<Group> merge() {
+            final Map<Long, List<Integer>> buckets = new HashMap<>();
+            final List<Integer> oversized = new ArrayList<>();
+            for (int i = 0; i < groups.size(); i++) {
+                final Group g = groups.get(i);
+                final Point e1 = g.getExtent1(), e2 = g.getExtent2();
+                final int bx1 = Math.floorDiv(e1.getX(), bucketSize), bx2 = Math.floorDiv(e2.getX(), bucketSize);
+                final int by1 = Math.floorDiv(e1.getY(), bucketSize), by2 = Math.floorDiv(e2.getY(), bucketSize);
+                if (bx2 - bx1 + 1L > MAX_SPAN_BUCKETS || by2 - by1 + 1L > MAX_SPAN_BUCKETS) {
+                    oversized.add(i);
+                    continue;
+                }
+                for (int bx = bx1; bx <= bx2; bx++)
+                    for (int by = by1; by <= by2; by++) {
+                        final List<Integer> bucket = buckets.computeIfAbsent((long) bx << 32 | by & 0xFFFFFFFFL, k -> new ArrayList<>());
+                        for (int j : bucket) unionIfOverlapping(i, j);
+                        bucket.add(i);
+                    }
+            }
+            for (int i : oversized)
+                for (int j = 0; j < groups.size(); j++) if (j != i) unionIfOverlapping(i, j);
+            // NOTE the root of each set is its first member, so the merged groups are in order of first appearance.
+            final Map<Integer, Group> merged = new LinkedHashMap<>();
+            for (int i = 0; i < groups.size(); i++) {
+                final Group g = groups.get(i);
+                merged.merge(find(i), g, Group::merge);
+            }
+            return new ArrayList<>(merged.values());
+        }
+
+        private void unionIfOverlapping(int i, int j) {
+            final Group g = groups.get(i), h = groups.get(j);
+            if (find(i) != find(j) && (g.overlap(h) || h.overlap(g))) union(i, j);
+        }
+
+        private int find(int i) {
+            while (parent[i] != i) i = parent[i] = parent[parent[i]];
+            return i;
+        }
+
+        private void union(int i, int j) {
+            final int ri = find(i), rj = find(j);
+            if (ri < rj) parent[rj] = ri;
+            else parent[ri] = rj;
+        }
+
+        private final List<Group> groups;
+        private final int[] parent;
+        private final int bucketSize;
     }
 
+    // NOTE smaller grids (and smaller tasks) are not worth the overhead of the pool.
+    private static final int PARALLEL_THRESHOLD = 16;
+    private static final int PARALLEL_GRAIN = 4;
+    private static final int MIN_BUCKET_SIZE = 8;
+    private static final int MAX_SPAN_BUCKETS = 8;
+
     private final long generation;
     private final List<Group> groups;
+    private final ForkJoinPool pool;
 
     static final Point Origin = new Point(0, 0);
 }
@@ -4,8 +4,10 @@ import edu.neu.coe.info6205.util.Range;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.UnaryOperator;
@@ -122,8 +124,13 @@ public class Group implements Generational<Group, Void>, Renderable, Countable {
     Group merge(Group group) throws LifeException {
         if (group == this) throw new LifeException("cannot merge with self");
         Point newOrigin = origin.compareTo(group.origin) <= 0 ? origin : group.origin;
-        Group result = new Group(generation, newOrigin, extent1, extent2, moveCellsRelative(newOrigin));
-        group.forEach(p -> result.add(p.relative(newOrigin)));
+        Group result = new Group(generation, newOrigin, moveCellsRelative(newOrigin));
+        // NOTE groups which have evolved independently may have given birth to the same cell.
+        final Set<Point> cells = new HashSet<>(result.points);
+        final List<Point> others = new ArrayList<>();
+        for (Point p : group.pointsAbsolute()) if (!cells.contains(p.relative(newOrigin))) others.add(p);
+        final boolean ok = result.add(others);
+        assert ok : "merge: problem adding points: " + others;
         return result;
     }
 
@@ -229,7 +236,9 @@ public class Group implements Generational<Group, Void>, Renderable, Countable {
      *                                       is not supported by this list
      */
     public boolean remove(Point p) {
-        return points.remove(p);
+        final boolean removed = points.remove(p);
+        if (removed) zobrist ^= p.move(origin).zobrist();
+        return removed;
     }
 
     /**
@@ -277,6 +286,16 @@ public class Group implements Generational<Group, Void>, Renderable, Countable {
         return Objects.hash(points);
     }
 
+    /**
+     * Method to get the Zobrist hash of the cells of this Group (in Grid coordinates).
+     * The hash is maintained incrementally as cells are added and removed.
+     *
+     * @return the XOR of the Zobrist keys of the cells.
+     */
+    long getZobrist() {
+        return zobrist;
+    }
+
     /**
      * Method to get the generation of this Group.
      *
@@ -303,7 +322,9 @@ public class Group implements Generational<Group, Void>, Renderable, Countable {
 
     private boolean addPoint(Point point) {
         Point o = origin != null ? origin : Origin; // CONSIDER may not be necessary
-        return points.add(point.relative(o));
+        final boolean added = points.add(point.relative(o));
+        if (added) zobrist ^= point.zobrist();
+        return added;
     }
 
     /**
@@ -336,6 +357,8 @@ public class Group implements Generational<Group, Void>, Renderable, Countable {
         extent1 = extent1.relative(point);
         extent2 = extent2.relative(point);
         points = mapPoints(p -> p.relative(point));
+        // NOTE the new origin is not adjusted for the old origin, so the cells may move (in Grid coordinates).
+        zobrist = zobrist(origin, points);
     }
 
     /**
@@ -352,7 +375,7 @@ public class Group implements Generational<Group, Void>, Renderable, Countable {
     }
 
     private Group copy(long generation) {
-        return new Group(generation, origin.copy(), extent1.copy(), extent2.copy(), mapPoints(Point::copy));
+        return new Group(generation, origin.copy(), extent1.copy(), extent2.copy(), mapPoints(Point::copy), zobrist);
     }
 
     private Point getAbsolute(Point p) {
@@ -362,12 +385,12 @@ public class Group implements Generational<Group, Void>, Renderable, Countable {
     /**
      * This method accounts for the change in origin as we go to the new generation.
      *
-     * @param point the point, relative to which, the Points should move.
+     * @param point the point (in Grid coordinates), relative to which, the Points should move.
      * @return a list of Points based on the new coordinates.
      */
     private List<Point> moveCellsRelative(Point point) {
         List<Point> result = new ArrayList<>();
-        forEach(p -> result.add(p.relative(point)));
+        forEach(p -> result.add(p.move(origin).relative(point)));
         return result;
     }
 
@@ -480,6 +503,7 @@ public class Group implements Generational<Group, Void>, Renderable, Countable {
     private List<Point> points; // the list of non-empty cells within this group (must include one point at the origin).
     private Point origin; // the position of the origin relative to the grid.
     // All cells have coordinates which are relative to the origin.
+    private long zobrist; // the Zobrist hash of the cells (in Grid coordinates), which does not depend on the origin.
     private transient Point extent1; // the position of the corner of the enclosing rectangle of this Group,
     // which is closest to the origin of the coordinate system.
     // All cells have positive coordinates compared to extent1.
@@ -497,11 +521,22 @@ public class Group implements Generational<Group, Void>, Renderable, Countable {
      * @param points     a list of points, which are in the coordinate system of this Group.
      */
     Group(long generation, Point origin, Point extent1, Point extent2, List<Point> points) {
+        this(generation, origin, extent1, extent2, points, zobrist(origin, points));
+    }
+
+    private Group(long generation, Point origin, Point extent1, Point extent2, List<Point> points, long zobrist) {
         this.generation = generation;
         this.origin = origin;
         this.extent1 = extent1;
         this.extent2 = extent2;
         this.points = points;
+        this.zobrist = zobrist;
+    }
+
+    private static long zobrist(Point origin, List<Point> points) {
+        long result = 0L;
+        if (points != null) for (Point p : points) result ^= p.move(origin).zobrist();
+        return result;
     }
 
     /**
@@ -0,0 +1,559 @@
+package edu.neu.coe.info6205.life.base;
+
+import edu.neu.coe.info6205.life.library.Library;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * This class is an alternative engine for the game of life, based on Gosper's HashLife algorithm.
+ * <p>
+ * The universe is a quadtree whose nodes are canonical (hash-consed): there is only ever one node for any
+ * particular arrangement of cells, so that repetition in space (and, via the memoized successors, in time)
+ * costs nothing.
+ * A node at level k is a square of side 2^k; its successor (by 2^j generations, where j &lt;= k-2) is the
+ * central square of side 2^(k-1), which is determined entirely by the node itself.
+ * Thus, as well as single generations, we can advance by arbitrary numbers of generations (superspeed),
+ * one power of two at a time.
+ * <p>
+ * Like Game, Grid and Group, a HashLife is immutable: generation(monitor) and advance(n) yield a new HashLife,
+ * which shares its nodes (and its memoized successors) with this one.
+ * The coordinates are those of the Grid (x increases to the East, y to the North).
+ */
+public class HashLife implements Generational<HashLife, Void>, Countable, Renderable {
+
+    /**
+     * Factory method to create a new HashLife from the given string.
+     *
+     * @param generation the current generation.
+     * @param string     a String, typically from the library of Group patterns.
+     * @return a new HashLife.
+     */
+    public static HashLife create(long generation, String string) {
+        if (string == null) throw new LifeException("create: was given null string");
+        return create(generation, Point.points(string));
+    }
+
+    /**
+     * Factory method to create a new HashLife from the given Group.
+     *
+     * @param group a Group.
+     * @return a new HashLife with the same cells (and generation) as group.
+     */
+    public static HashLife create(Group group) {
+        return create(group.getGeneration(), group.pointsAbsolute());
+    }
+
+    /**
+     * Factory method to create a new HashLife from the given points.
+     *
+     * @param generation the current generation.
+     * @param points     the live cells, in Grid coordinates.
+     * @return a new HashLife.
+     */
+    public static HashLife create(long generation, Iterable<Point> points) {
+        final Nodes nodes = new Nodes(DefaultMaxNodes);
+        Node root = nodes.empty(MinLevel);
+        for (Point p : points) {
+            while (!root.contains(p.getX(), p.getY())) root = nodes.expand(root);
+            root = nodes.set(root, p.getX() + root.half(), p.getY() + root.half());
+        }
+        return new HashLife(generation, nodes, nodes.crop(root));
+    }
+
+    /**
+     * Method to create the next generation.
+     *
+     * @param monitor a monitor which is invoked with the current generation.
+     * @return a new HashLife, one generation on from this.
+     */
+    @Override
+    public HashLife generation(BiConsumer<Long, Void> monitor) {
+        monitor.accept(generation, null);
+        return advance(1);
+    }
+
+    /**
+     * Method to advance by an arbitrary number of generations (superspeed).
+     * The number of generations is taken one power of two at a time, each of which is a single (memoized) step.
+     *
+     * @param generations the number of generations (may not be negative).
+     * @return a new HashLife, generations on from this.
+     */
+    public HashLife advance(long generations) {
+        if (generations < 0) throw new LifeException("advance: cannot go backwards: " + generations);
+        nodes.collect(root);
+        Node node = root;
+        for (int j = 63 - Long.numberOfLeadingZeros(generations); j >= 0; j--)
+            if ((generations & 1L << j) != 0) {
+                node = nodes.pad(node, j);
+                node = nodes.successor(node, j);
+            }
+        return new HashLife(generation + generations, nodes, nodes.crop(node));
+    }
+
+    /**
+     * Method to get the cell count.
+     *
+     * @return the number of live cells.
+     * @throws LifeException if the count is too large for an int (see getPopulation).
+     */
+    @Override
+    public int getCount() {
+        if (root.population > Integer.MAX_VALUE) throw new LifeException("getCount: too many cells: " + root.population);
+        return (int) root.population;
+    }
+
+    /**
+     * Method to get the cell count, which for HashLife is not limited to an int.
+     *
+     * @return the number of live cells.
+     */
+    public long getPopulation() {
+        return root.population;
+    }
+
+    /**
+     * Method to get the generation of this HashLife.
+     *
+     * @return the generation.
+     */
+    public long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Method to determine if the cell at (x, y) is alive.
+     *
+     * @param x the x-coordinate.
+     * @param y the y-coordinate.
+     * @return true if the cell is alive.
+     */
+    public boolean isAlive(int x, int y) {
+        if (!root.contains(x, y)) return false;
+        Node node = root;
+        long i = x + root.half(), j = y + root.half();
+        while (node.level > 0) {
+            final long h = node.half();
+            final boolean east = i >= h, north = j >= h;
+            node = north ? (east ? node.ne : node.nw) : (east ? node.se : node.sw);
+            if (east) i -= h;
+            if (north) j -= h;
+        }
+        return node.population == 1;
+    }
+
+    /**
+     * Method to yield the live cells of this HashLife.
+     *
+     * @return a List of points, in Grid coordinates (ordered by quadrant).
+     * @throws LifeException if any live cell is beyond the range of an int.
+     */
+    public List<Point> points() {
+        final List<Point> result = new ArrayList<>();
+        addPoints(root, -root.half(), -root.half(), result);
+        return result;
+    }
+
+    /**
+     * Method to yield a Group which has the same cells (and generation) as this HashLife.
+     *
+     * @return a new Group.
+     */
+    public Group toGroup() {
+        final Group result = new Group(generation);
+        final boolean ok = result.add(points());
+        assert ok : "toGroup: problem adding points";
+        return result;
+    }
+
+    /**
+     * Method to yield a String which represents the cells of this HashLife, exactly as for the equivalent Group.
+     *
+     * @return a String.
+     */
+    @Override
+    public String render() {
+        return toGroup().render();
+    }
+
+    @Override
+    public String toString() {
+        return "HashLife{" +
+                "generation=" + generation +
+                ", level=" + root.level +
+                ", population=" + root.population +
+                ", nodes=" + nodes.size() +
+                '}';
+    }
+
+    /**
+     * Method to test equality, ignoring generation.
+     *
+     * @param o the other HashLife.
+     * @return true if this and o have the same live cells.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof HashLife)) return false;
+        HashLife that = (HashLife) o;
+        return Node.same(root, that.root);
+    }
+
+    /**
+     * Method to generate a hashCode, ignoring generation.
+     * NOTE roots are always cropped, so the same cells yield the same level (and population).
+     *
+     * @return hashCode for this.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(root.level, root.population);
+    }
+
+    public static void main(String[] args) {
+        String patternName = args.length > 0 ? args[0] : "Glider1";
+        final long generations = args.length > 1 ? Long.parseLong(args[1]) : 1000000000L;
+        System.out.println("HashLife with starting pattern: " + patternName);
+        final String pattern = Library.get(patternName);
+        final HashLife start = create(0L, pattern);
+        System.out.println(start.render());
+        final long begin = System.nanoTime();
+        final HashLife end = start.advance(generations);
+        System.out.println("After " + end.getGeneration() + " generations: " + end + " (" + (System.nanoTime() - begin) / 1000000 + " mSecs)");
+    }
+
+    private HashLife(long generation, Nodes nodes, Node root) {
+        this.generation = generation;
+        this.nodes = nodes;
+        this.root = root;
+    }
+
+    private static void addPoints(Node node, long x, long y, List<Point> result) {
+        if (node.population == 0) return;
+        if (node.level == 0) {
+            if (x < Integer.MIN_VALUE || x > Integer.MAX_VALUE || y < Integer.MIN_VALUE || y > Integer.MAX_VALUE)
+                throw new LifeException("points: cell is beyond the range of Point: " + x + ", " + y);
+            result.add(new Point((int) x, (int) y));
+            return;
+        }
+        final long h = node.half();
+        addPoints(node.sw, x, y, result);
+        addPoints(node.se, x + h, y, result);
+        addPoints(node.nw, x, y + h, result);
+        addPoints(node.ne, x + h, y + h, result);
+    }
+
+    /**
+     * A (canonical) node of the quadtree.
+     * A node at level 0 is a single cell; otherwise, it has four children (each at level-1).
+     */
+    static final class Node {
+
+        /**
+         * Constructor for a leaf (a single cell).
+         *
+         * @param alive true if the cell is alive.
+         */
+        private Node(boolean alive) {
+            this(null, null, null, null, 0, alive ? 1 : 0, alive ? 1 : 0);
+        }
+
+        /**
+         * Constructor for an internal node.
+         * NOTE the children must already be canonical.
+         */
+        private Node(Node nw, Node ne, Node sw, Node se) {
+            this(nw, ne, sw, se, nw.level + 1, nw.population + ne.population + sw.population + se.population,
+                    hash(nw.id, ne.id, sw.id, se.id));
+        }
+
+        private Node(Node nw, Node ne, Node sw, Node se, int level, long population, int hash) {
+            this.nw = nw;
+            this.ne = ne;
+            this.sw = sw;
+            this.se = se;
+            this.level = level;
+            this.population = population;
+            this.hash = hash;
+        }
+
+        /**
+         * Canonical nodes are equal if (and only if) they have identical children.
+         */
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Node)) return false;
+            Node node = (Node) o;
+            return level > 0 && nw == node.nw && ne == node.ne && sw == node.sw && se == node.se;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            return "Node{level=" + level + ", population=" + population + '}';
+        }
+
+        /**
+         * @return half the side of this node (or, for the root, the distance from its corner to the origin).
+         */
+        long half() {
+            return level == 0 ? 0 : 1L << (level - 1);
+        }
+
+        /**
+         * Method to determine if (x, y), in Grid coordinates, lies within this node when it is the root.
+         */
+        boolean contains(long x, long y) {
+            final long h = half();
+            return x >= -h && x < h && y >= -h && y < h;
+        }
+
+        /**
+         * Method to compare two nodes, which may not be canonical with respect to each other
+         * (for example, if they were created by different HashLife instances).
+         */
+        static boolean same(Node a, Node b) {
+            if (a == b) return true;
+            if (a.level != b.level || a.population != b.population) return false;
+            if (a.level == 0) return true;
+            return same(a.nw, b.nw) && same(a.ne, b.ne) && same(a.sw, b.sw) && same(a.se, b.se);
+        }
+
+        private static int hash(long nw, long ne, long sw, long se) {
+            long h = nw * 0x9E3779B97F4A7C15L + ne;
+            h = h * 0x9E3779B97F4A7C15L + sw;
+            h = h * 0x9E3779B97F4A7C15L + se;
+            return (int) (h ^ h >>> 32);
+        }
+
+        final Node nw;
+        final Node ne;
+        final Node sw;
+        final Node se;
+        final int level;
+        final long population;
+        private final int hash;
+        private long id;
+        // the memoized successors of this node, indexed by j (where the successor is 2^j generations on).
+        private Node[] successors;
+    }
+
+    /**
+     * The canonical table of nodes, together with the algorithms which create nodes.
+     * All of the HashLife instances which derive from the same call to create share one Nodes.
+     */
+    static final class Nodes {
+
+        Nodes(int maxNodes) {
+            this.maxNodes = maxNodes;
+            dead.id = nextId++;
+            alive.id = nextId++;
+        }
+
+        /**
+         * @return the number of canonical (internal) nodes.
+         */
+        int size() {
+            return table.size();
+        }
+
+        /**
+         * Method to yield the canonical node with the given children.
+         */
+        Node join(Node nw, Node ne, Node sw, Node se) {
+            final Node node = new Node(nw, ne, sw, se);
+            final Node existing = table.putIfAbsent(node, node);
+            if (existing != null) return existing;
+            node.id = nextId++;
+            return node;
+        }
+
+        /**
+         * Method to yield the canonical empty node at the given level.
+         */
+        Node empty(int level) {
+            if (level == 0) return dead;
+            if (level >= empties.length) {
+                final Node[] result = new Node[Math.max(level + 1, 2 * empties.length)];
+                System.arraycopy(empties, 0, result, 0, empties.length);
+                empties = result;
+            }
+            if (empties[level] == null) {
+                final Node e = empty(level - 1);
+                empties[level] = join(e, e, e, e);
+            }
+            return empties[level];
+        }
+
+        /**
+         * Method to yield a node which is the same as node, but where the cell at (x, y) is alive.
+         *
+         * @param x the x-coordinate, relative to the SW corner of node.
+         * @param y the y-coordinate, relative to the SW corner of node.
+         */
+        Node set(Node node, long x, long y) {
+            if (node.level == 0) return alive;
+            final long h = node.half();
+            if (y >= h)
+                if (x >= h) return join(node.nw, set(node.ne, x - h, y - h), node.sw, node.se);
+                else return join(set(node.nw, x, y - h), node.ne, node.sw, node.se);
+            else if (x >= h) return join(node.nw, node.ne, node.sw, set(node.se, x - h, y));
+            else return join(node.nw, node.ne, set(node.sw, x, y), node.se);
+        }
+
+        /**
+         * Method to yield a node, one level up from node, which has node at its center.
+         */
+        Node expand(Node node) {
+            final Node e = empty(node.level - 1);
+            return join(join(e, e, e, node.nw), join(e, e, node.ne, e), join(e, node.sw, e, e), join(node.se, e, e, e));
+        }
+
+        /**
+         * Method to expand node until it can safely be advanced by 2^j generations:
+         * its level must be at least j+3 and all of its cells must lie within its central square of side 2^(level-2).
+         * Then (because no cell can travel faster than one cell per generation) the successor contains every live cell.
+         */
+        Node pad(Node node, int j) {
+            while (node.level < j + 3 || !padded(node)) node = expand(node);
+            return node;
+        }
+
+        /**
+         * Method to strip the empty border from node: the inverse of expand.
+         */
+        Node crop(Node node) {
+            while (node.level > MinLevel) {
+                final Node center = center(node);
+                if (center.population != node.population) break;
+                node = center;
+            }
+            return node;
+        }
+
+        /**
+         * Method to yield the central square (of side 2^(level-1)) of node, advanced by 2^j generations.
+         *
+         * @param node a node at level k, where k is at least 2.
+         * @param j    the log (base 2) of the number of generations: if greater than k-2, then k-2 is used.
+         * @return the successor of node (at level k-1).
+         */
+        Node successor(Node node, int j) {
+            if (node.population == 0) return empty(node.level - 1);
+            j = Math.min(j, node.level - 2);
+            if (node.successors == null) node.successors = new Node[node.level - 1];
+            Node result = node.successors[j];
+            if (result != null) return result;
+            if (node.level == 2) result = life4x4(node);
+            else {
+                final Node nw = node.nw, ne = node.ne, sw = node.sw, se = node.se;
+                // NOTE the nine overlapping sub-squares (each at level k-1), each advanced by (up to) 2^j generations.
+                final Node c1 = successor(nw, j);
+                final Node c2 = successor(join(nw.ne, ne.nw, nw.se, ne.sw), j);
+                final Node c3 = successor(ne, j);
+                final Node c4 = successor(join(nw.sw, nw.se, sw.nw, sw.ne), j);
+                final Node c5 = successor(join(nw.se, ne.sw, sw.ne, se.nw), j);
+                final Node c6 = successor(join(ne.sw, ne.se, se.nw, se.ne), j);
+                final Node c7 = successor(sw, j);
+                final Node c8 = successor(join(sw.ne, se.nw, sw.se, se.sw), j);
+                final Node c9 = successor(se, j);
+                if (j < node.level - 2)
+                    // NOTE the nine results are already 2^j generations on: we need only their centers.
+                    result = join(join(c1.se, c2.sw, c4.ne, c5.nw), join(c2.se, c3.sw, c5.ne, c6.nw),
+                            join(c4.se, c5.sw, c7.ne, c8.nw), join(c5.se, c6.sw, c8.ne, c9.nw));
+                else
+                    // NOTE the nine results are halfway there: combine them into four and go the rest of the way.
+                    result = join(successor(join(c1, c2, c4, c5), j), successor(join(c2, c3, c5, c6), j),
+                            successor(join(c4, c5, c7, c8), j), successor(join(c5, c6, c8, c9), j));
+            }
+            node.successors[j] = result;
+            return result;
+        }
+
+        /**
+         * Method to discard all of the nodes which are not reachable from root (and all memoized successors),
+         * but only if the table has grown beyond its maximum size.
+         */
+        void collect(Node root) {
+            if (table.size() <= maxNodes) return;
+            table = new HashMap<>();
+            empties = new Node[empties.length];
+            keep(root);
+        }
+
+        private void keep(Node node) {
+            if (node.level == 0 || table.containsKey(node)) return;
+            node.successors = null;
+            keep(node.nw);
+            keep(node.ne);
+            keep(node.sw);
+            keep(node.se);
+            table.put(node, node);
+        }
+
+        private Node center(Node node) {
+            return join(node.nw.se, node.ne.sw, node.sw.ne, node.se.nw);
+        }
+
+        private static boolean padded(Node node) {
+            return node.nw.population == node.nw.se.se.population &&
+                    node.ne.population == node.ne.sw.sw.population &&
+                    node.sw.population == node.sw.ne.ne.population &&
+                    node.se.population == node.se.nw.nw.population;
+        }
+
+        /**
+         * Method to yield the central 2x2 square of a 4x4 node (at level 2), one generation on.
+         */
+        private Node life4x4(Node node) {
+            int cells = 0;
+            // NOTE bit (4y + x) represents the cell at (x, y) relative to the SW corner.
+            cells |= bits2x2(node.sw);
+            cells |= bits2x2(node.se) << 2;
+            cells |= bits2x2(node.nw) << 8;
+            cells |= bits2x2(node.ne) << 10;
+            return join(rule(cells, 1, 2), rule(cells, 2, 2), rule(cells, 1, 1), rule(cells, 2, 1));
+        }
+
+        private static int bits2x2(Node node) {
+            return (int) (node.sw.population | node.se.population << 1 | node.nw.population << 4 | node.ne.population << 5);
+        }
+
+        private Node rule(int cells, int x, int y) {
+            int count = 0;
+            for (int dy = -1; dy <= 1; dy++)
+                for (int dx = -1; dx <= 1; dx++)
+                    if ((dx != 0 || dy != 0) && (cells >> (4 * (y + dy) + x + dx) & 1) != 0) count++;
+            final boolean live = (cells >> (4 * y + x) & 1) != 0;
+            return count == BirthNeighborCount || live && count == SurvivalNeighborCount ? alive : dead;
+        }
+
+        private final int maxNodes;
+        private final Node dead = new Node(false);
+        private final Node alive = new Node(true);
+        private Map<Node, Node> table = new HashMap<>();
+        private Node[] empties = new Node[64];
+        private long nextId = 0;
+    }
+
+    // NOTE the root is never smaller than 8x8 (so that padded can look at its great-grandchildren).
+    private static final int MinLevel = 3;
+    private static final int DefaultMaxNodes = 1 << 20;
+    private static final int BirthNeighborCount = 3;
+    private static final int SurvivalNeighborCount = 2;
+
+    private final long generation;
+    private final Nodes nodes;
+    private final Node root;
+}
@@ -1,6 +1,8 @@
 package edu.neu.coe.info6205.life.base;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 import java.util.function.BiFunction;
 
@@ -142,6 +144,53 @@ class Matrix {
         return new Neighbors();
     }
 
+    /**
+     * Method to create the next generation of this Matrix.
+     * <p>
+     * Rather than counting the neighbors of each cell (as Neighbors does), we compute the next generation of an
+     * entire row word (64 cells) at once, using bit-sliced (SWAR) adders: the eight neighbors of every cell are
+     * aligned with it by shifting the words of the row and of the rows above and below, and then added,
+     * bit-position by bit-position, in a handful of bitwise operations (see nextGeneration).
+     * <p>
+     * Cells beyond the boundary of this Matrix are considered dead (and cannot be born),
+     * so, by the usual convention, there should be clear rows and columns around any live cells.
+     *
+     * @return a new Matrix of the same width and height.
+     */
+    Matrix generation() {
+        final Bits[][] result = new Bits[height][];
+        int newCount = 0;
+        for (int j = 0; j < height; j++) {
+            final Bits[] row = row(j);
+            result[j] = new Bits[row.length];
+            for (int i = 0; i < row.length; i++) {
+                final long bits = nextGeneration(j, i) & row[i].significant();
+                result[j][i] = new Bits(bits, row[i].length);
+                newCount += Long.bitCount(bits);
+            }
+        }
+        return new Matrix(width, height, newCount, result);
+    }
+
+    /**
+     * Method to yield the live cells of this Matrix.
+     *
+     * @return a List of points, in row order.
+     */
+    List<Point> getCells() {
+        final List<Point> result = new ArrayList<>();
+        for (int j = 0; j < height; j++) {
+            final Bits[] row = row(j);
+            for (int i = 0; i < row.length; i++)
+                for (long bits = row[i].bits; bits != 0L; ) {
+                    final int x = Long.numberOfLeadingZeros(bits);
+                    result.add(new Point(i * BitsPerLong + x, j));
+                    bits &= ~(HighBit >>> x);
+                }
+        }
+        return result;
+    }
+
     /**
      * Method to get a "pretty" String representing this Matrix.
      *
@@ -160,6 +209,58 @@ class Matrix {
         return sb.toString();
     }
 
+    /**
+     * Method to calculate the next generation of the word at index of row y.
+     * The neighbors to the West (East) of each cell are found by shifting the word right (left) by one place,
+     * bringing in the adjacent bit of the previous (next) word.
+     */
+    private long nextGeneration(int y, int index) {
+        final long n = word(y - 1, index), c = word(y, index), s = word(y + 1, index);
+        return nextGeneration(
+                west(n, word(y - 1, index - 1)), n, east(n, word(y - 1, index + 1)),
+                west(c, word(y, index - 1)), c, east(c, word(y, index + 1)),
+                west(s, word(y + 1, index - 1)), s, east(s, word(y + 1, index + 1)));
+    }
+
+    /**
+     * Method to apply the rules of Life to 64 cells at once.
+     * <p>
+     * Each row of three neighbors is added by a full adder (the middle row, which excludes the cell itself,
+     * by a half adder), yielding a ones bit and a twos bit for each cell.
+     * The three ones bits are then added (yielding another twos bit), so that the count is
+     * ones + 2 * (the number of twos bits which are set).
+     * A cell is alive in the next generation if the count is 3, or it is 2 and the cell is alive now:
+     * that is to say, if exactly one of the twos bits is set and either ones is set or the cell is alive.
+     * The parameters are the cells themselves (c) and their eight neighbors (nw thru se), each aligned with c.
+     * NOTE this is also used by TileLife.
+     *
+     * @return the next generation of c.
+     */
+    static long nextGeneration(long nw, long n, long ne, long w, long c, long e, long sw, long s, long se) {
+        final long ones1 = nw ^ n ^ ne, twos1 = nw & n | ne & (nw ^ n);
+        final long ones2 = w ^ e, twos2 = w & e;
+        final long ones3 = sw ^ s ^ se, twos3 = sw & s | se & (sw ^ s);
+        final long ones = ones1 ^ ones2 ^ ones3, twos4 = ones1 & ones2 | ones3 & (ones1 ^ ones2);
+        // NOTE now add the four twos bits in pairs: exactly one is set if the pairs sum to one between them.
+        final long u = twos1 ^ twos2, uCarry = twos1 & twos2;
+        final long v = twos3 ^ twos4, vCarry = twos3 & twos4;
+        return (u ^ v) & ~(uCarry | vCarry) & (ones | c);
+    }
+
+    static long west(long bits, long previous) {
+        return bits >>> 1 | previous << BitsPerLong - 1;
+    }
+
+    static long east(long bits, long next) {
+        return bits << 1 | next >>> BitsPerLong - 1;
+    }
+
+    private long word(int y, int index) {
+        if (y < 0 || y >= height) return 0L;
+        final Bits[] row = row(y);
+        return index >= 0 && index < row.length ? row[index].bits : 0L;
+    }
+
     private Bits[] row(int y) {
         if (y >= 0 && y < cells.length)
             return cells[y];
@@ -252,7 +353,7 @@ class Matrix {
                     // NOTE: we do the logic here instead of in a Bit instance for performance reasons.
                     final long l = getBits(j, i / BitsPerLong).test(bits);
                     if (l != 0L) mask.updateNeighborhood(i, j);
-                    bits >>= 1;
+                    bits = bits == 1L ? HighBit : bits >>> 1;
                 }
             }
         }
@@ -359,11 +460,18 @@ class Matrix {
             long mask = HighBit;
             for (int i = 0; i < length; i++) {
                 sb.append(getGlyph(mask));
-                mask >>= 1;
+                mask >>>= 1;
             }
             return sb.toString();
         }
 
+        /**
+         * @return a mask of the bits which are significant (i.e. within length).
+         */
+        private long significant() {
+            return length <= 0 ? 0L : length >= BitsPerLong ? -1L : -1L << BitsPerLong - length;
+        }
+
         private boolean isSet(long row) {
             return test(row) != 0;
         }
@@ -438,10 +546,8 @@ class Matrix {
         }
 
         private long getMask() {
-            long mask = HighBit;
-            if (!on) mask = ~mask;
-            mask >>= bit;
-            return mask;
+            final long mask = HighBit >>> bit;
+            return on ? mask : ~mask;
         }
 
         /**
@@ -560,8 +666,9 @@ class Matrix {
 
     /**
      * This constant represents a single bit at the high end of the 64 possible bits.
+     * The cell with x = 0 (mod 64) is represented by this bit; that with x = 63 (mod 64) by the lowest bit.
      */
-    private static final long HighBit = 0x80000000L;
+    private static final long HighBit = 0x8000000000000000L;
 
     private static final String Newline = "\n";
 
@@ -96,6 +96,22 @@ public class Point implements Comparable<Point> {
         return Objects.hash(x, y);
     }
 
+    /**
+     * Method to yield the Zobrist key of this Point.
+     * The Zobrist hash of a set of cells is the XOR of their keys, so that it can be updated incrementally
+     * (by XORing the keys of the cells which are born or which die).
+     * Since the grid is unbounded, the keys are not drawn from a table of random numbers,
+     * but are derived from the coordinates by a 64-bit mixing function (the finalizer of SplitMix64).
+     *
+     * @return a pseudo-random 64-bit key which depends only on x and y.
+     */
+    public long zobrist() {
+        long z = ((long) x << 32 | y & 0xFFFFFFFFL) + 0x9E3779B97F4A7C15L;
+        z = (z ^ z >>> 30) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ z >>> 27) * 0x94D049BB133111EBL;
+        return z ^ z >>> 31;
+    }
+
     @Override
     public String toString() {
         return "{" +
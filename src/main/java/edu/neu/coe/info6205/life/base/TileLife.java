@@ -0,0 +1,329 @@
+package edu.neu.coe.info6205.life.base;
+
+import edu.neu.coe.info6205.life.library.Library;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * This class is an alternative engine for the game of life, for large (unbounded) universes with sparse activity.
+ * <p>
+ * The universe is divided into tiles of 64x64 cells, each of which is an array of 64 row words
+ * (with the same layout as the rows of Matrix: the cell with x = 0 (mod 64) is the highest bit).
+ * Only tiles with live cells are kept, in a map keyed by the coordinates of the tile.
+ * Each generation is calculated a word at a time by the bit-sliced adders of Matrix,
+ * but only for the tiles which changed in the previous generation (and their neighbors):
+ * all other tiles are unchanged, and are simply shared with the next generation.
+ * Thus, the calculation of a generation is proportional to the activity, rather than to the extents of the live cells.
+ * NOTE the map itself is copied (that is, one reference per tile) whenever any tile changes,
+ * so a generation also costs time proportional to the number of tiles, albeit with a small constant.
+ * <p>
+ * Like HashLife, a TileLife is immutable and implements the same contracts as Game, Grid and Group.
+ * The coordinates are those of the Grid (x increases to the East, y to the North).
+ */
+public class TileLife implements Generational<TileLife, Void>, Countable, Renderable {
+
+    /**
+     * Factory method to create a new TileLife from the given string.
+     *
+     * @param generation the current generation.
+     * @param string     a String, typically from the library of Group patterns.
+     * @return a new TileLife.
+     */
+    public static TileLife create(long generation, String string) {
+        if (string == null) throw new LifeException("create: was given null string");
+        return create(generation, Point.points(string));
+    }
+
+    /**
+     * Factory method to create a new TileLife from the given Group.
+     *
+     * @param group a Group.
+     * @return a new TileLife with the same cells (and generation) as group.
+     */
+    public static TileLife create(Group group) {
+        return create(group.getGeneration(), group.pointsAbsolute());
+    }
+
+    /**
+     * Factory method to create a new TileLife from the given points.
+     *
+     * @param generation the current generation.
+     * @param points     the live cells, in Grid coordinates.
+     * @return a new TileLife.
+     */
+    public static TileLife create(long generation, Iterable<Point> points) {
+        final Map<Long, long[]> tiles = new HashMap<>();
+        int count = 0;
+        for (Point p : points) {
+            final long[] tile = tiles.computeIfAbsent(key(tile(p.getX()), tile(p.getY())), k -> new long[Side]);
+            final long mask = mask(p.getX());
+            if ((tile[row(p.getY())] & mask) == 0) count++;
+            tile[row(p.getY())] |= mask;
+        }
+        // NOTE initially, every tile is considered to have changed.
+        return new TileLife(generation, tiles, new HashSet<>(tiles.keySet()), count);
+    }
+
+    /**
+     * Method to create the next generation.
+     * Only the tiles which changed in the previous generation, and their neighbors, are recalculated.
+     *
+     * @param monitor a monitor which is invoked with the current generation.
+     * @return a new TileLife, one generation on from this.
+     */
+    @Override
+    public TileLife generation(BiConsumer<Long, Void> monitor) {
+        monitor.accept(generation, null);
+        final Set<Long> candidates = new HashSet<>();
+        for (long key : changed)
+            for (int dy = -1; dy <= 1; dy++)
+                for (int dx = -1; dx <= 1; dx++) candidates.add(key(tileX(key) + dx, tileY(key) + dy));
+        // NOTE a null value in updates means that the tile is now empty.
+        final Map<Long, long[]> updates = new HashMap<>();
+        int newCount = count;
+        for (long key : candidates) {
+            final long[] tile = tiles.get(key);
+            final long[] next = nextGeneration(tileX(key), tileY(key));
+            if (tile == null ? next == null : Arrays.equals(tile, next)) continue;
+            updates.put(key, next);
+            newCount += bitCount(next) - bitCount(tile);
+        }
+        // NOTE if nothing changed, the map itself is shared.
+        if (updates.isEmpty()) return new TileLife(generation + 1, tiles, Collections.emptySet(), count);
+        // NOTE the unchanged tiles are shared (tiles are never modified once they belong to a TileLife).
+        final Map<Long, long[]> newTiles = new HashMap<>(tiles);
+        for (Map.Entry<Long, long[]> entry : updates.entrySet())
+            if (entry.getValue() == null) newTiles.remove(entry.getKey());
+            else newTiles.put(entry.getKey(), entry.getValue());
+        final Set<Long> newChanged = new HashSet<>(updates.keySet());
+        return new TileLife(generation + 1, newTiles, newChanged, newCount);
+    }
+
+    /**
+     * Method to get the cell count.
+     *
+     * @return the number of live cells.
+     */
+    @Override
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Method to get the generation of this TileLife.
+     *
+     * @return the generation.
+     */
+    public long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Method to get the number of (non-empty) tiles.
+     *
+     * @return the number of tiles.
+     */
+    public int getTileCount() {
+        return tiles.size();
+    }
+
+    /**
+     * Method to get the number of tiles which changed in the last generation:
+     * the next generation will recalculate only these and their neighbors.
+     *
+     * @return the number of changed tiles.
+     */
+    public int getChangedCount() {
+        return changed.size();
+    }
+
+    /**
+     * Method to determine if the cell at (x, y) is alive.
+     *
+     * @param x the x-coordinate.
+     * @param y the y-coordinate.
+     * @return true if the cell is alive.
+     */
+    public boolean isAlive(int x, int y) {
+        final long[] tile = tiles.get(key(tile(x), tile(y)));
+        return tile != null && (tile[row(y)] & mask(x)) != 0;
+    }
+
+    /**
+     * Method to yield the live cells of this TileLife.
+     *
+     * @return a List of points, in Grid coordinates (ordered by tile).
+     */
+    public List<Point> points() {
+        final List<Point> result = new ArrayList<>();
+        for (Map.Entry<Long, long[]> entry : tiles.entrySet()) {
+            final int x0 = tileX(entry.getKey()) * Side, y0 = tileY(entry.getKey()) * Side;
+            final long[] tile = entry.getValue();
+            for (int r = 0; r < Side; r++)
+                for (long bits = tile[r]; bits != 0L; ) {
+                    final int i = Long.numberOfLeadingZeros(bits);
+                    result.add(new Point(x0 + i, y0 + r));
+                    bits &= ~(HighBit >>> i);
+                }
+        }
+        return result;
+    }
+
+    /**
+     * Method to yield a Group which has the same cells (and generation) as this TileLife.
+     *
+     * @return a new Group.
+     */
+    public Group toGroup() {
+        final Group result = new Group(generation);
+        final boolean ok = result.add(points());
+        assert ok : "toGroup: problem adding points";
+        return result;
+    }
+
+    /**
+     * Method to yield a String which represents the cells of this TileLife, in the same form as for a Group.
+     *
+     * @return a String.
+     */
+    @Override
+    public String render() {
+        return toGroup().render();
+    }
+
+    @Override
+    public String toString() {
+        return "TileLife{" +
+                "generation=" + generation +
+                ", count=" + count +
+                ", tiles=" + tiles.size() +
+                ", changed=" + changed.size() +
+                '}';
+    }
+
+    /**
+     * Method to test equality, ignoring generation.
+     *
+     * @param o the other TileLife.
+     * @return true if this and o have the same live cells.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TileLife)) return false;
+        TileLife that = (TileLife) o;
+        if (count != that.count || !tiles.keySet().equals(that.tiles.keySet())) return false;
+        for (Map.Entry<Long, long[]> entry : tiles.entrySet())
+            if (!Arrays.equals(entry.getValue(), that.tiles.get(entry.getKey()))) return false;
+        return true;
+    }
+
+    /**
+     * Method to generate a hashCode, ignoring generation.
+     *
+     * @return hashCode for this.
+     */
+    @Override
+    public int hashCode() {
+        int result = 0;
+        for (Map.Entry<Long, long[]> entry : tiles.entrySet())
+            result += Long.hashCode(entry.getKey()) ^ Arrays.hashCode(entry.getValue());
+        return result;
+    }
+
+    public static void main(String[] args) {
+        String patternName = args.length > 0 ? args[0] : "Glider1";
+        final int generations = args.length > 1 ? Integer.parseInt(args[1]) : 10000;
+        System.out.println("TileLife with starting pattern: " + patternName);
+        TileLife game = create(0L, Library.get(patternName));
+        System.out.println(game.render());
+        final long begin = System.nanoTime();
+        for (int i = 0; i < generations; i++) game = game.generation((l, v) -> {
+        });
+        System.out.println("After " + game.getGeneration() + " generations: " + game + " (" + (System.nanoTime() - begin) / 1000000 + " mSecs)");
+    }
+
+    private TileLife(long generation, Map<Long, long[]> tiles, Set<Long> changed, int count) {
+        this.generation = generation;
+        this.tiles = tiles;
+        this.changed = changed;
+        this.count = count;
+    }
+
+    /**
+     * Method to calculate the next generation of the tile at (tx, ty), using it and its eight neighboring tiles.
+     *
+     * @return the new tile, or null if it is empty.
+     */
+    private long[] nextGeneration(int tx, int ty) {
+        final long[] c = tile(tx, ty), w = tile(tx - 1, ty), e = tile(tx + 1, ty);
+        final long[] s = tile(tx, ty - 1), sw = tile(tx - 1, ty - 1), se = tile(tx + 1, ty - 1);
+        final long[] n = tile(tx, ty + 1), nw = tile(tx - 1, ty + 1), ne = tile(tx + 1, ty + 1);
+        final long[] result = new long[Side];
+        long any = 0L;
+        for (int r = 0; r < Side; r++) {
+            // NOTE the rows below (r-1) and above (r+1) may belong to the neighboring tiles.
+            final long b = r > 0 ? c[r - 1] : s[Side - 1], bw = r > 0 ? w[r - 1] : sw[Side - 1], be = r > 0 ? e[r - 1] : se[Side - 1];
+            final long a = r < Side - 1 ? c[r + 1] : n[0], aw = r < Side - 1 ? w[r + 1] : nw[0], ae = r < Side - 1 ? e[r + 1] : ne[0];
+            final long bits = Matrix.nextGeneration(
+                    Matrix.west(b, bw), b, Matrix.east(b, be),
+                    Matrix.west(c[r], w[r]), c[r], Matrix.east(c[r], e[r]),
+                    Matrix.west(a, aw), a, Matrix.east(a, ae));
+            result[r] = bits;
+            any |= bits;
+        }
+        return any == 0L ? null : result;
+    }
+
+    private long[] tile(int tx, int ty) {
+        final long[] result = tiles.get(key(tx, ty));
+        return result != null ? result : Empty;
+    }
+
+    private static int bitCount(long[] tile) {
+        int result = 0;
+        if (tile != null) for (long bits : tile) result += Long.bitCount(bits);
+        return result;
+    }
+
+    private static long key(int tx, int ty) {
+        return (long) tx << 32 | ty & 0xFFFFFFFFL;
+    }
+
+    private static int tileX(long key) {
+        return (int) (key >> 32);
+    }
+
+    private static int tileY(long key) {
+        return (int) key;
+    }
+
+    private static int tile(int coordinate) {
+        return Math.floorDiv(coordinate, Side);
+    }
+
+    private static int row(int y) {
+        return Math.floorMod(y, Side);
+    }
+
+    private static long mask(int x) {
+        return HighBit >>> Math.floorMod(x, Side);
+    }
+
+    private static final int Side = 64;
+    private static final long HighBit = 0x8000000000000000L;
+    private static final long[] Empty = new long[Side];
+
+    private final long generation;
+    private final Map<Long, long[]> tiles;
+    private final Set<Long> changed;
+    private final int count;
+}
@@ -148,7 +148,18 @@ public interface Helper<X extends Comparable<X>> extends GenericHelper<X> {
      * @param i  the index of the element to be swapped into the ordered array xs[0...i-1].
      */
     default void swapIntoSorted(X[] xs, int i) {
-        int j = binarySearch(xs, 0, i, xs[i]);
+        swapIntoSorted(xs, 0, i);
+    }
+
+    /**
+     * Method to perform a stable swap using half-exchanges, and binary search, within the sub-array which begins at from.
+     *
+     * @param xs   the array of X elements, whose elements from thru i-1 MUST be sorted.
+     * @param from the index of the first element of the sub-array.
+     * @param i    the index of the element to be swapped into the ordered array xs[from...i-1].
+     */
+    default void swapIntoSorted(X[] xs, int from, int i) {
+        int j = binarySearch(xs, from, i, xs[i]);
         if (j < 0) j = -j - 1;
         if (j < i) swapInto(xs, j, i);
     }
@@ -107,7 +107,12 @@ public class InstrumentedHelper<X extends Comparable<X>> extends BaseHelper<X> {
      */
     @Override
     public void swapIntoSorted(X[] xs, int i) {
-        int j = binarySearch(xs, 0, i, xs[i]);
+        swapIntoSorted(xs, 0, i);
+    }
+
+    @Override
+    public void swapIntoSorted(X[] xs, int from, int i) {
+        int j = binarySearch(xs, from, i, xs[i]);
         incrementHits(1 + (int) Utilities.lg(xs.length));
         if (j < 0) j = -j - 1;
         if (j < i) swapInto(xs, j, i);
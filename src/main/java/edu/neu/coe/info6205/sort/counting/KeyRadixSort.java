@@ -0,0 +1,184 @@
+package edu.neu.coe.info6205.sort.counting;
+
+import edu.neu.coe.info6205.sort.BaseHelper;
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.SortWithHelper;
+import edu.neu.coe.info6205.util.Config;
+
+import java.time.ZoneOffset;
+import java.time.chrono.ChronoLocalDateTime;
+import java.util.Arrays;
+import java.util.function.ToLongFunction;
+
+/**
+ * Stable, linear-time sort of objects by one or more long keys, which are extracted by the given functions.
+ * <p>
+ * For each key (from least significant to most significant), the key of each element is extracted once
+ * and is packed together with the element's current position into a long; these longs are radix-sorted by LSDRadixSort
+ * and the positions are then unpacked to give the new permutation.
+ * Because the position occupies the low-order bits, equal keys keep their relative order, i.e. each pass is stable,
+ * which is what allows several keys to be combined.
+ * If the range of a key is too great for it to be packed with the position, that pass instead radix-sorts
+ * the keys and positions as parallel arrays.
+ * Finally, the objects themselves are permuted (once).
+ * <p>
+ * NOTE: the order defined by the keys must be consistent with the natural order of X (see localDateTimeKeys),
+ * otherwise postProcess (when instrumented) will report that the array is not sorted.
+ *
+ * @param <X> the underlying comparable type.
+ */
+public class KeyRadixSort<X extends Comparable<X>> extends SortWithHelper<X> {
+
+    public static final String DESCRIPTION = "Key radix sort";
+
+    /**
+     * Constructor for KeyRadixSort
+     *
+     * @param helper an explicit instance of Helper to be used.
+     * @param keys   the key extractors, the most significant first.
+     */
+    @SafeVarargs
+    public KeyRadixSort(Helper<X> helper, ToLongFunction<X>... keys) {
+        super(helper);
+        this.keys = checkKeys(keys);
+    }
+
+    /**
+     * Constructor for KeyRadixSort
+     *
+     * @param N      the number elements we expect to sort.
+     * @param config the configuration.
+     * @param keys   the key extractors, the most significant first.
+     */
+    @SafeVarargs
+    public KeyRadixSort(int N, Config config, ToLongFunction<X>... keys) {
+        super(DESCRIPTION, N, config);
+        this.keys = checkKeys(keys);
+    }
+
+    /**
+     * Constructor for KeyRadixSort with a non-instrumented helper.
+     *
+     * @param config the configuration.
+     * @param keys   the key extractors, the most significant first.
+     */
+    @SafeVarargs
+    public KeyRadixSort(Config config, ToLongFunction<X>... keys) {
+        this(new BaseHelper<>(DESCRIPTION, config), keys);
+    }
+
+    @Override
+    public void sort(X[] xs, int from, int to) {
+        final int n = to - from;
+        if (n < 2) return;
+        int[] permutation = new int[n];
+        for (int i = 0; i < n; i++) permutation[i] = from + i;
+        final long[] ks = new long[n];
+        for (int k = keys.length - 1; k >= 0; k--) {
+            final ToLongFunction<X> key = keys[k];
+            for (int i = 0; i < n; i++) ks[i] = key.applyAsLong(xs[permutation[i]]);
+            permutation = sortByKey(ks, permutation);
+        }
+        final X[] copy = Arrays.copyOfRange(xs, from, to);
+        for (int i = 0; i < n; i++) xs[from + i] = copy[permutation[i] - from];
+        getHelper().incrementCopies(2 * n);
+    }
+
+    /**
+     * Stably sort the given permutation according to the keys ks (where ks[i] is the key of permutation[i]).
+     *
+     * @param ks          the keys (the contents will be destroyed).
+     * @param permutation the current permutation.
+     * @return the new permutation.
+     */
+    int[] sortByKey(long[] ks, int[] permutation) {
+        final int n = ks.length;
+        long min = ks[0], max = ks[0];
+        for (long k : ks) {
+            if (k < min) min = k;
+            if (k > max) max = k;
+        }
+        // NOTE max - min may exceed Long.MAX_VALUE, but it is correct when treated as unsigned.
+        final int keyBits = Long.SIZE - Long.numberOfLeadingZeros(max - min);
+        final int indexBits = Integer.SIZE - Integer.numberOfLeadingZeros(n - 1);
+        if (keyBits + indexBits < Long.SIZE) {
+            // NOTE the packed values are non-negative, so their signed order is the required order.
+            for (int i = 0; i < n; i++) ks[i] = ((ks[i] - min) << indexBits) | i;
+            radixSort.sort(ks);
+            final long indexMask = (1L << indexBits) - 1;
+            final int[] result = new int[n];
+            for (int i = 0; i < n; i++) result[i] = permutation[(int) (ks[i] & indexMask)];
+            return result;
+        }
+        for (int i = 0; i < n; i++) ks[i] -= min;
+        return sortPairs(ks, permutation);
+    }
+
+    /**
+     * Stable LSD radix sort of the (unsigned) keys ks, carrying the values vs along with them.
+     *
+     * @param ks the keys (the contents will be destroyed).
+     * @param vs the values.
+     * @return the values in the order of their keys.
+     */
+    private static int[] sortPairs(long[] ks, int[] vs) {
+        final int n = ks.length;
+        final int radix = 1 << BITS, mask = radix - 1, passes = (Long.SIZE + BITS - 1) / BITS;
+        final int[][] counts = new int[passes][radix];
+        for (long k : ks)
+            for (int p = 0; p < passes; p++) counts[p][(int) (k >>> (p * BITS)) & mask]++;
+        long[] kSrc = ks, kDst = new long[n];
+        int[] vSrc = vs, vDst = new int[n];
+        for (int p = 0; p < passes; p++) {
+            final int shift = p * BITS;
+            final int[] count = counts[p];
+            if (count[(int) (kSrc[0] >>> shift) & mask] == n) continue;
+            int sum = 0;
+            for (int r = 0; r < radix; r++) {
+                final int c = count[r];
+                count[r] = sum;
+                sum += c;
+            }
+            for (int i = 0; i < n; i++) {
+                final int j = count[(int) (kSrc[i] >>> shift) & mask]++;
+                kDst[j] = kSrc[i];
+                vDst[j] = vSrc[i];
+            }
+            final long[] kt = kSrc;
+            kSrc = kDst;
+            kDst = kt;
+            final int[] vt = vSrc;
+            vSrc = vDst;
+            vDst = vt;
+        }
+        return vSrc;
+    }
+
+    @SafeVarargs
+    private static <X> ToLongFunction<X>[] checkKeys(ToLongFunction<X>... keys) {
+        if (keys.length == 0) throw new IllegalArgumentException("KeyRadixSort: at least one key is required");
+        return keys;
+    }
+
+    /**
+     * Method to yield keys which order a ChronoLocalDateTime in the same way as its natural order (for the ISO chronology):
+     * the number of seconds since the epoch (taking the local date-time to be UTC), then the nanosecond of the second.
+     * NOTE that two keys are used because seconds and nanoseconds together may exceed the range of a long.
+     *
+     * @return a new array of the two key extractors (the most significant first).
+     */
+    public static ToLongFunction<ChronoLocalDateTime<?>>[] localDateTimeKeys() {
+        return LOCAL_DATE_TIME_KEYS.clone();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static final ToLongFunction<ChronoLocalDateTime<?>>[] LOCAL_DATE_TIME_KEYS = new ToLongFunction[]{
+            (ToLongFunction<ChronoLocalDateTime<?>>) x -> x.toEpochSecond(ZoneOffset.UTC),
+            (ToLongFunction<ChronoLocalDateTime<?>>) x -> x.toLocalTime().getNano()
+    };
+
+    private static final int BITS = 11;
+
+    private final ToLongFunction<X>[] keys;
+    private final LSDRadixSort radixSort = new LSDRadixSort(BITS);
+}
@@ -0,0 +1,183 @@
+package edu.neu.coe.info6205.sort.counting;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * Class LSDFileSort.
+ * <p>
+ * LSD string sort for files of fixed-width byte records, where the key is a fixed-width field of each record
+ * (for example, an ID or an ISO date) and is compared byte by byte (unsigned).
+ * Unlike LSDStringSort, the records are never turned into Strings nor held in the heap:
+ * each pass streams the records from one file and distributes them into the other
+ * (the file to be sorted and a temporary file take turns), so files larger than RAM can be sorted.
+ * <p>
+ * The histograms for all key positions are gathered in a single pass over the file, and any position at which
+ * every record has the same byte is skipped. Each pass is stable, so the sort as a whole is stable.
+ * <p>
+ * NOTE: records are read through FileChannel into a direct buffer, rather than through a MappedByteBuffer,
+ * because a mapping cannot be released explicitly (and so the temporary file could not reliably be deleted).
+ * Records are written through one buffer per byte value, each of which is flushed to the next position of its bucket.
+ */
+public class LSDFileSort {
+
+    /**
+     * Constructor for LSDFileSort.
+     *
+     * @param recordLength the length of each record in bytes.
+     * @param keyOffset    the offset of the key within each record.
+     * @param keyLength    the length of the key in bytes.
+     */
+    public LSDFileSort(int recordLength, int keyOffset, int keyLength) {
+        this(recordLength, keyOffset, keyLength, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructor for LSDFileSort.
+     *
+     * @param recordLength the length of each record in bytes.
+     * @param keyOffset    the offset of the key within each record.
+     * @param keyLength    the length of the key in bytes.
+     * @param bufferSize   the (approximate) size in bytes of the read buffer and of each of the 256 write buffers.
+     */
+    public LSDFileSort(int recordLength, int keyOffset, int keyLength, int bufferSize) {
+        if (recordLength < 1 || keyOffset < 0 || keyLength < 1 || keyOffset + keyLength > recordLength)
+            throw new IllegalArgumentException("LSDFileSort: invalid record layout: " + recordLength + ", " + keyOffset + ", " + keyLength);
+        this.recordLength = recordLength;
+        this.keyOffset = keyOffset;
+        this.keyLength = keyLength;
+        this.recordsPerBuffer = Math.max(1, bufferSize / recordLength);
+    }
+
+    /**
+     * Sort the records of the given file in place, using a temporary file in the same directory.
+     *
+     * @param file the file to be sorted.
+     * @throws IOException if the file cannot be read or written.
+     */
+    public void sort(Path file) throws IOException {
+        final Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), "lsd", ".tmp");
+        try {
+            sort(file, temp);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Sort the records of the given file in place, using the given temporary file.
+     *
+     * @param file the file to be sorted.
+     * @param temp the temporary file (which will be overwritten but not deleted).
+     * @throws IOException if the file cannot be read or written.
+     */
+    public void sort(Path file, Path temp) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, READ, WRITE);
+             FileChannel tempChannel = FileChannel.open(temp, READ, WRITE, CREATE, TRUNCATE_EXISTING)) {
+            final long size = channel.size();
+            if (size % recordLength != 0)
+                throw new IllegalArgumentException("LSDFileSort: file size " + size + " is not a multiple of the record length " + recordLength);
+            final long n = size / recordLength;
+            if (n < 2) return;
+            final long[][] counts = histograms(channel, size);
+            FileChannel src = channel, dst = tempChannel;
+            for (int d = keyLength - 1; d >= 0; d--) {
+                if (uniform(counts[d], n)) continue;
+                distribute(src, dst, size, d, counts[d]);
+                final FileChannel t = src;
+                src = dst;
+                dst = t;
+            }
+            if (src != channel) copy(src, channel, size);
+        }
+    }
+
+    /**
+     * Gather the histograms for every key position in a single pass over the file.
+     */
+    private long[][] histograms(FileChannel channel, long size) throws IOException {
+        final long[][] counts = new long[keyLength][radix];
+        final ByteBuffer in = ByteBuffer.allocateDirect(recordsPerBuffer * recordLength);
+        for (long position = 0; position < size; position += in.limit()) {
+            read(channel, in, position, size);
+            for (int r = 0; r < in.limit(); r += recordLength)
+                for (int d = 0; d < keyLength; d++) counts[d][in.get(r + keyOffset + d) & 0xFF]++;
+        }
+        return counts;
+    }
+
+    /**
+     * Distribute the records of src into dst according to the byte at key position d.
+     */
+    private void distribute(FileChannel src, FileChannel dst, long size, int d, long[] count) throws IOException {
+        final long[] positions = new long[radix];
+        long sum = 0;
+        for (int r = 0; r < radix; r++) {
+            positions[r] = sum;
+            sum += count[r] * recordLength;
+        }
+        final ByteBuffer[] buckets = new ByteBuffer[radix];
+        final byte[] record = new byte[recordLength];
+        final ByteBuffer in = ByteBuffer.allocateDirect(recordsPerBuffer * recordLength);
+        for (long position = 0; position < size; position += in.limit()) {
+            read(src, in, position, size);
+            while (in.hasRemaining()) {
+                in.get(record);
+                final int b = record[keyOffset + d] & 0xFF;
+                if (buckets[b] == null) buckets[b] = ByteBuffer.allocate(recordsPerBuffer * recordLength);
+                buckets[b].put(record);
+                if (!buckets[b].hasRemaining()) positions[b] = flush(dst, buckets[b], positions[b]);
+            }
+        }
+        for (int b = 0; b < radix; b++)
+            if (buckets[b] != null) positions[b] = flush(dst, buckets[b], positions[b]);
+    }
+
+    /**
+     * Read as much of channel as will fit into buffer, starting at position (but not beyond size).
+     * On return, buffer is ready to be read from.
+     */
+    private static void read(FileChannel channel, ByteBuffer buffer, long position, long size) throws IOException {
+        buffer.clear();
+        if (size - position < buffer.capacity()) buffer.limit((int) (size - position));
+        while (buffer.hasRemaining())
+            if (channel.read(buffer, position + buffer.position()) < 0)
+                throw new IOException("LSDFileSort: unexpected end of file at " + (position + buffer.position()));
+        buffer.flip();
+    }
+
+    /**
+     * Write the contents of buffer to channel at position, and clear the buffer.
+     *
+     * @return the position following the data written.
+     */
+    private static long flush(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) position += channel.write(buffer, position);
+        buffer.clear();
+        return position;
+    }
+
+    private static void copy(FileChannel from, FileChannel to, long size) throws IOException {
+        for (long position = 0; position < size; )
+            position += from.transferTo(position, size - position, to.position(position));
+    }
+
+    private static boolean uniform(long[] count, long n) {
+        for (long c : count) if (c == n) return true;
+        return false;
+    }
+
+    private static final int radix = 256;
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    private final int recordLength;
+    private final int keyOffset;
+    private final int keyLength;
+    private final int recordsPerBuffer;
+}
@@ -0,0 +1,161 @@
+package edu.neu.coe.info6205.sort.counting;
+
+/**
+ * LSD (least significant digit) radix sort for arrays of int and long.
+ * <p>
+ * Unlike RadixSort, which uses decimal digits, this sort uses binary digits of a configurable width (1 thru 16 bits:
+ * 8, 11 and 16 are the usual choices), and it handles negative keys by flipping the sign bit of each key
+ * (so that the unsigned order of the flipped keys is the same as the signed order of the original keys).
+ * <p>
+ * The histograms for all digits are gathered in a single pass over the input.
+ * Any pass for which every element has the same digit is skipped (this is common for the high digits of small keys).
+ * The data are distributed back and forth between the array and one auxiliary buffer and are copied back at the end
+ * only if the number of passes actually performed was odd.
+ * <p>
+ * Each pass is stable, so the sort as a whole is stable.
+ */
+public class LSDRadixSort {
+
+    /**
+     * Constructor for an LSDRadixSort with 8-bit digits.
+     */
+    public LSDRadixSort() {
+        this(8);
+    }
+
+    /**
+     * Constructor for an LSDRadixSort.
+     *
+     * @param bits the width of each digit in bits (must be between 1 and 16).
+     */
+    public LSDRadixSort(int bits) {
+        if (bits < 1 || bits > 16) throw new IllegalArgumentException("LSDRadixSort: bits must be between 1 and 16: " + bits);
+        this.bits = bits;
+        this.radix = 1 << bits;
+        this.mask = radix - 1;
+    }
+
+    /**
+     * Sort an array of int.
+     *
+     * @param xs the array to be sorted.
+     */
+    public void sort(int[] xs) {
+        sort(xs, 0, xs.length);
+    }
+
+    /**
+     * Sort the sub-array xs[from...to) of int.
+     *
+     * @param xs   the array to be sorted.
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     */
+    public void sort(int[] xs, int from, int to) {
+        final int n = to - from;
+        if (n < 2) return;
+        final int passes = (Integer.SIZE + bits - 1) / bits;
+        final int[][] counts = new int[passes][radix];
+        // NOTE gather the histograms for all passes in a single scan of the data.
+        for (int i = from; i < to; i++) {
+            final int key = xs[i] ^ Integer.MIN_VALUE;
+            for (int p = 0; p < passes; p++) counts[p][(key >>> (p * bits)) & mask]++;
+        }
+        int[] src = xs, dst = new int[n];
+        int srcBase = from, dstBase = 0;
+        for (int p = 0; p < passes; p++) {
+            final int shift = p * bits;
+            final int[] count = counts[p];
+            if (count[((src[srcBase] ^ Integer.MIN_VALUE) >>> shift) & mask] == n) continue;
+            toIndices(count);
+            for (int i = srcBase; i < srcBase + n; i++) {
+                final int x = src[i];
+                dst[dstBase + count[((x ^ Integer.MIN_VALUE) >>> shift) & mask]++] = x;
+            }
+            final int[] t = src;
+            src = dst;
+            dst = t;
+            final int b = srcBase;
+            srcBase = dstBase;
+            dstBase = b;
+        }
+        if (src != xs) System.arraycopy(src, srcBase, xs, from, n);
+    }
+
+    /**
+     * Sort an array of long.
+     *
+     * @param xs the array to be sorted.
+     */
+    public void sort(long[] xs) {
+        sort(xs, 0, xs.length);
+    }
+
+    /**
+     * Sort the sub-array xs[from...to) of long.
+     *
+     * @param xs   the array to be sorted.
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     */
+    public void sort(long[] xs, int from, int to) {
+        final int n = to - from;
+        if (n < 2) return;
+        final int passes = (Long.SIZE + bits - 1) / bits;
+        final int[][] counts = new int[passes][radix];
+        // NOTE gather the histograms for all passes in a single scan of the data.
+        for (int i = from; i < to; i++) {
+            final long key = xs[i] ^ Long.MIN_VALUE;
+            for (int p = 0; p < passes; p++) counts[p][(int) (key >>> (p * bits)) & mask]++;
+        }
+        long[] src = xs, dst = new long[n];
+        int srcBase = from, dstBase = 0;
+        for (int p = 0; p < passes; p++) {
+            final int shift = p * bits;
+            final int[] count = counts[p];
+            if (count[(int) ((src[srcBase] ^ Long.MIN_VALUE) >>> shift) & mask] == n) continue;
+            toIndices(count);
+            for (int i = srcBase; i < srcBase + n; i++) {
+                final long x = src[i];
+                dst[dstBase + count[(int) ((x ^ Long.MIN_VALUE) >>> shift) & mask]++] = x;
+            }
+            final long[] t = src;
+            src = dst;
+            dst = t;
+            final int b = srcBase;
+            srcBase = dstBase;
+            dstBase = b;
+        }
+        if (src != xs) System.arraycopy(src, srcBase, xs, from, n);
+    }
+
+    /**
+     * Get the width of each digit in bits.
+     *
+     * @return the number of bits per digit.
+     */
+    public int getBits() {
+        return bits;
+    }
+
+    @Override
+    public String toString() {
+        return "LSD radix sort with " + bits + "-bit digits";
+    }
+
+    /**
+     * Transform counts (in place) into the starting index of each digit value.
+     */
+    private static void toIndices(int[] count) {
+        int sum = 0;
+        for (int r = 0; r < count.length; r++) {
+            final int c = count[r];
+            count[r] = sum;
+            sum += c;
+        }
+    }
+
+    private final int bits;
+    private final int radix;
+    private final int mask;
+}
@@ -2,55 +2,192 @@ package edu.neu.coe.info6205.sort.counting;
 
 import edu.neu.coe.info6205.sort.elementary.InsertionSortMSD;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
 /**
  * Class to implement Most significant digit string sort (a radix sort).
+ * <p>
+ * Instances of this class are thread-safe: all mutable state belongs either to a particular invocation of sort
+ * (the auxiliary array) or to a particular thread (the count arrays, one per depth, which are reused).
+ * The auxiliary array is shared by all the tasks of one sort, but each task only ever uses the part of it
+ * which corresponds to its own (disjoint) sub-array.
+ * <p>
+ * If a ForkJoinPool is provided, buckets of at least parallelThreshold elements are sorted as separate tasks.
+ * Buckets smaller than cutoff are sorted by InsertionSortMSD.
+ * <p>
+ * Characters are bucketed by their value (0 thru 254) with one further bucket for strings which have ended
+ * and one overflow bucket for all characters with values of 255 and above: this overflow bucket is sorted
+ * by comparison (since all of its strings share the same prefix, natural String ordering is correct).
  */
 public class MSDStringSort {
 
     /**
-     * Sort an array of Strings using MSDStringSort.
+     * Sort an array of Strings using MSDStringSort (on the calling thread).
      *
      * @param a the array to be sorted.
      */
     public static void sort(String[] a) {
-        int n = a.length;
-        aux = new String[n];
-        sort(a, 0, n, 0);
+        new MSDStringSort().sort(a, 0, a.length);
+    }
+
+    /**
+     * Constructor for a sequential MSDStringSort.
+     */
+    public MSDStringSort() {
+        this(null);
+    }
+
+    /**
+     * Constructor for a parallel MSDStringSort.
+     *
+     * @param pool the ForkJoinPool on which large buckets are to be sorted (if null, the sort is sequential).
+     */
+    public MSDStringSort(ForkJoinPool pool) {
+        this(pool, DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Constructor for a parallel MSDStringSort.
+     *
+     * @param pool              the ForkJoinPool on which large buckets are to be sorted (if null, the sort is sequential).
+     * @param parallelThreshold the minimum size of a bucket which will be sorted as a separate task.
+     */
+    public MSDStringSort(ForkJoinPool pool, int parallelThreshold) {
+        this.pool = pool;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Sort a[from] to a[to] (exclusive).
+     *
+     * @param a    the array to be sorted.
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     */
+    public void sort(String[] a, int from, int to) {
+        // NOTE aux is indexed in the same way as a, so that concurrent tasks use disjoint parts of it.
+        final String[] aux = new String[a.length];
+        if (pool == null || to - from < parallelThreshold) sort(a, aux, from, to, 0);
+        else pool.invoke(new SortAction(a, aux, from, to, 0));
     }
 
     /**
      * Sort from a[lo] to a[hi] (exclusive), ignoring the first d characters of each String.
-     * This method is recursive.
+     * This method is recursive and runs entirely on the calling thread.
      *
-     * @param a the array to be sorted.
-     * @param lo the low index.
-     * @param hi the high index (one above the highest actually processed).
-     * @param d the number of characters in each String to be skipped.
+     * @param a   the array to be sorted.
+     * @param aux the auxiliary array.
+     * @param lo  the low index.
+     * @param hi  the high index (one above the highest actually processed).
+     * @param d   the number of characters in each String to be skipped.
      */
-    private static void sort(String[] a, int lo, int hi, int d) {
+    private void sort(String[] a, String[] aux, int lo, int hi, int d) {
         if (hi < lo + cutoff) InsertionSortMSD.sort(a, lo, hi, d);
         else {
-            int[] count = new int[radix + 2];        // Compute frequency counts.
-            for (int i = lo; i < hi; i++)
-                count[charAt(a[i], d) + 2]++;
-            for (int r = 0; r < radix + 1; r++)      // Transform counts to indices.
-                count[r + 1] += count[r];
-            for (int i = lo; i < hi; i++)     // Distribute.
-                aux[count[charAt(a[i], d) + 1]++] = a[i];
-            // Copy back.
-            if (hi - lo >= 0) System.arraycopy(aux, 0, a, lo, hi - lo);
+            final int[] count = distribute(a, aux, lo, hi, d);
             // Recursively sort for each character value.
-            // FIXME
-            // END 
+            for (int r = 1; r < radix; r++)
+                if (count[r] > count[r - 1]) sort(a, aux, lo + count[r - 1], lo + count[r], d + 1);
+            sortOverflow(a, lo, count);
+        }
+    }
+
+    /**
+     * Distribute a[lo...hi) into buckets according to the character at position d, and copy the result back into a.
+     * The count array which is returned belongs to the current thread and must not be used after the current thread
+     * has performed any other distribution at depth d (in particular, after it has joined a task).
+     *
+     * @return the count array such that bucket r (for r greater than zero) lies between
+     * lo + count[r-1] (inclusive) and lo + count[r] (exclusive).
+     */
+    private int[] distribute(String[] a, String[] aux, int lo, int hi, int d) {
+        final int[] count = getCount(d);
+        for (int i = lo; i < hi; i++)       // Compute frequency counts.
+            count[bucket(a[i], d) + 1]++;
+        for (int r = 0; r < radix + 1; r++)      // Transform counts to indices.
+            count[r + 1] += count[r];
+        for (int i = lo; i < hi; i++)     // Distribute.
+            aux[lo + count[bucket(a[i], d)]++] = a[i];
+        // Copy back.
+        System.arraycopy(aux, lo, a, lo, hi - lo);
+        return count;
+    }
+
+    /**
+     * Sort the overflow bucket (characters with values of 255 or more) by comparison.
+     */
+    private static void sortOverflow(String[] a, int lo, int[] count) {
+        if (count[radix] > count[radix - 1] + 1) Arrays.sort(a, lo + count[radix - 1], lo + count[radix]);
+    }
+
+    /**
+     * Get the count array for the current thread and depth d, cleared ready for use.
+     */
+    private int[] getCount(int d) {
+        int[][] counts = threadCounts.get();
+        if (d >= counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(d + 1, counts.length * 2));
+            threadCounts.set(counts);
+        }
+        if (counts[d] == null) counts[d] = new int[radix + 2];
+        else Arrays.fill(counts[d], 0);
+        return counts[d];
+    }
+
+    /**
+     * RecursiveAction which sorts from a[lo] to a[hi] (exclusive), ignoring the first d characters of each String.
+     * Buckets which are at least parallelThreshold in size are forked; the others are sorted sequentially.
+     */
+    class SortAction extends RecursiveAction {
+
+        SortAction(String[] a, String[] aux, int lo, int hi, int d) {
+            this.a = a;
+            this.aux = aux;
+            this.lo = lo;
+            this.hi = hi;
+            this.d = d;
+        }
+
+        @Override
+        protected void compute() {
+            final int[] count = distribute(a, aux, lo, hi, d);
+            final List<SortAction> actions = new ArrayList<>();
+            // NOTE we must finish with count before joining any task because the current thread may reuse it.
+            for (int r = 1; r < radix; r++) {
+                final int from = lo + count[r - 1], to = lo + count[r];
+                if (to - from >= parallelThreshold) actions.add(new SortAction(a, aux, from, to, d + 1));
+                else if (to > from) sort(a, aux, from, to, d + 1);
+            }
+            sortOverflow(a, lo, count);
+            invokeAll(actions);
         }
+
+        private final String[] a;
+        private final String[] aux;
+        private final int lo;
+        private final int hi;
+        private final int d;
     }
 
-    private static int charAt(String s, int d) {
-        if (d < s.length()) return s.charAt(d);
-        else return -1;
+    /**
+     * Method to determine the bucket for the character at position d of s.
+     *
+     * @return 0 if s has fewer than d+1 characters; otherwise the value of the character plus one, but no more than radix.
+     */
+    private static int bucket(String s, int d) {
+        if (d < s.length()) return Math.min(s.charAt(d) + 1, radix);
+        else return 0;
     }
 
     private static final int radix = 256;
     private static final int cutoff = 15;
-    private static String[] aux;       // auxiliary array for distribution
-}
\ No newline at end of file
+    private static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 14;
+
+    private final ForkJoinPool pool;
+    private final int parallelThreshold;
+    private final ThreadLocal<int[][]> threadCounts = ThreadLocal.withInitial(() -> new int[16][]);
+}
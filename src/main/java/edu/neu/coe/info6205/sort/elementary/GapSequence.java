@@ -0,0 +1,17 @@
+package edu.neu.coe.info6205.sort.elementary;
+
+/**
+ * Strategy interface for the "gap" (h) sequence of ShellSort.
+ * The standard sequences are defined by GapSequences.
+ */
+public interface GapSequence {
+
+    /**
+     * Method to yield the gaps to be used for sorting n elements.
+     *
+     * @param n the number of elements to be sorted.
+     * @return the gaps in decreasing order. Unless it is empty (which is allowed only when n is less than 2),
+     * the last gap must be 1.
+     */
+    int[] gaps(int n);
+}
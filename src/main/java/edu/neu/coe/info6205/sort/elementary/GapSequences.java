@@ -0,0 +1,134 @@
+package edu.neu.coe.info6205.sort.elementary;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The standard gap sequences for ShellSort.
+ * <p>
+ * The first five correspond to the modes 1 thru 5 of ShellSort (and yield exactly the same gaps as before);
+ * the others use only gaps which are less than n.
+ */
+public enum GapSequences implements GapSequence {
+
+    /**
+     * Mode 1: ordinary insertion sort.
+     */
+    INSERTION {
+        public int[] gaps(int n) {
+            return new int[]{1};
+        }
+    },
+
+    /**
+     * Mode 2: Shell's original sequence (powers of two less one).
+     */
+    POWERS_OF_TWO {
+        public int[] gaps(int n) {
+            final List<Integer> result = new ArrayList<>();
+            int h = 1;
+            result.add(h);
+            while (h <= n) result.add(h = 2 * (h + 1) - 1);
+            return descending(result);
+        }
+    },
+
+    /**
+     * Mode 3: Knuth's sequence based on 3 (the one in the book): 1, 4, 13, etc.
+     */
+    KNUTH {
+        public int[] gaps(int n) {
+            final List<Integer> result = new ArrayList<>();
+            int h = 1;
+            result.add(h);
+            while (h <= n / 3) result.add(h = h * 3 + 1);
+            return descending(result);
+        }
+    },
+
+    /**
+     * Mode 4: Sedgewick's 1986 sequence: 1, 5, 19, 41, 109, etc.
+     */
+    SEDGEWICK {
+        public int[] gaps(int n) {
+            final List<Integer> result = new ArrayList<>();
+            for (int k = 0; sedgewick(k) < n; k++) result.add((int) sedgewick(k));
+            return descending(result);
+        }
+    },
+
+    /**
+     * Mode 5: Pratt's sequence (1971) 2^i*3^j with i, j >= 0.
+     */
+    PRATT {
+        public int[] gaps(int n) {
+            final List<Integer> result = new ArrayList<>();
+            for (long j = 1; j <= n; j *= 3)
+                for (long i = j; i <= n; i *= 2) result.add((int) i);
+            result.sort(null);
+            return descending(result);
+        }
+    },
+
+    /**
+     * Tokuda's sequence (1992): ceiling((9^k - 4^k) / (5 * 4^(k-1))), i.e. 1, 4, 9, 20, 46, 103, etc.
+     */
+    TOKUDA {
+        public int[] gaps(int n) {
+            final List<Integer> result = new ArrayList<>();
+            // NOTE this is the recurrence h = ceiling(2.25 * h' + 1) where h' is the previous (unrounded) value.
+            for (double x = 1; Math.ceil(x) < n; x = 2.25 * x + 1) result.add((int) Math.ceil(x));
+            return descending(result);
+        }
+    },
+
+    /**
+     * Ciura's sequence (2001): 1, 4, 10, 23, 57, 132, 301, 701, 1750 (found empirically),
+     * extended by multiplying by 2.25.
+     */
+    CIURA {
+        public int[] gaps(int n) {
+            final List<Integer> result = new ArrayList<>();
+            for (int h : CIURA_GAPS) if (h < n) result.add(h);
+            for (long h = (long) (CIURA_GAPS[CIURA_GAPS.length - 1] * 2.25); h < n; h = (long) (h * 2.25))
+                result.add((int) h);
+            return descending(result);
+        }
+    };
+
+    /**
+     * Method to get the gap sequence which corresponds to one of the (numbered) modes of ShellSort.
+     *
+     * @param m the mode (1 thru 5).
+     * @return the corresponding gap sequence.
+     */
+    public static GapSequences forMode(int m) {
+        if (m < 1 || m > 5) throw new RuntimeException("invalid m value: " + m);
+        return values()[m - 1];
+    }
+
+    /**
+     * Method to get a gap sequence by name (case is ignored).
+     *
+     * @param name the name of the sequence, for example "ciura".
+     * @return the corresponding gap sequence.
+     */
+    public static GapSequences forName(String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+
+    static long sedgewick(int k) {
+        if (k < 0) return 0;
+        if (k % 2 == 0) return 9L * ((1L << k) - (1L << (k / 2))) + 1;
+        else return 8L * (1L << k) - 6 * (1L << ((k + 1) / 2)) + 1;
+    }
+
+    private static int[] descending(List<Integer> ascending) {
+        final int[] result = new int[ascending.size()];
+        for (int i = 0; i < result.length; i++) result[i] = ascending.get(result.length - 1 - i);
+        return result;
+    }
+
+    private static final int[] CIURA_GAPS = {1, 4, 10, 23, 57, 132, 301, 701, 1750};
+}
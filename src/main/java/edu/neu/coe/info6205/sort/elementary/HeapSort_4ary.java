@@ -0,0 +1,39 @@
+package edu.neu.coe.info6205.sort.elementary;
+
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.util.Config;
+
+/**
+ * Bottom-up heapsort using a 4-ary heap.
+ * <p>
+ * The heap is only half as deep as a binary heap, and the four children of a node are adjacent in the array,
+ * so that each level of the leaf-search touches (usually) one cache line rather than two.
+ * The price is three compares per level (rather than one), i.e. about 1.5 n lg n compares in all.
+ * NOTE: the JVM gives us no control over the alignment of array elements, so the groups of children are not
+ * guaranteed to be cache-aligned: with compressed references, a group occupies 16 bytes and so rarely spans two lines.
+ *
+ * @param <X> the underlying comparable type.
+ */
+public class HeapSort_4ary<X extends Comparable<X>> extends HeapSort_BottomUp<X> {
+
+    public static final String DESCRIPTION = "HeapSort 4-ary";
+
+    /**
+     * Constructor for HeapSort_4ary
+     *
+     * @param N      the number elements we expect to sort.
+     * @param config the configuration.
+     */
+    public HeapSort_4ary(int N, Config config) {
+        super(DESCRIPTION, 4, N, config);
+    }
+
+    /**
+     * Constructor for HeapSort_4ary
+     *
+     * @param helper an explicit instance of Helper to be used.
+     */
+    public HeapSort_4ary(Helper<X> helper) {
+        super(4, helper);
+    }
+}
@@ -0,0 +1,124 @@
+package edu.neu.coe.info6205.sort.elementary;
+
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.SortWithHelper;
+import edu.neu.coe.info6205.util.Config;
+
+/**
+ * Bottom-up heapsort (Floyd's leaf-search, as in the take method of pq.PriorityQueue).
+ * <p>
+ * Rather than comparing the sinking element with the larger child at each level (two compares per level),
+ * we follow the path of larger children all the way down to a leaf (one compare per level for a binary heap),
+ * moving each child up into the hole as we go; then we climb back up from the leaf to find where the sinking element belongs.
+ * Since the sinking element (which came from the bottom of the heap) nearly always belongs near the bottom,
+ * the climb is short, and the sort needs only about n lg n compares (against about 2 n lg n for HeapSort).
+ * <p>
+ * The heap is d-ary, where d (the arity) is 2 for this class (see HeapSort_4ary).
+ * Unlike HeapSort, this sorts the sub-array from...to (the root of the heap is at from).
+ *
+ * @param <X> the underlying comparable type.
+ */
+public class HeapSort_BottomUp<X extends Comparable<X>> extends SortWithHelper<X> {
+
+    public static final String DESCRIPTION = "HeapSort bottom-up";
+
+    /**
+     * Constructor for any sub-classes to use.
+     *
+     * @param description the description.
+     * @param arity       the number of children of each node of the heap.
+     * @param N           the number of elements expected.
+     * @param config      the configuration.
+     */
+    protected HeapSort_BottomUp(String description, int arity, int N, Config config) {
+        super(description, N, config);
+        this.arity = arity;
+    }
+
+    /**
+     * Constructor for any sub-classes to use.
+     *
+     * @param arity  the number of children of each node of the heap.
+     * @param helper an explicit instance of Helper to be used.
+     */
+    protected HeapSort_BottomUp(int arity, Helper<X> helper) {
+        super(helper);
+        this.arity = arity;
+    }
+
+    /**
+     * Constructor for HeapSort_BottomUp
+     *
+     * @param N      the number elements we expect to sort.
+     * @param config the configuration.
+     */
+    public HeapSort_BottomUp(int N, Config config) {
+        this(DESCRIPTION, 2, N, config);
+    }
+
+    /**
+     * Constructor for HeapSort_BottomUp
+     *
+     * @param helper an explicit instance of Helper to be used.
+     */
+    public HeapSort_BottomUp(Helper<X> helper) {
+        this(2, helper);
+    }
+
+    @Override
+    public void sort(X[] xs, int from, int to) {
+        final int n = to - from;
+        if (n < 2) return;
+        instrumented = getHelper().instrumented();
+        // NOTE construction phase: heapify each internal node, from the last to the root.
+        for (int i = (n - 2) / arity; i >= 0; i--) sink(xs, from, i, n, xs[from + i]);
+        // NOTE sort-down phase: move the root to the end of the heap and sink the element which was there.
+        for (int last = n - 1; last > 0; last--) {
+            final X x = xs[from + last];
+            xs[from + last] = xs[from];
+            if (instrumented) getHelper().incrementCopies(1);
+            sink(xs, from, 0, last, x);
+        }
+    }
+
+    /**
+     * Sink x, whose place is the hole at node i of the heap xs[from...from+n), using Floyd's leaf-search.
+     */
+    private void sink(X[] xs, int from, int i, int n, X x) {
+        final int d = arity;
+        int hole = i;
+        int moves = 1;
+        for (int child = d * hole + 1; child < n; child = d * hole + 1) {
+            int largest = child;
+            X y = xs[from + child];
+            final int end = Math.min(child + d, n);
+            for (int k = child + 1; k < end; k++) {
+                final X z = xs[from + k];
+                if (less(y, z)) {
+                    largest = k;
+                    y = z;
+                }
+            }
+            xs[from + hole] = y;
+            hole = largest;
+            moves++;
+        }
+        while (hole > i) {
+            final int parent = (hole - 1) / d;
+            final X y = xs[from + parent];
+            if (!less(y, x)) break;
+            xs[from + hole] = y;
+            hole = parent;
+            moves++;
+        }
+        xs[from + hole] = x;
+        if (instrumented) getHelper().incrementCopies(moves);
+    }
+
+    private boolean less(X v, X w) {
+        return instrumented ? getHelper().less(v, w) : v.compareTo(w) < 0;
+    }
+
+    private final int arity;
+    private boolean instrumented;
+}
@@ -63,12 +63,21 @@ public class InsertionSort<X extends Comparable<X>> extends SortWithHelper<X> {
     public void sort(X[] xs, int from, int to) {
         final Helper<X> helper = getHelper();
         // FIXME
-        for(int a = from+1 ; a < to; a++){
-            int b = a;
-            for(; b > from ; b-- ){
-                if(!helper.swapStableConditional(xs,b)) break;
+        // NOTE: when not instrumented, we bypass the helper so that the inner loop makes no interface calls.
+        if (helper.instrumented())
+            for(int a = from+1 ; a < to; a++){
+                int b = a;
+                for(; b > from ; b-- ){
+                    if(!helper.swapStableConditional(xs,b)) break;
+                }
+            }
+        else
+            for (int a = from + 1; a < to; a++) {
+                final X x = xs[a];
+                int b = a;
+                for (; b > from && x.compareTo(xs[b - 1]) < 0; b--) xs[b] = xs[b - 1];
+                xs[b] = x;
             }
-        }
         // END 
     }
 
@@ -77,4 +86,54 @@ public class InsertionSort<X extends Comparable<X>> extends SortWithHelper<X> {
     public static <T extends Comparable<T>> void sort(T[] ts) {
         new InsertionSort<T>().mutatingSort(ts);
     }
+
+    /**
+     * Factory method to create the base-case sorter (used below the cutoff) for one of the stable linearithmic sorts,
+     * such as MergeSort.
+     * NOTE neither InsertionSortOpt (whose binary search may insert an element before one equal to it)
+     * nor a sorting network is stable, so this always yields (plain) insertion sort, whatever the basecase option
+     * in the [helper] section of the helper's configuration: see createUnstable.
+     *
+     * @param helper the helper to be shared with the calling sort.
+     * @param <T>    the underlying comparable type.
+     * @return an InsertionSort.
+     */
+    public static <T extends Comparable<T>> InsertionSort<T> create(Helper<T> helper) {
+        return create(helper, true);
+    }
+
+    /**
+     * Factory method to create the base-case sorter (used below the cutoff) for one of the sorts which are not stable
+     * anyway, such as QuickSort (and its sub-classes) and Selection.
+     * The choice is made by the basecase option in the [helper] section of the helper's configuration:
+     * insertion (the default), insertionopt, or network.
+     *
+     * @param helper the helper to be shared with the calling sort.
+     * @param <T>    the underlying comparable type.
+     * @return an InsertionSort (or one of its sub-classes).
+     */
+    public static <T extends Comparable<T>> InsertionSort<T> createUnstable(Helper<T> helper) {
+        return create(helper, false);
+    }
+
+    private static <T extends Comparable<T>> InsertionSort<T> create(Helper<T> helper, boolean stable) {
+        final Config config = helper.getConfig();
+        final String baseCase = config != null ? config.get(Config.HELPER, BASECASE) : null;
+        if (baseCase == null || baseCase.isEmpty()) return new InsertionSort<>(helper);
+        switch (baseCase.toLowerCase()) {
+            case BASECASE_INSERTION:
+                return new InsertionSort<>(helper);
+            case BASECASE_INSERTION_OPT:
+                return stable ? new InsertionSort<>(helper) : new InsertionSortOpt<>(helper);
+            case BASECASE_NETWORK:
+                return stable ? new InsertionSort<>(helper) : new SortingNetwork<>(helper);
+            default:
+                throw new IllegalArgumentException("InsertionSort.create: unknown basecase: " + baseCase);
+        }
+    }
+
+    public static final String BASECASE = "basecase";
+    public static final String BASECASE_INSERTION = "insertion";
+    public static final String BASECASE_INSERTION_OPT = "insertionopt";
+    public static final String BASECASE_NETWORK = "network";
 }
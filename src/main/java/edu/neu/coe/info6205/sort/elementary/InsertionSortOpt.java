@@ -49,7 +49,7 @@ public class InsertionSortOpt<X extends Comparable<X>> extends InsertionSort<X>
     public void sort(X[] xs, int from, int to) {
         final Helper<X> helper = getHelper();
         for (int i = from + 1; i < to; i++) {
-            helper.swapIntoSorted(xs, i);
+            helper.swapIntoSorted(xs, from, i);
         }
     }
 
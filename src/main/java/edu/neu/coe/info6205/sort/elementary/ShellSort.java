@@ -12,11 +12,18 @@ import scala.collection.immutable.Seq;
 import scala.util.Try;
 
 import java.io.IOException;
-import java.util.*;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.function.Consumer;
 
 /**
  * Class to implement Shell Sort.
+ * <p>
+ * The gap sequence is a strategy (see GapSequence and GapSequences).
+ * Optionally, each h-sort may be run on a ForkJoinPool: the h-chains of an h-sort are independent of one another,
+ * so that when h is large, the chains may be divided between tasks.
  *
  * @param <X> the type of element on which we will be sorting (must implement Comparable).
  */
@@ -30,7 +37,21 @@ public class ShellSort<X extends Comparable<X>> extends SortWithHelper<X> {
      */
     public ShellSort(int m, int N, Config config) {
         super(DESCRIPTION + m, N, config);
-        this.m = m;
+        this.gapSequence = GapSequences.forMode(m);
+        this.pool = null;
+    }
+
+    /**
+     * Constructor for ShellSort
+     *
+     * @param gapSequence the gap sequence.
+     * @param N           the number elements we expect to sort.
+     * @param config      the configuration (if parallel is set in [shellsort], the common pool is used).
+     */
+    public ShellSort(GapSequence gapSequence, int N, Config config) {
+        super(DESCRIPTION + gapSequence + (config.getBoolean(SHELLSORT, PARALLEL) ? " in parallel" : ""), N, config);
+        this.gapSequence = gapSequence;
+        this.pool = config.getBoolean(SHELLSORT, PARALLEL) ? ForkJoinPool.commonPool() : null;
     }
 
     public ShellSort() throws IOException {
@@ -48,13 +69,38 @@ public class ShellSort<X extends Comparable<X>> extends SortWithHelper<X> {
      *               1: ordinary insertion sort;
      *               2: use powers of two less one;
      *               3: use the sequence based on 3 (the one in the book): 1, 4, 13, etc.
-     *               4: Sedgewick's sequence (not implemented).
+     *               4: Sedgewick's sequence.
      *               5: Pratt Sequence 2^i*3^j with i, j >= 0.
      * @param helper an explicit instance of Helper to be used.
      */
     public ShellSort(int m, Helper<X> helper) {
+        this(GapSequences.forMode(m), helper);
+    }
+
+    /**
+     * Constructor for ShellSort
+     *
+     * @param gapSequence the gap sequence.
+     * @param helper      an explicit instance of Helper to be used.
+     */
+    public ShellSort(GapSequence gapSequence, Helper<X> helper) {
+        this(gapSequence, helper, null);
+    }
+
+    /**
+     * Constructor for ShellSort which runs the h-sorts (for large h) on a ForkJoinPool.
+     * <p>
+     * NOTE: the counters of InstrumentedHelper are not thread-safe, so when the helper is instrumented,
+     * the sort runs entirely on the calling thread.
+     *
+     * @param gapSequence the gap sequence.
+     * @param helper      an explicit instance of Helper to be used.
+     * @param pool        the ForkJoinPool (if null, the sort runs entirely on the calling thread).
+     */
+    public ShellSort(GapSequence gapSequence, Helper<X> helper, ForkJoinPool pool) {
         super(helper);
-        this.m = m;
+        this.gapSequence = gapSequence;
+        this.pool = pool;
     }
 
     /**
@@ -81,9 +127,11 @@ public class ShellSort<X extends Comparable<X>> extends SortWithHelper<X> {
     public void sort(X[] xs, int from, int to) {
         int N = to - from;
         H hh = new H(N);
+        final boolean parallel = pool != null && N >= PARALLEL_THRESHOLD && !getHelper().instrumented();
         int h = hh.first();
         while (h > 0) {
-            hSort(h, xs, from, to);
+            if (parallel && h >= 2 * MIN_PARALLEL_CHAINS) pool.invoke(new HSortAction(h, xs, from, to, 0, h));
+            else hSort(h, xs, from, to);
             if (shellFunction != null)
                 shellFunction.accept(getHelper());
             h = hh.next();
@@ -118,10 +166,19 @@ public class ShellSort<X extends Comparable<X>> extends SortWithHelper<X> {
             inversionsStart = helper.inversions(xs);
             logger.debug("hSort (begin) with h=" + h + ", current inversionsStart=" + inversionsStart);
         }
-        for (int i = h + from; i < to; i++) {
-            int j = i;
-            while (j >= h + from && helper.swapConditional(xs, j - h, j)) j -= h;
-        }
+        // NOTE: when not instrumented, we bypass the helper so that the inner loop makes no interface calls.
+        if (helper.instrumented())
+            for (int i = h + from; i < to; i++) {
+                int j = i;
+                while (j >= h + from && helper.swapConditional(xs, j - h, j)) j -= h;
+            }
+        else
+            for (int i = h + from; i < to; i++) {
+                final X x = xs[i];
+                int j = i;
+                for (; j >= h + from && x.compareTo(xs[j - h]) < 0; j -= h) xs[j] = xs[j - h];
+                xs[j] = x;
+            }
         if (helper.instrumented()) {
             int inversionsEnd = helper.inversions(xs);
             int proportionFixed = (int) (100.0 * (inversionsStart - inversionsEnd) / inversionsStart);
@@ -129,57 +186,86 @@ public class ShellSort<X extends Comparable<X>> extends SortWithHelper<X> {
         }
     }
 
-    private final int m;
+    /**
+     * Private method to h-sort the h-chains c0 thru c1-1 of an array, where chain c comprises the elements
+     * from+c, from+c+h, from+c+2h, etc.
+     * The chains are independent of one another, so different chains may be sorted concurrently.
+     * NOTE: the elements are visited in the same order as by hSort (restricted to the given chains).
+     * NOTE: this bypasses the helper and so must not be used when the helper is instrumented.
+     */
+    private void hSortChains(int h, X[] xs, int from, int to, int c0, int c1) {
+        for (int row = from + h; row < to; row += h) {
+            final int end = Math.min(row + c1, to);
+            for (int i = row + c0; i < end; i++) {
+                final X x = xs[i];
+                int j = i;
+                for (; j >= h + from && x.compareTo(xs[j - h]) < 0; j -= h) xs[j] = xs[j - h];
+                xs[j] = x;
+            }
+        }
+    }
+
+    /**
+     * Task to h-sort the h-chains c0 thru c1-1, which divides the chains between two sub-tasks
+     * until each task has no more than about PARALLEL_GRAIN elements.
+     */
+    private class HSortAction extends RecursiveAction {
+        HSortAction(int h, X[] xs, int from, int to, int c0, int c1) {
+            this.h = h;
+            this.xs = xs;
+            this.from = from;
+            this.to = to;
+            this.c0 = c0;
+            this.c1 = c1;
+        }
+
+        @Override
+        protected void compute() {
+            final long elements = (long) (c1 - c0) * ((to - from) / h);
+            if (c1 - c0 < 2 * MIN_PARALLEL_CHAINS || elements <= PARALLEL_GRAIN) hSortChains(h, xs, from, to, c0, c1);
+            else {
+                final int mid = c0 + (c1 - c0) / 2;
+                invokeAll(new HSortAction(h, xs, from, to, c0, mid), new HSortAction(h, xs, from, to, mid, c1));
+            }
+        }
+
+        private final int h;
+        private final X[] xs;
+        private final int from;
+        private final int to;
+        private final int c0;
+        private final int c1;
+    }
+
+    private static GapSequence getGapSequence(Config config) {
+        final String gaps = config != null ? config.get(SHELLSORT, GAPS) : null;
+        return gaps == null || gaps.isEmpty() ? GapSequences.CIURA : GapSequences.forName(gaps);
+    }
+
+    public static final String SHELLSORT = "shellsort";
+    public static final String GAPS = "gaps";
+    public static final String PARALLEL = "parallel";
+
+    // NOTE smaller arrays (and h-sorts with fewer chains) are not worth the overhead of the pool.
+    private static final int PARALLEL_THRESHOLD = 1 << 14;
+    private static final int MIN_PARALLEL_CHAINS = 16;
+    private static final int PARALLEL_GRAIN = 1 << 13;
+
+    private final GapSequence gapSequence;
+    private final ForkJoinPool pool;
 
     private Consumer<Helper<X>> shellFunction = null;
 
     /**
-     * Private inner class to provide h (gap) values.
+     * Private inner class to provide h (gap) values, as defined by the gap sequence.
      */
     class H {
-        @SuppressWarnings("CanBeFinal")
-        private int h = 1;
-        private int i;
+        private final int[] gaps;
+        private int i = 0;
         private boolean started = false;
-        final List<Integer> data = new ArrayList<>();
 
         H(int N) {
-
-            switch (m) {
-                case 1:
-                    break;
-                case 2:
-                    while (h <= N) h = 2 * (h + 1) - 1;
-                    break;
-                case 3:
-                    while (h <= N / 3) h = h * 3 + 1;
-                    break;
-                case 4:
-                    i = 0;
-                    while (sedgewick(i) < N) i++;
-                    i--;
-                    h = (int) sedgewick(i); // Note there will be loss of precision for large i
-                    break;
-                case 5:
-                    //2^i*3^j with i, j >= 0
-                    int i;
-                    int j = 1;
-                    while (j <= N) {
-                        i = j;
-                        while (i <= N) {
-                            data.add(i);
-                            i = i * 2;
-                        }
-                        j = j * 3;
-                    }
-                    Collections.sort(data);
-                    this.i = data.size() - 1;
-                    h = data.get(this.i);
-                    break;
-
-                default:
-                    throw new RuntimeException("invalid m value: " + m);
-            }
+            gaps = gapSequence.gaps(N);
         }
 
         /**
@@ -191,56 +277,38 @@ public class ShellSort<X extends Comparable<X>> extends SortWithHelper<X> {
         int first() {
             if (started) throw new RuntimeException("cannot call first more than once");
             started = true;
-            return h;
+            return gaps.length > 0 ? gaps[0] : 0;
         }
 
         /**
          * Method to yield the next h value in the "gap" series.
          * NOTE: first must be called before next.
          *
-         * @return the next value of h in the gap series.
+         * @return the next value of h in the gap series (or zero when the series is exhausted).
          */
         int next() {
-            if (started) {
-                switch (m) {
-                    case 1:
-                        return 0;
-                    case 2:
-                        h = (h + 1) / 2 - 1;
-                        return h;
-                    case 3:
-                        h = h / 3;
-                        return h;
-                    case 4:
-                        i--;
-                        return (int) sedgewick(i);
-                    case 5:
-                        i--;
-                        if (i < 0) {
-                            return 0;
-                        }
-                        return data.get(i);
-
-                    default:
-                        throw new RuntimeException("invalid m value: " + m);
-                }
-            } else {
-                started = true;
-                return h;
-            }
+            if (!started) return first();
+            return ++i < gaps.length ? gaps[i] : 0;
         }
 
         long sedgewick(int k) {
-            if (k < 0) return 0;
-            if (k % 2 == 0) return 9L * (powerOf2(k) - powerOf2(k / 2)) + 1;
-            else return 8L * powerOf2(k) - 6 * powerOf2((k + 1) / 2) + 1;
+            return GapSequences.sedgewick(k);
         }
+    }
 
-        private long powerOf2(int k) {
-            long value = 1;
-            for (int i = 0; i < k; i++) value *= 2;
-            return value;
-        }
+    /**
+     * Factory method to create a ShellSort which takes the gap sequence (gaps: ciura, the default, or one of the others
+     * in GapSequences) and whether to h-sort in parallel on the common pool (parallel)
+     * from the [shellsort] section of the helper's configuration.
+     *
+     * @param helper the helper.
+     * @param <T>    the underlying comparable type.
+     * @return a new ShellSort.
+     */
+    public static <T extends Comparable<T>> ShellSort<T> create(Helper<T> helper) {
+        final Config config = helper.getConfig();
+        final boolean parallel = config != null && config.getBoolean(SHELLSORT, PARALLEL);
+        return new ShellSort<>(getGapSequence(config), helper, parallel ? ForkJoinPool.commonPool() : null);
     }
 
     static <T extends Comparable<T>> boolean doShellSort(int m, Helper<T> helper, final T[] xs) {
@@ -0,0 +1,172 @@
+package edu.neu.coe.info6205.sort.elementary;
+
+import edu.neu.coe.info6205.sort.BaseHelper;
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.util.Config;
+
+/**
+ * Class SortingNetwork sorts small sub-arrays (up to MAX_SIZE elements) with a fixed sequence of compare-exchanges,
+ * so that there are no data-dependent loops (and, for int[], no data-dependent branches at all).
+ * Larger sub-arrays are sorted by insertion sort (as in the superclass).
+ * <p>
+ * The networks are the smallest known for each size (those for up to 10 elements are proven optimal):
+ * n = 2..16 uses 1, 3, 5, 9, 12, 16, 19, 25, 29, 35, 39, 45, 51, 56, 60 comparators.
+ * The comparators are grouped in layers (a comparator never shares a wire with another in its layer).
+ * The networks for 15 and 16 elements are Green's network (less, for 15, the comparators on wire 15).
+ * <p>
+ * Because it extends InsertionSort, an instance of SortingNetwork may be used as the base case of the linearithmic sorts
+ * which are not stable (QuickSort and its sub-classes): see InsertionSort.createUnstable and the basecase option
+ * in the [helper] section of the configuration.
+ * NOTE a sorting network is not stable, so the stable sorts (MergeSort, etc.) never use it.
+ *
+ * @param <X> the underlying comparable type.
+ */
+public class SortingNetwork<X extends Comparable<X>> extends InsertionSort<X> {
+
+    /**
+     * Constructor for SortingNetwork
+     *
+     * @param N      the number elements we expect to sort.
+     * @param config the configuration.
+     */
+    public SortingNetwork(int N, Config config) {
+        super(DESCRIPTION, N, config);
+    }
+
+    public SortingNetwork(Config config) {
+        this(new BaseHelper<>(DESCRIPTION, config));
+    }
+
+    /**
+     * Constructor for SortingNetwork
+     *
+     * @param helper an explicit instance of Helper to be used.
+     */
+    public SortingNetwork(Helper<X> helper) {
+        super(helper);
+    }
+
+    /**
+     * Sort the sub-array xs:from:to using a sorting network (or, if it is larger than MAX_SIZE, insertion sort).
+     *
+     * @param xs   sort the array xs from "from" to "to".
+     * @param from the index of the first element to sort
+     * @param to   the index of the first element not to sort
+     */
+    public void sort(X[] xs, int from, int to) {
+        final int n = to - from;
+        if (n > MAX_SIZE) {
+            super.sort(xs, from, to);
+            return;
+        }
+        final int[] network = NETWORKS[n];
+        final Helper<X> helper = getHelper();
+        // NOTE: when not instrumented, we bypass the helper so that the network makes no interface calls.
+        if (helper.instrumented())
+            for (int k = 0; k < network.length; k += 2) helper.swapConditional(xs, from + network[k], from + network[k + 1]);
+        else
+            for (int k = 0; k < network.length; k += 2) {
+                final int i = from + network[k], j = from + network[k + 1];
+                final X x = xs[i], y = xs[j];
+                // NOTE we store only when the elements must be exchanged: stores of references are not cheap.
+                if (x.compareTo(y) > 0) {
+                    xs[i] = y;
+                    xs[j] = x;
+                }
+            }
+    }
+
+    /**
+     * Sort the sub-array xs:from:to of ints using a sorting network (or, if it is larger than MAX_SIZE, insertion sort).
+     * <p>
+     * Each compare-exchange is a min and a max (which the JIT compiles to conditional moves), so there are no
+     * data-dependent branches; and the comparators in each layer are independent of one another.
+     *
+     * @param xs   sort the array xs from "from" to "to".
+     * @param from the index of the first element to sort
+     * @param to   the index of the first element not to sort
+     */
+    public static void sort(int[] xs, int from, int to) {
+        final int n = to - from;
+        if (n > MAX_SIZE) {
+            insertionSort(xs, from, to);
+            return;
+        }
+        final int[] network = NETWORKS[n];
+        for (int k = 0; k < network.length; k += 2) {
+            final int i = from + network[k], j = from + network[k + 1];
+            final int x = xs[i], y = xs[j];
+            xs[i] = Math.min(x, y);
+            xs[j] = Math.max(x, y);
+        }
+    }
+
+    /**
+     * Sort the sub-array xs:from:to of ints using insertion sort.
+     *
+     * @param xs   sort the array xs from "from" to "to".
+     * @param from the index of the first element to sort
+     * @param to   the index of the first element not to sort
+     */
+    public static void insertionSort(int[] xs, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            final int x = xs[i];
+            int j = i;
+            for (; j > from && x < xs[j - 1]; j--) xs[j] = xs[j - 1];
+            xs[j] = x;
+        }
+    }
+
+    /**
+     * Method to get the comparators of the network for n elements.
+     *
+     * @param n the number of elements (at most MAX_SIZE).
+     * @return a copy of the network as pairs of indices: (i, j) with i < j at positions 2k and 2k+1.
+     */
+    public static int[] network(int n) {
+        return NETWORKS[n].clone();
+    }
+
+    public static final String DESCRIPTION = "Sorting network";
+
+    /**
+     * The largest number of elements sorted by a network.
+     */
+    public static final int MAX_SIZE = 16;
+
+    private static final int[][] NETWORKS = {
+            {},
+            {},
+            {0, 1},
+            {0, 2, 0, 1, 1, 2},
+            {0, 2, 1, 3, 0, 1, 2, 3, 1, 2},
+            {0, 3, 1, 4, 0, 2, 1, 3, 0, 1, 2, 4, 1, 2, 3, 4, 2, 3},
+            {0, 5, 1, 3, 2, 4, 1, 2, 3, 4, 0, 3, 2, 5, 0, 1, 2, 3, 4, 5, 1, 2, 3, 4},
+            {0, 6, 2, 3, 4, 5, 0, 2, 1, 4, 3, 6, 0, 1, 2, 5, 3, 4, 1, 2, 4, 6, 2, 3, 4, 5, 1, 2, 3, 4, 5, 6},
+            {0, 2, 1, 3, 4, 6, 5, 7, 0, 4, 1, 5, 2, 6, 3, 7, 0, 1, 2, 3, 4, 5, 6, 7, 2, 4, 3, 5, 1, 4, 3, 6, 1, 2, 3, 4, 5, 6},
+            {0, 3, 1, 7, 2, 5, 4, 8, 0, 7, 2, 4, 3, 8, 5, 6, 0, 2, 1, 3, 4, 5, 7, 8, 1, 4, 3, 6, 5, 7, 0, 1, 2, 4, 3, 5, 6, 8,
+                    2, 3, 4, 5, 6, 7, 1, 2, 3, 4, 5, 6},
+            {0, 8, 1, 9, 2, 7, 3, 5, 4, 6, 0, 2, 1, 4, 5, 8, 7, 9, 0, 3, 2, 4, 5, 7, 6, 9, 0, 1, 3, 6, 8, 9, 1, 5, 2, 3, 4, 8,
+                    6, 7, 1, 2, 3, 5, 4, 6, 7, 8, 2, 3, 4, 5, 6, 7, 3, 4, 5, 6},
+            {0, 9, 1, 6, 2, 4, 3, 7, 5, 8, 0, 1, 3, 5, 4, 10, 6, 9, 7, 8, 1, 3, 2, 5, 4, 7, 8, 10, 0, 4, 1, 2, 3, 7, 5, 9, 6, 8,
+                    0, 1, 2, 6, 4, 5, 7, 8, 9, 10, 2, 4, 3, 6, 5, 7, 8, 9, 1, 2, 3, 4, 5, 6, 7, 8, 2, 3, 4, 5, 6, 7},
+            {0, 8, 1, 7, 2, 6, 3, 11, 4, 10, 5, 9, 0, 1, 2, 5, 3, 4, 6, 9, 7, 8, 10, 11, 0, 2, 1, 6, 5, 10, 9, 11,
+                    0, 3, 1, 2, 4, 6, 5, 7, 8, 11, 9, 10, 1, 4, 3, 5, 6, 8, 7, 10, 1, 3, 2, 5, 6, 9, 8, 10, 2, 3, 4, 5, 6, 7, 8, 9,
+                    4, 6, 5, 7, 3, 4, 5, 6, 7, 8},
+            {0, 12, 1, 10, 2, 9, 3, 7, 5, 11, 6, 8, 1, 6, 2, 3, 4, 11, 7, 9, 8, 10, 0, 4, 1, 2, 3, 6, 7, 8, 9, 10, 11, 12,
+                    4, 6, 5, 9, 8, 11, 10, 12, 0, 5, 3, 8, 4, 7, 6, 11, 9, 10, 0, 1, 2, 5, 6, 9, 7, 8, 10, 11, 1, 3, 2, 4, 5, 6, 9, 10,
+                    1, 2, 3, 4, 5, 7, 6, 8, 2, 3, 4, 5, 6, 7, 8, 9, 3, 4, 5, 6},
+            {0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 0, 2, 1, 3, 4, 8, 5, 9, 10, 12, 11, 13,
+                    0, 4, 1, 2, 3, 7, 5, 8, 6, 10, 9, 13, 11, 12, 0, 6, 1, 5, 3, 9, 4, 10, 7, 13, 8, 12, 2, 10, 3, 11, 4, 6, 7, 9,
+                    1, 3, 2, 8, 5, 11, 6, 7, 10, 12, 1, 4, 2, 6, 3, 5, 7, 11, 8, 10, 9, 12, 2, 4, 3, 6, 5, 8, 7, 10, 9, 11,
+                    3, 4, 5, 6, 7, 8, 9, 10, 6, 7},
+            {0, 13, 1, 12, 3, 14, 4, 8, 5, 6, 7, 11, 9, 10, 0, 5, 1, 7, 2, 9, 3, 4, 6, 13, 8, 14, 11, 12,
+                    0, 1, 2, 3, 4, 5, 6, 8, 7, 9, 10, 11, 12, 13, 0, 2, 1, 3, 4, 10, 5, 11, 6, 7, 8, 9, 12, 14,
+                    1, 2, 3, 12, 4, 6, 5, 7, 8, 10, 9, 11, 13, 14, 1, 4, 2, 6, 5, 8, 7, 10, 9, 13, 11, 14, 2, 4, 3, 6, 9, 12, 11, 13,
+                    3, 5, 6, 8, 7, 9, 10, 12, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 6, 7, 8, 9},
+            {0, 13, 1, 12, 2, 15, 3, 14, 4, 8, 5, 6, 7, 11, 9, 10, 0, 5, 1, 7, 2, 9, 3, 4, 6, 13, 8, 14, 10, 15, 11, 12,
+                    0, 1, 2, 3, 4, 5, 6, 8, 7, 9, 10, 11, 12, 13, 14, 15, 0, 2, 1, 3, 4, 10, 5, 11, 6, 7, 8, 9, 12, 14, 13, 15,
+                    1, 2, 3, 12, 4, 6, 5, 7, 8, 10, 9, 11, 13, 14, 1, 4, 2, 6, 5, 8, 7, 10, 9, 13, 11, 14, 2, 4, 3, 6, 9, 12, 11, 13,
+                    3, 5, 6, 8, 7, 9, 10, 12, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 6, 7, 8, 9}
+    };
+}
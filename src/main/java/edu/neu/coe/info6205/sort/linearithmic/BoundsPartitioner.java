@@ -0,0 +1,46 @@
+package edu.neu.coe.info6205.sort.linearithmic;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Partitioner which can report its partitions without allocating any objects:
+ * the bounds of the partitions are written into an int array supplied by the caller (and reused by it).
+ * <p>
+ * QuickSort uses this form (with an int stack of pending partitions) whenever its partitioner implements it.
+ *
+ * @param <X> the underlying type of the array.
+ */
+public interface BoundsPartitioner<X extends Comparable<X>> extends Partitioner<X> {
+
+    /**
+     * The maximum number of partitions which may result from partitioning.
+     */
+    int MAX_PARTITIONS = 3;
+
+    /**
+     * Method to partition xs[from...to) into smaller partitions.
+     * Partition k is xs[bounds[2*k]...bounds[2*k+1]).
+     *
+     * @param xs     the array.
+     * @param from   the index of the first element to partition.
+     * @param to     the index of the first element NOT to partition.
+     * @param bounds an array of (at least) 2 * MAX_PARTITIONS ints into which the bounds are written.
+     * @return the number of partitions.
+     */
+    int partition(X[] xs, int from, int to, int[] bounds);
+
+    /**
+     * Method to partition the given partition into smaller partitions.
+     *
+     * @param partition the partition to divide up.
+     * @return a list of partitions, as defined by partition(xs, from, to, bounds).
+     */
+    default List<Partition<X>> partition(Partition<X> partition) {
+        final int[] bounds = new int[2 * MAX_PARTITIONS];
+        final int n = partition(partition.xs, partition.from, partition.to, bounds);
+        final List<Partition<X>> partitions = new ArrayList<>(n);
+        for (int k = 0; k < n; k++) partitions.add(new Partition<>(partition.xs, bounds[2 * k], bounds[2 * k + 1]));
+        return partitions;
+    }
+}
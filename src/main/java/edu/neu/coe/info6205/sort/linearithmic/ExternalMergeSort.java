@@ -0,0 +1,356 @@
+package edu.neu.coe.info6205.sort.linearithmic;
+
+import edu.neu.coe.info6205.pq.PQException;
+import edu.neu.coe.info6205.pq.PriorityQueue;
+import edu.neu.coe.info6205.util.Timer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * External merge sort for files of fixed-width byte records, for files which are too large to be sorted in memory.
+ * <p>
+ * The sort has two phases:
+ * <ol>
+ *     <li>run generation: the input is streamed through a min-heap (pq.PriorityQueue) of runSize records,
+ *     using replacement selection, i.e. each record taken from the heap is written to the current run and is replaced
+ *     by the next input record, which is tagged for the current run if it is not less than the record just written,
+ *     and for the next run otherwise. For random input, the runs are on average twice as long as the heap;
+ *     for input which is already sorted, there is only one run;</li>
+ *     <li>merging: up to fanIn runs at a time are merged, again using a min-heap, until only one run remains.</li>
+ * </ol>
+ * All file access is through FileChannels with direct buffers of bufferSize bytes (one per open run).
+ * <p>
+ * NOTE: the sort is not stable.
+ */
+public class ExternalMergeSort {
+
+    /**
+     * Constructor for ExternalMergeSort.
+     *
+     * @param recordLength the length of each record in bytes.
+     * @param comparator   the comparator for records.
+     * @param runSize      the number of records held in memory during run generation.
+     * @param fanIn        the maximum number of runs merged at once (at least 2).
+     * @param bufferSize   the (approximate) size in bytes of each I/O buffer.
+     */
+    public ExternalMergeSort(int recordLength, Comparator<byte[]> comparator, int runSize, int fanIn, int bufferSize) {
+        if (recordLength < 1 || runSize < 1 || fanIn < 2)
+            throw new IllegalArgumentException("ExternalMergeSort: invalid parameters: " + recordLength + ", " + runSize + ", " + fanIn);
+        this.recordLength = recordLength;
+        this.comparator = comparator;
+        this.runSize = runSize;
+        this.fanIn = fanIn;
+        this.bufferLength = Math.max(1, bufferSize / recordLength) * recordLength;
+    }
+
+    /**
+     * Constructor for ExternalMergeSort with the default buffer size.
+     *
+     * @param recordLength the length of each record in bytes.
+     * @param comparator   the comparator for records.
+     * @param runSize      the number of records held in memory during run generation.
+     * @param fanIn        the maximum number of runs merged at once (at least 2).
+     */
+    public ExternalMergeSort(int recordLength, Comparator<byte[]> comparator, int runSize, int fanIn) {
+        this(recordLength, comparator, runSize, fanIn, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Method to yield a comparator which compares records by the (unsigned) bytes of a fixed-width key field.
+     *
+     * @param keyOffset the offset of the key within each record.
+     * @param keyLength the length of the key in bytes.
+     * @return a Comparator of byte[].
+     */
+    public static Comparator<byte[]> keyComparator(int keyOffset, int keyLength) {
+        return (a, b) -> Arrays.compareUnsigned(a, keyOffset, keyOffset + keyLength, b, keyOffset, keyOffset + keyLength);
+    }
+
+    /**
+     * Sort the records of input into output.
+     * Temporary files are created in (and removed from) a temporary directory alongside output.
+     *
+     * @param input  the file to be sorted.
+     * @param output the file to which the sorted records are written (it will be replaced if it exists).
+     * @throws IOException if any file cannot be read or written.
+     */
+    public void sort(Path input, Path output) throws IOException {
+        final Path directory = Files.createTempDirectory(output.toAbsolutePath().getParent(), "ems");
+        try {
+            List<Path> runs = generateRuns(input, directory);
+            runCount = runs.size();
+            mergePasses = 0;
+            while (runs.size() > fanIn) {
+                final List<Path> merged = new ArrayList<>();
+                for (int i = 0; i < runs.size(); i += fanIn) {
+                    final List<Path> group = runs.subList(i, Math.min(i + fanIn, runs.size()));
+                    if (group.size() == 1) merged.add(group.get(0));
+                    else merged.add(merge(group, Files.createTempFile(directory, "run", ".dat")));
+                }
+                runs = merged;
+                mergePasses++;
+            }
+            if (runs.size() == 1) Files.move(runs.get(0), output, StandardCopyOption.REPLACE_EXISTING);
+            else {
+                merge(runs, output);
+                mergePasses++;
+            }
+        } finally {
+            try (Stream<Path> paths = Files.list(directory)) {
+                for (Path path : (Iterable<Path>) paths::iterator) Files.deleteIfExists(path);
+            }
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    /**
+     * @return the number of runs generated by the most recent sort.
+     */
+    public int getRunCount() {
+        return runCount;
+    }
+
+    /**
+     * @return the number of merge passes performed by the most recent sort.
+     */
+    public int getMergePasses() {
+        return mergePasses;
+    }
+
+    /**
+     * Generate the sorted runs of input by replacement selection.
+     */
+    private List<Path> generateRuns(Path input, Path directory) throws IOException {
+        final List<Path> runs = new ArrayList<>();
+        final PriorityQueue<Entry> pq = new PriorityQueue<>(runSize, false, Entry.comparator(comparator), true);
+        try (RecordReader reader = new RecordReader(input)) {
+            for (int i = 0; i < runSize; i++) {
+                final byte[] record = new byte[recordLength];
+                if (!reader.read(record)) break;
+                pq.give(new Entry(0, record));
+            }
+            byte[] spare = new byte[recordLength];
+            RecordWriter writer = null;
+            int run = -1;
+            try {
+                while (!pq.isEmpty()) {
+                    final Entry entry = take(pq);
+                    if (entry.run != run) {
+                        if (writer != null) writer.close();
+                        final Path path = Files.createTempFile(directory, "run", ".dat");
+                        runs.add(path);
+                        writer = new RecordWriter(path);
+                        run = entry.run;
+                    }
+                    writer.write(entry.record);
+                    // NOTE the record just written is recycled: the next input record is read into the spare array.
+                    if (reader.read(spare)) {
+                        final byte[] written = entry.record;
+                        entry.record = spare;
+                        if (comparator.compare(spare, written) < 0) entry.run++;
+                        spare = written;
+                        pq.give(entry);
+                    }
+                }
+            } finally {
+                if (writer != null) writer.close();
+            }
+        }
+        return runs;
+    }
+
+    /**
+     * Merge the given runs into output (and delete the runs).
+     *
+     * @return output.
+     */
+    private Path merge(List<Path> runs, Path output) throws IOException {
+        final List<RecordReader> readers = new ArrayList<>();
+        try (RecordWriter writer = new RecordWriter(output)) {
+            final PriorityQueue<Entry> pq = new PriorityQueue<>(runs.size(), false, (a, b) -> comparator.compare(a.record, b.record), true);
+            for (Path run : runs) {
+                final RecordReader reader = new RecordReader(run);
+                readers.add(reader);
+                final byte[] record = new byte[recordLength];
+                if (reader.read(record)) pq.give(new Entry(readers.size() - 1, record));
+            }
+            // NOTE here, Entry.run identifies the reader from which the record came.
+            while (!pq.isEmpty()) {
+                final Entry entry = take(pq);
+                writer.write(entry.record);
+                if (readers.get(entry.run).read(entry.record)) pq.give(entry);
+            }
+        } finally {
+            for (RecordReader reader : readers) reader.close();
+        }
+        for (Path run : runs) Files.deleteIfExists(run);
+        return output;
+    }
+
+    /**
+     * Take the root of pq, which is known not to be empty.
+     */
+    private static Entry take(PriorityQueue<Entry> pq) {
+        try {
+            return pq.take();
+        } catch (PQException e) {
+            throw new RuntimeException("ExternalMergeSort: logic error", e);
+        }
+    }
+
+    /**
+     * A record together with its run number (or, when merging, the index of its reader).
+     * During run generation, entries are ordered by run and then by record.
+     */
+    static class Entry {
+        Entry(int run, byte[] record) {
+            this.run = run;
+            this.record = record;
+        }
+
+        static Comparator<Entry> comparator(Comparator<byte[]> comparator) {
+            return (a, b) -> a.run != b.run ? Integer.compare(a.run, b.run) : comparator.compare(a.record, b.record);
+        }
+
+        int run;
+        byte[] record;
+    }
+
+    /**
+     * Buffered reader of fixed-width records from a FileChannel.
+     */
+    class RecordReader implements AutoCloseable {
+
+        RecordReader(Path path) throws IOException {
+            channel = FileChannel.open(path, READ);
+            if (channel.size() % recordLength != 0) {
+                channel.close();
+                throw new IllegalArgumentException("ExternalMergeSort: size of " + path + " is not a multiple of the record length " + recordLength);
+            }
+            buffer = ByteBuffer.allocateDirect(bufferLength);
+            buffer.flip();
+        }
+
+        /**
+         * Read the next record into record.
+         *
+         * @return false if there are no more records.
+         */
+        boolean read(byte[] record) throws IOException {
+            if (!buffer.hasRemaining()) {
+                buffer.clear();
+                // NOTE the buffer is filled unless the end of the file is reached, so records are never split.
+                while (buffer.hasRemaining() && channel.read(buffer) >= 0) ;
+                buffer.flip();
+                if (!buffer.hasRemaining()) return false;
+            }
+            buffer.get(record);
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+    }
+
+    /**
+     * Buffered writer of fixed-width records to a FileChannel.
+     */
+    class RecordWriter implements AutoCloseable {
+
+        RecordWriter(Path path) throws IOException {
+            channel = FileChannel.open(path, WRITE, CREATE, TRUNCATE_EXISTING);
+            buffer = ByteBuffer.allocateDirect(bufferLength);
+        }
+
+        void write(byte[] record) throws IOException {
+            if (!buffer.hasRemaining()) flush();
+            buffer.put(record);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) channel.write(buffer);
+            buffer.clear();
+        }
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+    }
+
+    /**
+     * Benchmark of ExternalMergeSort on a file of random 100-byte records with 10-byte keys.
+     *
+     * @param args the number of records (default 1,000,000), then any number of runSize:fanIn pairs.
+     * @throws IOException if the files cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        final int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        final int recordLength = 100, keyLength = 10;
+        final Path directory = Files.createTempDirectory("ems");
+        final Path input = directory.resolve("input.dat"), output = directory.resolve("output.dat");
+        try {
+            final Random random = new Random(0L);
+            try (FileChannel channel = FileChannel.open(input, WRITE, CREATE)) {
+                final ByteBuffer buffer = ByteBuffer.allocate(recordLength * 1000);
+                for (int i = 0; i < n; i += 1000) {
+                    buffer.clear();
+                    random.nextBytes(buffer.array());
+                    buffer.limit(recordLength * Math.min(1000, n - i));
+                    while (buffer.hasRemaining()) channel.write(buffer);
+                }
+            }
+            final double megabytes = (double) n * recordLength / 1_000_000;
+            final String[] configurations = args.length > 1 ? Arrays.copyOfRange(args, 1, args.length) : new String[]{"10000:16", "10000:128", "100000:16", "100000:128"};
+            for (String configuration : configurations) {
+                final String[] parts = configuration.split(":");
+                final ExternalMergeSort sorter = new ExternalMergeSort(recordLength, keyComparator(0, keyLength), Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+                final Timer timer = new Timer();
+                sorter.sort(input, output);
+                final double millisecs = timer.stop();
+                System.out.printf("ExternalMergeSort: %,d records, runSize %s, fanIn %s: %d runs, %d merge passes, %.0f ms, %.1f MB/s%n",
+                        n, parts[0], parts[1], sorter.getRunCount(), sorter.getMergePasses(), millisecs, megabytes * 1000 / millisecs);
+            }
+        } finally {
+            Files.deleteIfExists(input);
+            Files.deleteIfExists(output);
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    private final int recordLength;
+    private final Comparator<byte[]> comparator;
+    private final int runSize;
+    private final int fanIn;
+    private final int bufferLength;
+    private int runCount;
+    private int mergePasses;
+}
@@ -47,6 +47,17 @@ public class IntroSort<X extends Comparable<X>> extends QuickSort_DualPivot<X> {
         this(new BaseHelper<>(DESCRIPTION, config));
     }
 
+    /**
+     * Constructor for use by subclasses which have their own description.
+     *
+     * @param description the description of the sorter.
+     * @param N           the number elements we expect to sort.
+     * @param config      the configuration.
+     */
+    protected IntroSort(String description, int N, Config config) {
+        super(description, N, config);
+    }
+
     @Override
     public X[] sort(X[] xs, boolean makeCopy) {
         getHelper().init(xs.length);
@@ -98,7 +109,7 @@ public class IntroSort<X extends Comparable<X>> extends QuickSort_DualPivot<X> {
     /*
      * Heapsort algorithm
      */
-    private void heapSort(X[] a, int from, int to) {
+    protected void heapSort(X[] a, int from, int to) {
         Helper<X> helper = getHelper();
         int n = to - from;
         for (int i = n / 2; i >= 1; i = i - 1) {
@@ -142,7 +153,7 @@ public class IntroSort<X extends Comparable<X>> extends QuickSort_DualPivot<X> {
         a[j] = temp;
     }
 
-    private static int floor_lg(int a) {
+    static int floor_lg(int a) {
         return (int) (Math.floor(Math.log(a) / Math.log(2)));
     }
 
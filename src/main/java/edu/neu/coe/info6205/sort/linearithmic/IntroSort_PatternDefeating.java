@@ -0,0 +1,275 @@
+package edu.neu.coe.info6205.sort.linearithmic;
+
+import edu.neu.coe.info6205.sort.BaseHelper;
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.util.Config;
+
+/**
+ * Pattern-defeating quicksort (after Orson Peters' pdqsort), an adaptive variant of IntroSort.
+ * <p>
+ * Like IntroSort, this falls back on heap sort, but only after too many badly unbalanced partitions
+ * (rather than when the depth exceeds a threshold). In addition:
+ * <ul>
+ *     <li>If partitioning needs no swaps at all (the partition was already ordered with respect to the pivot),
+ *     both sides are tried with a partial insertion sort which gives up after a small number of moves.
+ *     Sorted, reversed and mostly-sorted inputs are therefore sorted in close to linear time.</li>
+ *     <li>After a badly unbalanced partition, some elements are swapped into new positions so that adversarial
+ *     patterns (which defeat median-of-three) are broken up.</li>
+ *     <li>If the pivot is equal to the element just before the partition (which is known to be no greater
+ *     than anything in the partition), all elements equal to the pivot are placed together and are not sorted again.
+ *     This gives good performance when there are many duplicates.</li>
+ * </ul>
+ * Partitioning is done directly (without a Partitioner) because it must report whether any swaps were needed.
+ * The depth of each partition is still registered with the helper.
+ *
+ * @param <X> the underlying comparable type.
+ */
+public class IntroSort_PatternDefeating<X extends Comparable<X>> extends IntroSort<X> {
+
+    public static final String DESCRIPTION = "Pattern-defeating intro sort";
+
+    /**
+     * Constructor for IntroSort_PatternDefeating
+     *
+     * @param helper an explicit instance of Helper to be used.
+     */
+    public IntroSort_PatternDefeating(Helper<X> helper) {
+        super(helper);
+    }
+
+    /**
+     * Constructor for IntroSort_PatternDefeating
+     *
+     * @param N      the number elements we expect to sort.
+     * @param config the configuration.
+     */
+    public IntroSort_PatternDefeating(int N, Config config) {
+        super(DESCRIPTION, N, config);
+    }
+
+    public IntroSort_PatternDefeating(Config config) {
+        this(new BaseHelper<>(DESCRIPTION, config));
+    }
+
+    /**
+     * Sort the sub-array xs[from] ... xs[to-1].
+     * NOTE that this sort is always sequential.
+     *
+     * @param xs    the complete array from which this sub-array derives.
+     * @param from  the index of the first element to sort.
+     * @param to    the index of the first element not to sort.
+     * @param depth the depth of the recursion.
+     */
+    @Override
+    public void sort(X[] xs, int from, int to, int depth) {
+        instrumented = getHelper().instrumented();
+        sort(xs, from, to, floor_lg(Math.max(to - from, 1)) + 1, true, depth);
+    }
+
+    /**
+     * Sort xs[from...to).
+     *
+     * @param xs          the array.
+     * @param from        the index of the first element to sort.
+     * @param to          the index of the first element not to sort.
+     * @param badAllowed  the number of badly unbalanced partitions which are allowed before switching to heap sort.
+     * @param leftmost    true if there is no element before from which belongs to this sort;
+     *                    otherwise xs[from-1] is not greater than any element in xs[from...to).
+     * @param depth       the depth of the recursion.
+     */
+    private void sort(X[] xs, int from, int to, int badAllowed, boolean leftmost, int depth) {
+        final Helper<X> helper = getHelper();
+        while (true) {
+            final int n = to - from;
+            if (n < INSERTION_SORT_THRESHOLD) {
+                if (n > 1) getInsertionSort().sort(xs, from, to);
+                return;
+            }
+            helper.registerDepth(depth);
+            choosePivot(xs, from, to);
+            // If the pivot equals the element before the partition, there can be nothing less than the pivot:
+            // place all the elements equal to the pivot on the left and carry on with those greater than it.
+            if (!leftmost && !less(xs[from - 1], xs[from])) {
+                from = partitionLeft(xs, from, to) + 1;
+                depth++;
+                continue;
+            }
+            final int p = partitionRight(xs, from, to);
+            final boolean alreadyPartitioned = p < 0;
+            final int pivot = alreadyPartitioned ? ~p : p;
+            final int nLeft = pivot - from, nRight = to - pivot - 1;
+            if (nLeft < n / 8 || nRight < n / 8) {
+                if (--badAllowed == 0) {
+                    heapSort(xs, from, to);
+                    return;
+                }
+                breakPatterns(xs, from, pivot, to, nLeft, nRight);
+            } else if (alreadyPartitioned && partialInsertionSort(xs, from, pivot) && partialInsertionSort(xs, pivot + 1, to))
+                return;
+            sort(xs, from, pivot, badAllowed, leftmost, depth + 1);
+            from = pivot + 1;
+            leftmost = false;
+            depth++;
+        }
+    }
+
+    /**
+     * Move the pivot to xs[from]: the median of three for small partitions, otherwise the median of three medians.
+     * In both cases, there is then an element in xs(from...to) which is not less than the pivot:
+     * for the median of three, it is xs[to-1] (the greatest of the three);
+     * for the median of medians, it is xs[mid+1] (the greatest of the three medians), while xs[to-1] may be less than the pivot.
+     */
+    private void choosePivot(X[] xs, int from, int to) {
+        final int n = to - from, mid = from + n / 2;
+        if (n > NINTHER_THRESHOLD) {
+            sort3(xs, from, mid, to - 1);
+            sort3(xs, from + 1, mid - 1, to - 2);
+            sort3(xs, from + 2, mid + 1, to - 3);
+            sort3(xs, mid - 1, mid, mid + 1);
+            swap(xs, from, mid);
+        } else sort3(xs, mid, from, to - 1);
+    }
+
+    /**
+     * Partition xs[from...to) about the pivot xs[from], placing elements equal to the pivot on the right.
+     *
+     * @return the final index of the pivot, or its complement (negative) if no elements had to be swapped.
+     */
+    private int partitionRight(X[] xs, int from, int to) {
+        final X v = xs[from];
+        int i = from, j = to;
+        // NOTE there is an element not less than v in xs(from...to) (see choosePivot) so this scan is unguarded.
+        while (less(xs[++i], v)) {
+        }
+        // NOTE if nothing was less than v, the scan from the right must be guarded; otherwise xs[i-1] stops it.
+        if (i - 1 == from) {
+            while (i < j && !less(xs[--j], v)) {
+            }
+        } else {
+            while (!less(xs[--j], v)) {
+            }
+        }
+        final boolean alreadyPartitioned = i >= j;
+        while (i < j) {
+            swap(xs, i, j);
+            while (less(xs[++i], v)) {
+            }
+            while (!less(xs[--j], v)) {
+            }
+        }
+        final int pivot = i - 1;
+        swap(xs, from, pivot);
+        return alreadyPartitioned ? ~pivot : pivot;
+    }
+
+    /**
+     * Partition xs[from...to) about the pivot xs[from], placing elements equal to the pivot on the left.
+     * NOTE this is only used when xs[from-1] is equal to the pivot and so nothing in the partition is less than it.
+     *
+     * @return the final index of the pivot.
+     */
+    private int partitionLeft(X[] xs, int from, int to) {
+        final X v = xs[from];
+        int i = from, j = to;
+        while (less(v, xs[--j])) {
+        }
+        if (j + 1 == to) {
+            while (i < j && !less(v, xs[++i])) {
+            }
+        } else {
+            while (!less(v, xs[++i])) {
+            }
+        }
+        while (i < j) {
+            swap(xs, i, j);
+            while (less(v, xs[--j])) {
+            }
+            while (!less(v, xs[++i])) {
+            }
+        }
+        swap(xs, from, j);
+        return j;
+    }
+
+    /**
+     * Insertion sort of xs[from...to) which gives up once more than PARTIAL_INSERTION_SORT_LIMIT elements have been moved.
+     *
+     * @return true if xs[from...to) is now sorted.
+     */
+    private boolean partialInsertionSort(X[] xs, int from, int to) {
+        int moves = 0;
+        for (int i = from + 1; i < to; i++) {
+            if (moves > PARTIAL_INSERTION_SORT_LIMIT) return false;
+            if (instrumented) {
+                int j = i;
+                for (; j > from && less(xs[j], xs[j - 1]); j--) swap(xs, j, j - 1);
+                moves += i - j;
+            } else if (less(xs[i], xs[i - 1])) {
+                final X x = xs[i];
+                int j = i;
+                do {
+                    xs[j] = xs[j - 1];
+                    j--;
+                } while (j > from && less(x, xs[j - 1]));
+                xs[j] = x;
+                moves += i - j;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Swap some elements of each side of a badly unbalanced partition into new positions.
+     */
+    private void breakPatterns(X[] xs, int from, int pivot, int to, int nLeft, int nRight) {
+        if (nLeft >= INSERTION_SORT_THRESHOLD) {
+            final int q = nLeft / 4;
+            swap(xs, from, from + q);
+            swap(xs, pivot - 1, pivot - q);
+            if (nLeft > NINTHER_THRESHOLD) {
+                swap(xs, from + 1, from + q + 1);
+                swap(xs, from + 2, from + q + 2);
+                swap(xs, pivot - 2, pivot - q - 1);
+                swap(xs, pivot - 3, pivot - q - 2);
+            }
+        }
+        if (nRight >= INSERTION_SORT_THRESHOLD) {
+            final int q = nRight / 4;
+            swap(xs, pivot + 1, pivot + 1 + q);
+            swap(xs, to - 1, to - q);
+            if (nRight > NINTHER_THRESHOLD) {
+                swap(xs, pivot + 2, pivot + 2 + q);
+                swap(xs, pivot + 3, pivot + 3 + q);
+                swap(xs, to - 2, to - q - 1);
+                swap(xs, to - 3, to - q - 2);
+            }
+        }
+    }
+
+    private void sort3(X[] xs, int i, int j, int k) {
+        final Helper<X> helper = getHelper();
+        helper.swapConditional(xs, i, j);
+        helper.swapConditional(xs, j, k);
+        helper.swapConditional(xs, i, j);
+    }
+
+    private boolean less(X v, X w) {
+        if (instrumented) return getHelper().less(v, w);
+        return v.compareTo(w) < 0;
+    }
+
+    private void swap(X[] xs, int i, int j) {
+        if (instrumented) getHelper().swap(xs, i, j);
+        else {
+            X temp = xs[i];
+            xs[i] = xs[j];
+            xs[j] = temp;
+        }
+    }
+
+    private boolean instrumented;
+
+    private static final int INSERTION_SORT_THRESHOLD = 24;
+    private static final int NINTHER_THRESHOLD = 128;
+    private static final int PARTIAL_INSERTION_SORT_LIMIT = 8;
+}
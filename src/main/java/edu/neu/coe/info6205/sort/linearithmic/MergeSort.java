@@ -20,7 +20,7 @@ public class MergeSort<X extends Comparable<X>> extends SortWithHelper<X> {
      */
     public MergeSort(Helper<X> helper) {
         super(helper);
-        insertionSort = new InsertionSort<>(helper);
+        insertionSort = InsertionSort.create(helper);
     }
 
     /**
@@ -31,7 +31,7 @@ public class MergeSort<X extends Comparable<X>> extends SortWithHelper<X> {
      */
     public MergeSort(int N, Config config) {
         super(DESCRIPTION + ":" + getConfigString(config), N, config);
-        insertionSort = new InsertionSort<>(getHelper());
+        insertionSort = InsertionSort.create(getHelper());
     }
 
     @Override
@@ -46,14 +46,13 @@ public class MergeSort<X extends Comparable<X>> extends SortWithHelper<X> {
     public void sort(X[] a, int from, int to) {
         // CONSIDER don't copy but just allocate according to the xs/aux interchange optimization
         X[] aux = Arrays.copyOf(a, a.length);
-        sort(a, aux, from, to);
+        // NOTE the configuration is read once per sort rather than once per recursive call.
+        final Config config = getHelper().getConfig();
+        sort(a, aux, from, to, config.getBoolean(MERGESORT, INSURANCE), config.getBoolean(MERGESORT, NOCOPY));
     }
 
-    private void sort(X[] a, X[] aux, int from, int to) {
+    private void sort(X[] a, X[] aux, int from, int to, boolean insurance, boolean noCopy) {
         final Helper<X> helper = getHelper();
-        Config config = helper.getConfig();
-        boolean insurance = config.getBoolean(MERGESORT, INSURANCE);
-        boolean noCopy = config.getBoolean(MERGESORT, NOCOPY);
         if (to <= from + helper.cutoff()) {
             insertionSort.sort(a, from, to);
             return;
@@ -64,8 +63,8 @@ public class MergeSort<X extends Comparable<X>> extends SortWithHelper<X> {
         int pivot = from + (to - from) / 2;
 
         if(noCopy) {
-            sort(aux, a, from, pivot);
-            sort(aux, a, pivot, to);
+            sort(aux, a, from, pivot, insurance, noCopy);
+            sort(aux, a, pivot, to, insurance, noCopy);
 
             if(insurance && helper.less(aux, pivot - 1, pivot)) {
 
@@ -76,8 +75,8 @@ public class MergeSort<X extends Comparable<X>> extends SortWithHelper<X> {
             merge(aux, a, from, pivot, to);
         }
         else {
-            sort(a, aux, from, pivot);
-            sort(a, aux, pivot, to);
+            sort(a, aux, from, pivot, insurance, noCopy);
+            sort(a, aux, pivot, to, insurance, noCopy);
 
             if (insurance && helper.less(a[pivot - 1], a[pivot])) return;
 
@@ -92,13 +91,21 @@ public class MergeSort<X extends Comparable<X>> extends SortWithHelper<X> {
         final Helper<X> helper = getHelper();
         int i = from;
         int j = mid;
-        for (int k = from; k < to; k++)
-            if (i >= mid) helper.copy(sorted, j++, result, k);
-            else if (j >= to) helper.copy(sorted, i++, result, k);
-            else if (helper.less(sorted[j], sorted[i])) {
-                helper.incrementFixes(mid - i);
-                helper.copy(sorted, j++, result, k);
-            } else helper.copy(sorted, i++, result, k);
+        // NOTE: when not instrumented, we bypass the helper so that the inner loop makes no interface calls.
+        if (helper.instrumented())
+            for (int k = from; k < to; k++)
+                if (i >= mid) helper.copy(sorted, j++, result, k);
+                else if (j >= to) helper.copy(sorted, i++, result, k);
+                else if (helper.less(sorted[j], sorted[i])) {
+                    helper.incrementFixes(mid - i);
+                    helper.copy(sorted, j++, result, k);
+                } else helper.copy(sorted, i++, result, k);
+        else
+            for (int k = from; k < to; k++)
+                if (i >= mid) result[k] = sorted[j++];
+                else if (j >= to) result[k] = sorted[i++];
+                else if (sorted[j].compareTo(sorted[i]) < 0) result[k] = sorted[j++];
+                else result[k] = sorted[i++];
     }
 
     public static final String MERGESORT = "mergesort";
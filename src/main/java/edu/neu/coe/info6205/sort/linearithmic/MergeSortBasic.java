@@ -21,7 +21,7 @@ public class MergeSortBasic<X extends Comparable<X>> extends SortWithHelper<X> {
      */
     public MergeSortBasic(Helper<X> helper) {
         super(helper);
-        insertionSort = new InsertionSort<>(helper);
+        insertionSort = InsertionSort.create(helper);
     }
 
     /**
@@ -32,7 +32,7 @@ public class MergeSortBasic<X extends Comparable<X>> extends SortWithHelper<X> {
      */
     public MergeSortBasic(int N, Config config) {
         super(DESCRIPTION + ":" + getConfigString(config), N, config);
-        insertionSort = new InsertionSort<>(getHelper());
+        insertionSort = InsertionSort.create(getHelper());
     }
 
     private static String getConfigString(Config config) {
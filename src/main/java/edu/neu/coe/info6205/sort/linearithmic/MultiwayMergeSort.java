@@ -0,0 +1,219 @@
+package edu.neu.coe.info6205.sort.linearithmic;
+
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.SortWithHelper;
+import edu.neu.coe.info6205.sort.elementary.InsertionSort;
+import edu.neu.coe.info6205.util.Config;
+
+import java.util.Arrays;
+
+/**
+ * Multiway (k-way) merge sort.
+ * <p>
+ * Like MergeSort, this is a top-down sort which uses insertion sort below the cutoff and (optionally) avoids copying
+ * by alternating the roles of the array and the auxiliary array ("nocopy" in the [mergesort] section of the configuration).
+ * However, each sub-array is divided into k parts (rather than two) which are merged using a tournament (loser) tree,
+ * so that the data passes through memory only log_k(N/cutoff) times rather than log_2(N/cutoff) times.
+ * Each merge makes about lg k comparisons per element, so the total number of comparisons is much the same as MergeSort.
+ * <p>
+ * The fan-in k may be set explicitly ("k" in the [multiwaymergesort] section); otherwise it is chosen from the cache size
+ * ("cachesize", in bytes) such that one page (4 KB) of each of the runs being merged will fit in the cache.
+ * The merge is stable.
+ *
+ * @param <X> the underlying comparable type.
+ */
+public class MultiwayMergeSort<X extends Comparable<X>> extends SortWithHelper<X> {
+
+    public static final String DESCRIPTION = "Multiway MergeSort";
+
+    /**
+     * Constructor for MultiwayMergeSort
+     *
+     * @param helper an explicit instance of Helper to be used.
+     */
+    public MultiwayMergeSort(Helper<X> helper) {
+        super(helper);
+        insertionSort = InsertionSort.create(helper);
+    }
+
+    /**
+     * Constructor for MultiwayMergeSort
+     *
+     * @param N      the number elements we expect to sort.
+     * @param config the configuration.
+     */
+    public MultiwayMergeSort(int N, Config config) {
+        super(DESCRIPTION + ":" + getConfigString(config), N, config);
+        insertionSort = InsertionSort.create(getHelper());
+    }
+
+    @Override
+    public X[] sort(X[] xs, boolean makeCopy) {
+        getHelper().init(xs.length);
+        X[] result = makeCopy ? Arrays.copyOf(xs, xs.length) : xs;
+        sort(result, 0, result.length);
+        return result;
+    }
+
+    @Override
+    public void sort(X[] a, int from, int to) {
+        X[] aux = Arrays.copyOf(a, a.length);
+        // NOTE the configuration is read once per sort rather than once per recursive call.
+        final Config config = getHelper().getConfig();
+        instrumented = getHelper().instrumented();
+        sort(a, aux, from, to, getFanIn(config), config.getBoolean(MergeSort.MERGESORT, MergeSort.NOCOPY));
+    }
+
+    /**
+     * Method to determine the fan-in for a cache of the given size.
+     *
+     * @param cacheSize the size of the cache (in bytes).
+     * @return the largest power of two k such that k pages fit in the cache (but at least 2 and at most MAX_FAN_IN).
+     */
+    public static int fanIn(long cacheSize) {
+        final long pages = cacheSize / PAGE_SIZE;
+        if (pages < 2) return 2;
+        return (int) Math.min(MAX_FAN_IN, Long.highestOneBit(pages));
+    }
+
+    /**
+     * Sort a[from...to) with the k-way merge sort.
+     * If noCopy is true, aux[from...to) must be a copy of a[from...to) (its order on return is undefined).
+     */
+    private void sort(X[] a, X[] aux, int from, int to, int k, boolean noCopy) {
+        final int cutoff = getHelper().cutoff();
+        if (to <= from + cutoff) {
+            insertionSort.sort(a, from, to);
+            return;
+        }
+        final int n = to - from;
+        // NOTE the parts are as nearly equal as possible, and (near the leaves) no smaller than the cutoff.
+        final int parts = Math.max(2, Math.min(k, n / Math.max(cutoff, 1)));
+        final int[] starts = new int[parts + 1];
+        for (int i = 0; i <= parts; i++) starts[i] = from + (int) ((long) n * i / parts);
+        if (noCopy) {
+            for (int i = 0; i < parts; i++) sort(aux, a, starts[i], starts[i + 1], k, true);
+            merge(aux, a, starts, parts);
+        } else {
+            for (int i = 0; i < parts; i++) sort(a, aux, starts[i], starts[i + 1], k, false);
+            if (instrumented) getHelper().incrementCopies(n);
+            System.arraycopy(a, from, aux, from, n);
+            merge(aux, a, starts, parts);
+        }
+    }
+
+    /**
+     * Merge the parts sorted[starts[i]...starts[i+1]) (for i in 0...parts) into result[starts[0]...starts[parts]),
+     * using a loser tree.
+     * <p>
+     * The leaves of the tree (positions parts...2*parts-1) are the runs; each internal node (1...parts-1) holds the loser
+     * of the match between the winners of its two children; and tree[0] holds the overall winner.
+     * After the winner has been output, only the matches on the path from its leaf to the root are replayed.
+     * The current element of each run is kept in heads (null once the run is exhausted).
+     */
+    @SuppressWarnings("unchecked")
+    private void merge(X[] sorted, X[] result, int[] starts, int parts) {
+        final int[] cursors = Arrays.copyOf(starts, parts);
+        final X[] heads = (X[]) new Comparable[parts];
+        for (int i = 0; i < parts; i++) heads[i] = sorted[cursors[i]];
+        final int[] tree = new int[parts];
+        tree[0] = parts == 1 ? 0 : build(heads, tree, 1, parts);
+        final int to = starts[parts];
+        // NOTE: when not instrumented, we bypass the helper (and beats) so that the inner loop makes no interface calls.
+        if (instrumented)
+            for (int k = starts[0]; k < to; k++) {
+                int winner = tree[0];
+                // NOTE the elements remaining in the runs to the left of the winner are inversions which are now fixed.
+                int fixes = 0;
+                for (int i = 0; i < winner; i++) fixes += starts[i + 1] - cursors[i];
+                getHelper().incrementFixes(fixes);
+                getHelper().incrementCopies(1);
+                result[k] = heads[winner];
+                final int cursor = ++cursors[winner];
+                heads[winner] = cursor < starts[winner + 1] ? sorted[cursor] : null;
+                for (int node = (winner + parts) >> 1; node > 0; node >>= 1)
+                    if (beats(heads, tree[node], winner)) {
+                        final int loser = winner;
+                        winner = tree[node];
+                        tree[node] = loser;
+                    }
+                tree[0] = winner;
+            }
+        else
+            for (int k = starts[0]; k < to; k++) {
+                int winner = tree[0];
+                result[k] = heads[winner];
+                final int cursor = ++cursors[winner];
+                X w = cursor < starts[winner + 1] ? sorted[cursor] : null;
+                heads[winner] = w;
+                for (int node = (winner + parts) >> 1; node > 0; node >>= 1) {
+                    final int other = tree[node];
+                    final X x = heads[other];
+                    if (x == null) continue;
+                    final int cf;
+                    if (w == null || (cf = x.compareTo(w)) < 0 || cf == 0 && other < winner) {
+                        tree[node] = winner;
+                        winner = other;
+                        w = x;
+                    }
+                }
+                tree[0] = winner;
+            }
+    }
+
+    /**
+     * Play the matches of the subtree rooted at node, recording the losers in tree.
+     *
+     * @return the winner of the subtree.
+     */
+    private int build(X[] heads, int[] tree, int node, int parts) {
+        if (node >= parts) return node - parts;
+        final int left = build(heads, tree, 2 * node, parts);
+        final int right = build(heads, tree, 2 * node + 1, parts);
+        if (beats(heads, left, right)) {
+            tree[node] = right;
+            return left;
+        }
+        tree[node] = left;
+        return right;
+    }
+
+    /**
+     * @return true if the current element of run i should be output before the current element of run j.
+     * An exhausted run never wins; ties are won by the earlier run (which makes the merge stable).
+     */
+    private boolean beats(X[] heads, int i, int j) {
+        final X x = heads[i], y = heads[j];
+        if (y == null) return true;
+        if (x == null) return false;
+        final int cf = instrumented ? getHelper().compare(x, y) : x.compareTo(y);
+        return cf < 0 || cf == 0 && i < j;
+    }
+
+    private static int getFanIn(Config config) {
+        final int k = config.getInt(MULTIWAYMERGESORT, K, 0);
+        if (k != 0) {
+            if (k < 2) throw new IllegalArgumentException("MultiwayMergeSort: k must be at least 2: " + k);
+            return k;
+        }
+        return fanIn(config.getLong(MULTIWAYMERGESORT, CACHESIZE, DEFAULT_CACHE_SIZE));
+    }
+
+    private static String getConfigString(Config config) {
+        StringBuilder stringBuilder = new StringBuilder();
+        stringBuilder.append(" with fan-in ").append(getFanIn(config));
+        if (config.getBoolean(MergeSort.MERGESORT, MergeSort.NOCOPY)) stringBuilder.append(" with no copy");
+        return stringBuilder.toString();
+    }
+
+    public static final String MULTIWAYMERGESORT = "multiwaymergesort";
+    public static final String K = "k";
+    public static final String CACHESIZE = "cachesize";
+
+    private static final long DEFAULT_CACHE_SIZE = 1L << 20;
+    private static final int PAGE_SIZE = 1 << 12;
+    private static final int MAX_FAN_IN = 256;
+
+    private final InsertionSort<X> insertionSort;
+    private boolean instrumented;
+}
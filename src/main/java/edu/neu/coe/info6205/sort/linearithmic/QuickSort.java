@@ -6,19 +6,23 @@ import edu.neu.coe.info6205.sort.elementary.InsertionSort;
 import edu.neu.coe.info6205.util.Config;
 import edu.neu.coe.info6205.util.LazyLogger;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 public abstract class QuickSort<X extends Comparable<X>> extends SortWithHelper<X> {
 
     public QuickSort(String description, int N, Config config) {
         super(description, N, config);
-        insertionSort = new InsertionSort<>(getHelper());
+        insertionSort = InsertionSort.createUnstable(getHelper());
     }
 
     public QuickSort(Helper<X> helper) {
         super(helper);
-        insertionSort = new InsertionSort<>(helper);
+        insertionSort = InsertionSort.createUnstable(helper);
     }
 
     /**
@@ -39,6 +43,32 @@ public abstract class QuickSort<X extends Comparable<X>> extends SortWithHelper<
         this.partitioner = partitioner;
     }
 
+    /**
+     * Method to make this quick sort parallel (or sequential again).
+     * When parallel, partitions of at least parallelThreshold elements are sorted as separate tasks on pool.
+     * The partitioner and terminator are used exactly as in the sequential sort.
+     * <p>
+     * NOTE: the counters of InstrumentedHelper are not thread-safe, so when the helper is instrumented,
+     * the sort runs entirely on the calling thread regardless.
+     *
+     * @param pool              the ForkJoinPool on which to run the sort (if null, the sort is sequential).
+     * @param parallelThreshold the minimum size of a partition which will be sorted as a separate task.
+     */
+    public void setParallel(ForkJoinPool pool, int parallelThreshold) {
+        if (parallelThreshold < 2) throw new IllegalArgumentException("parallelThreshold must be at least 2: " + parallelThreshold);
+        this.pool = pool;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Method to make this quick sort parallel with the default threshold.
+     *
+     * @param pool the ForkJoinPool on which to run the sort (if null, the sort is sequential).
+     */
+    public void setParallel(ForkJoinPool pool) {
+        setParallel(pool, DEFAULT_PARALLEL_THRESHOLD);
+    }
+
     /**
      * Method to sort.
      *
@@ -63,12 +93,101 @@ public abstract class QuickSort<X extends Comparable<X>> extends SortWithHelper<
      * @param depth the depth of the recursion.
      */
     public void sort(X[] xs, int from, int to, int depth) {
+        if (pool != null && to - from >= parallelThreshold && !getHelper().instrumented())
+            pool.invoke(new SortAction(xs, from, to, depth));
+        else sortSequential(xs, from, to, depth);
+    }
+
+    /**
+     * Sort the sub-array xs[from] ... xs[to-1] on the calling thread.
+     *
+     * @param xs    the complete array from which this sub-array derives.
+     * @param from  the index of the first element to sort.
+     * @param to    the index of the first element not to sort.
+     * @param depth the depth of the recursion.
+     */
+    private void sortSequential(X[] xs, int from, int to, int depth) {
+        if (partitioner instanceof BoundsPartitioner) {
+            sortWithStack(xs, from, to, depth, (BoundsPartitioner<X>) partitioner);
+            return;
+        }
         if (terminator(xs, from, to, depth)) return;
         getHelper().registerDepth(depth);
         Partition<X> partition = createPartition(xs, from, to);
         if (partitioner == null) throw new RuntimeException("partitioner not set");
         Collection<Partition<X>> partitions = partitioner.partition(partition);
-        partitions.forEach(p -> sort(p.xs, p.from, p.to, depth + 1));
+        partitions.forEach(p -> sortSequential(p.xs, p.from, p.to, depth + 1));
+    }
+
+    /**
+     * Sort the sub-array xs[from] ... xs[to-1] on the calling thread, without allocating any objects per partition.
+     * This is the iterative equivalent of sortSequential: the pending partitions are kept on an int stack
+     * as (from, to, depth) triples, and they are pushed in reverse order so that they are sorted in the same order
+     * (and therefore with exactly the same comparisons, swaps, etc.) as by sortSequential.
+     *
+     * @param xs          the complete array from which this sub-array derives.
+     * @param from        the index of the first element to sort.
+     * @param to          the index of the first element not to sort.
+     * @param depth       the depth of the recursion.
+     * @param partitioner the partitioner.
+     */
+    private void sortWithStack(X[] xs, int from, int to, int depth, BoundsPartitioner<X> partitioner) {
+        final Helper<X> helper = getHelper();
+        final int[] bounds = new int[2 * BoundsPartitioner.MAX_PARTITIONS];
+        int[] stack = new int[3 * INITIAL_STACK_DEPTH];
+        int top = 0;
+        stack[top++] = from;
+        stack[top++] = to;
+        stack[top++] = depth;
+        while (top > 0) {
+            final int d = stack[--top];
+            final int hi = stack[--top];
+            final int lo = stack[--top];
+            if (terminator(xs, lo, hi, d)) continue;
+            helper.registerDepth(d);
+            final int n = partitioner.partition(xs, lo, hi, bounds);
+            if (top + 3 * n > stack.length) stack = Arrays.copyOf(stack, 2 * stack.length);
+            for (int k = n - 1; k >= 0; k--) {
+                stack[top++] = bounds[2 * k];
+                stack[top++] = bounds[2 * k + 1];
+                stack[top++] = d + 1;
+            }
+        }
+    }
+
+    /**
+     * RecursiveAction which sorts the sub-array xs[from] ... xs[to-1] in the same manner as sortSequential,
+     * except that the partitions which are at least parallelThreshold in size are forked as separate tasks.
+     */
+    class SortAction extends RecursiveAction {
+
+        SortAction(X[] xs, int from, int to, int depth) {
+            this.xs = xs;
+            this.from = from;
+            this.to = to;
+            this.depth = depth;
+        }
+
+        @Override
+        protected void compute() {
+            if (terminator(xs, from, to, depth)) return;
+            getHelper().registerDepth(depth);
+            if (partitioner == null) throw new RuntimeException("partitioner not set");
+            final List<Partition<X>> partitions = partitioner.partition(createPartition(xs, from, to));
+            final List<SortAction> actions = new ArrayList<>();
+            for (Partition<X> p : partitions)
+                if (p.to - p.from >= parallelThreshold) actions.add(new SortAction(p.xs, p.from, p.to, depth + 1));
+            // NOTE the large partitions are forked before the small ones are sorted here, then they are joined.
+            for (SortAction action : actions) action.fork();
+            for (Partition<X> p : partitions)
+                if (p.to - p.from < parallelThreshold) sortSequential(p.xs, p.from, p.to, depth + 1);
+            for (SortAction action : actions) action.join();
+        }
+
+        private final X[] xs;
+        private final int from;
+        private final int to;
+        private final int depth;
     }
 
     /**
@@ -126,5 +245,11 @@ public abstract class QuickSort<X extends Comparable<X>> extends SortWithHelper<
 
     protected Partitioner<X> partitioner;
 
+    private ForkJoinPool pool = null;
+    private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+
+    private static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 13;
+    private static final int INITIAL_STACK_DEPTH = 64;
+
     final static LazyLogger logger = new LazyLogger(QuickSort.class);
 }
@@ -5,9 +5,6 @@ import edu.neu.coe.info6205.sort.Helper;
 import edu.neu.coe.info6205.sort.InstrumentedHelper;
 import edu.neu.coe.info6205.util.Config;
 
-import java.util.ArrayList;
-import java.util.List;
-
 public class QuickSort_3way<X extends Comparable<X>> extends QuickSort<X> {
 
     public static final String DESCRIPTION = "QuickSort 3 way";
@@ -53,19 +50,22 @@ public class QuickSort_3way<X extends Comparable<X>> extends QuickSort<X> {
         return new Partitioner_3Way(getHelper());
     }
 
-    class Partitioner_3Way implements Partitioner<X> {
+    class Partitioner_3Way implements BoundsPartitioner<X> {
 
         /**
-         * Method to partition the given partition into smaller partitions.
+         * Method to partition xs[from...to) into two partitions: those less than the pivot and those greater than it
+         * (the elements equal to the pivot are in their final positions).
          *
-         * @param partition the partition to divide up.
-         * @return an array of partitions, whose length depends on the sorting method being used.
+         * @param xs     the array.
+         * @param from   the index of the first element to partition.
+         * @param to     the index of the first element NOT to partition.
+         * @param bounds the array into which the bounds of the two partitions are written.
+         * @return 2.
          */
-        public List<Partition<X>> partition(Partition<X> partition) {
+        public int partition(X[] xs, int from, int to, int[] bounds) {
             // CONSIDER merge with Partitioner_DualPivot
-            X[] xs = partition.xs;
-            int lt = partition.from;
-            int gt = partition.to - 1;
+            int lt = from;
+            int gt = to - 1;
             helper.swapConditional(xs, lt, gt);
             X v = xs[lt];
             int i = lt + 1;
@@ -86,10 +86,11 @@ public class QuickSort_3way<X extends Comparable<X>> extends QuickSort<X> {
                     else i++;
                 }
 
-            List<Partition<X>> partitions = new ArrayList<>();
-            partitions.add(new Partition<>(xs, partition.from, lt));
-            partitions.add(new Partition<>(xs, gt + 1, partition.to));
-            return partitions;
+            bounds[0] = from;
+            bounds[1] = lt;
+            bounds[2] = gt + 1;
+            bounds[3] = to;
+            return 2;
         }
 
         public Partitioner_3Way(Helper<X> helper) {
@@ -97,12 +98,9 @@ public class QuickSort_3way<X extends Comparable<X>> extends QuickSort<X> {
         }
 
         private void swap(X[] ys, int i, int j) {
-            if (helper != null) helper.swap(ys, i, j);
-            else {
-                X temp = ys[i];
-                ys[i] = ys[j];
-                ys[j] = temp;
-            }
+            X temp = ys[i];
+            ys[i] = ys[j];
+            ys[j] = temp;
         }
 
         private final Helper<X> helper;
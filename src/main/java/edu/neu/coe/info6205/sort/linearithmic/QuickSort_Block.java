@@ -0,0 +1,161 @@
+package edu.neu.coe.info6205.sort.linearithmic;
+
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.util.Config;
+
+/**
+ * QuickSort with block partitioning, as in BlockQuicksort (Edelkamp and Weiß, 2016).
+ * <p>
+ * Rather than swapping each misplaced element as soon as it is found (which requires a hard-to-predict branch
+ * for every comparison), the partitioner scans a block of BLOCK elements from each end, recording the offsets of
+ * the misplaced elements in a buffer without branching (the offset is always written; the count is incremented
+ * by the result of the comparison). The misplaced elements of the two blocks are then swapped in pairs.
+ * The elements left over when fewer than two full blocks remain are partitioned in the usual (Hoare) manner.
+ * <p>
+ * The pivot is the median of the first, middle and last elements.
+ * Elements equal to the pivot may end up on either side (as with Hoare partitioning), so many duplicates are handled well.
+ * <p>
+ * NOTE: the branch-free scan benefits most when comparisons are cheap (e.g. Integer);
+ * for types such as String, the cost of compareTo itself tends to dominate.
+ *
+ * @param <X> the underlying comparable type.
+ */
+public class QuickSort_Block<X extends Comparable<X>> extends QuickSort<X> {
+
+    public static final String DESCRIPTION = "QuickSort block";
+
+    public QuickSort_Block(String description, int N, Config config) {
+        super(description, N, config);
+        setPartitioner(createPartitioner());
+    }
+
+    /**
+     * Constructor for QuickSort_Block
+     *
+     * @param helper an explicit instance of Helper to be used.
+     */
+    public QuickSort_Block(Helper<X> helper) {
+        super(helper);
+        setPartitioner(createPartitioner());
+    }
+
+    /**
+     * Constructor for QuickSort_Block
+     *
+     * @param N      the number elements we expect to sort.
+     * @param config the configuration.
+     */
+    public QuickSort_Block(int N, Config config) {
+        this(DESCRIPTION, N, config);
+    }
+
+    @Override
+    public Partitioner<X> createPartitioner() {
+        return new Partitioner_Block(getHelper());
+    }
+
+    public class Partitioner_Block implements BoundsPartitioner<X> {
+
+        public Partitioner_Block(Helper<X> helper) {
+            this.helper = helper;
+            this.instrumented = helper.instrumented();
+        }
+
+        /**
+         * Method to partition xs[from...to) into two partitions: those not greater than the pivot
+         * and those not less than the pivot (the pivot itself is in its final position).
+         *
+         * @param xs     the array.
+         * @param from   the index of the first element to partition.
+         * @param to     the index of the first element NOT to partition.
+         * @param bounds the array into which the bounds of the two partitions are written.
+         * @return 2 (or 0 if there are fewer than three elements, which are then simply sorted).
+         */
+        public int partition(X[] xs, int from, int to, int[] bounds) {
+            final int hi = to - 1;
+            if (to - from < 3) {
+                if (hi > from) helper.swapConditional(xs, from, hi);
+                return 0;
+            }
+            // Median of three: the median is moved to xs[from].
+            final int mid = (from + hi) >>> 1;
+            helper.swapConditional(xs, from, mid);
+            helper.swapConditional(xs, mid, hi);
+            helper.swapConditional(xs, from, mid);
+            swap(xs, from, mid);
+            final X v = xs[from];
+            // NOTE the offset buffers belong to the current thread so that this partitioner may be used by a parallel sort.
+            final int[][] offsets = threadOffsets.get();
+            final int[] offsetsL = offsets[0], offsetsR = offsets[1];
+            int l = from + 1, r = hi;
+            int numL = 0, numR = 0, startL = 0, startR = 0;
+            // Invariant: xs[from+1...l) are not greater than v and xs(r...hi] are not less than v.
+            while (r - l + 1 >= 2 * BLOCK) {
+                if (numL == 0) {
+                    startL = 0;
+                    for (int i = 0; i < BLOCK; i++) {
+                        offsetsL[numL] = i;
+                        numL += notLess(xs[l + i], v);
+                    }
+                }
+                if (numR == 0) {
+                    startR = 0;
+                    for (int i = 0; i < BLOCK; i++) {
+                        offsetsR[numR] = i;
+                        numR += notLess(v, xs[r - i]);
+                    }
+                }
+                final int num = Math.min(numL, numR);
+                for (int j = 0; j < num; j++) swap(xs, l + offsetsL[startL + j], r - offsetsR[startR + j]);
+                numL -= num;
+                numR -= num;
+                startL += num;
+                startR += num;
+                if (numL == 0) l += BLOCK;
+                if (numR == 0) r -= BLOCK;
+            }
+            // Hoare partitioning of what remains: the scans cannot run beyond xs[from] or xs(r...hi], which act as sentinels.
+            int i = l - 1, j = r + 1;
+            while (true) {
+                while (i < hi && notLess(xs[++i], v) == 0) {
+                }
+                while (notLess(v, xs[--j]) == 0) {
+                }
+                if (i >= j) break;
+                swap(xs, i, j);
+            }
+            swap(xs, from, j);
+            bounds[0] = from;
+            bounds[1] = j;
+            bounds[2] = j + 1;
+            bounds[3] = to;
+            return 2;
+        }
+
+        /**
+         * @return 1 if x is not less than y, otherwise 0.
+         */
+        private int notLess(X x, X y) {
+            if (instrumented) return helper.compare(x, y) >= 0 ? 1 : 0;
+            return x.compareTo(y) >= 0 ? 1 : 0;
+        }
+
+        private void swap(X[] ys, int i, int j) {
+            if (instrumented) helper.swap(ys, i, j);
+            else {
+                X temp = ys[i];
+                ys[i] = ys[j];
+                ys[j] = temp;
+            }
+        }
+
+        private final Helper<X> helper;
+        private final boolean instrumented;
+        private final ThreadLocal<int[][]> threadOffsets = ThreadLocal.withInitial(() -> new int[2][BLOCK]);
+    }
+
+    /**
+     * The number of elements in each block.
+     */
+    static final int BLOCK = 128;
+}
@@ -3,9 +3,6 @@ package edu.neu.coe.info6205.sort.linearithmic;
 import edu.neu.coe.info6205.sort.Helper;
 import edu.neu.coe.info6205.util.Config;
 
-import java.util.ArrayList;
-import java.util.List;
-
 public class QuickSort_DualPivot<X extends Comparable<X>> extends QuickSort<X> {
 
     public static final String DESCRIPTION = "QuickSort dual pivot";
@@ -40,22 +37,25 @@ public class QuickSort_DualPivot<X extends Comparable<X>> extends QuickSort<X> {
         return new Partitioner_DualPivot(getHelper());
     }
 
-    public class Partitioner_DualPivot implements Partitioner<X> {
+    public class Partitioner_DualPivot implements BoundsPartitioner<X> {
 
         public Partitioner_DualPivot(Helper<X> helper) {
             this.helper = helper;
         }
 
         /**
-         * Method to partition the given partition into smaller partitions.
+         * Method to partition xs[from...to) into three partitions: those less than the lower pivot,
+         * those between the pivots, and those greater than the upper pivot.
          *
-         * @param partition the partition to divide up.
-         * @return an array of partitions, whose length depends on the sorting method being used.
+         * @param xs     the array.
+         * @param from   the index of the first element to partition.
+         * @param to     the index of the first element NOT to partition.
+         * @param bounds the array into which the bounds of the three partitions are written.
+         * @return 3.
          */
-        public List<Partition<X>> partition(Partition<X> partition) {
-            final X[] xs = partition.xs;
-            final int lo = partition.from;
-            final int hi = partition.to - 1;
+        public int partition(X[] xs, int from, int to, int[] bounds) {
+            final int lo = from;
+            final int hi = to - 1;
             helper.swapConditional(xs, lo, hi);
             int lt = lo + 1;
             int gt = hi - 1;
@@ -84,11 +84,13 @@ public class QuickSort_DualPivot<X extends Comparable<X>> extends QuickSort<X> {
                 swap(xs, hi, ++gt);
             }
 
-            List<Partition<X>> partitions = new ArrayList<>();
-            partitions.add(new Partition<>(xs, lo, lt));
-            partitions.add(new Partition<>(xs, lt + 1, gt));
-            partitions.add(new Partition<>(xs, gt + 1, hi + 1));
-            return partitions;
+            bounds[0] = lo;
+            bounds[1] = lt;
+            bounds[2] = lt + 1;
+            bounds[3] = gt;
+            bounds[4] = gt + 1;
+            bounds[5] = hi + 1;
+            return 3;
         }
 
         // CONSIDER invoke swap in BaseHelper.
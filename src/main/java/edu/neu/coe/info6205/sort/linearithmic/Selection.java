@@ -0,0 +1,179 @@
+package edu.neu.coe.info6205.sort.linearithmic;
+
+import edu.neu.coe.info6205.pq.PQException;
+import edu.neu.coe.info6205.pq.PriorityQueue;
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.SortException;
+import edu.neu.coe.info6205.sort.elementary.InsertionSort;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Selection (order statistics) for when we need only some of the elements in order, rather than all of them.
+ * <p>
+ * select(xs, k) is introselect: like quicksort, it partitions (using the 3-way partitioner of QuickSort_3way,
+ * with the median of three as pivot), but it continues only with the partition which contains index k.
+ * If that takes too many partitions (more than 2 lg n), it switches to the median of medians as pivot,
+ * which guarantees linear time in the worst case.
+ * partialSort(xs, k) selects, then sorts only the first k elements.
+ * topK(ys, k) does not need an array at all: it streams the elements through a bounded pq.PriorityQueue.
+ *
+ * @param <X> the underlying comparable type.
+ */
+public class Selection<X extends Comparable<X>> {
+
+    /**
+     * Constructor for Selection
+     *
+     * @param helper an explicit instance of Helper to be used (compares and swaps are counted if it is instrumented).
+     */
+    @SuppressWarnings("unchecked")
+    public Selection(Helper<X> helper) {
+        this.helper = helper;
+        partitioner = (BoundsPartitioner<X>) new QuickSort_3way<>(helper).createPartitioner();
+        insertionSort = InsertionSort.createUnstable(helper);
+    }
+
+    /**
+     * Rearrange xs such that xs[k] is the element which would be at index k if xs were sorted,
+     * every element before it is no greater, and every element after it is no less (nth_element in C++).
+     *
+     * @param xs the array.
+     * @param k  the index (rank) of the element to be selected.
+     * @return the element of rank k.
+     */
+    public X select(X[] xs, int k) {
+        return select(xs, 0, xs.length, k);
+    }
+
+    /**
+     * Rearrange xs[from...to) as for select(xs, k), where from <= k < to.
+     *
+     * @param xs   the array.
+     * @param from the index of the first element to consider.
+     * @param to   the index of the first element NOT to consider.
+     * @param k    the index of the element to be selected.
+     * @return the element which belongs at index k.
+     */
+    public X select(X[] xs, int from, int to, int k) {
+        if (k < from || k >= to) throw new SortException("Selection.select: k is out of range: " + k);
+        instrumented = helper.instrumented();
+        final int[] bounds = new int[2 * BoundsPartitioner.MAX_PARTITIONS];
+        int depthLimit = 2 * IntroSort.floor_lg(to - from);
+        while (to - from > Math.max(helper.cutoff(), MIN_PARTITION)) {
+            if (depthLimit-- > 0) medianOf3(xs, from, to);
+            else medianOfMedians(xs, from, to);
+            partitioner.partition(xs, from, to, bounds);
+            // NOTE bounds[1]...bounds[2] are the elements equal to the pivot, which are already in place.
+            if (k < bounds[1]) to = bounds[1];
+            else if (k >= bounds[2]) from = bounds[2];
+            else return xs[k];
+        }
+        insertionSort.sort(xs, from, to);
+        return xs[k];
+    }
+
+    /**
+     * Rearrange xs such that xs[0...k) are the k smallest elements, in order.
+     * The order of the remaining elements is undefined.
+     *
+     * @param xs the array.
+     * @param k  the number of elements to be sorted.
+     * @return xs.
+     */
+    public X[] partialSort(X[] xs, int k) {
+        if (k <= 0) return xs;
+        final IntroSort<X> sorter = new IntroSort_PatternDefeating<>(helper);
+        if (k >= xs.length) sorter.sort(xs, 0, xs.length, 0);
+        else {
+            select(xs, 0, xs.length, k - 1);
+            // NOTE xs[k-1] is now in place, so we only need to sort what's before it.
+            sorter.sort(xs, 0, k - 1, 0);
+        }
+        return xs;
+    }
+
+    /**
+     * Method to find the k largest elements of ys, which may be arbitrarily many, in a single pass,
+     * keeping only k elements in memory (in a min-oriented PriorityQueue).
+     *
+     * @param ys  the elements.
+     * @param k   the number of elements required.
+     * @param <Y> the underlying comparable type.
+     * @return the k largest elements (or all of them, if there are fewer than k) in descending order.
+     */
+    public static <Y extends Comparable<Y>> List<Y> topK(Iterable<Y> ys, int k) {
+        final List<Y> result = new ArrayList<>(Math.max(k, 0));
+        if (k <= 0) return result;
+        final PriorityQueue<Y> pq = new PriorityQueue<>(k, false, Comparator.<Y>naturalOrder(), true);
+        try {
+            for (Y y : ys)
+                if (pq.size() < k) pq.give(y);
+                else if (y.compareTo(pq.root()) > 0) {
+                    pq.take();
+                    pq.give(y);
+                }
+            while (!pq.isEmpty()) result.add(pq.take());
+        } catch (PQException e) {
+            throw new SortException("Selection.topK: logic error: " + e.getLocalizedMessage());
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    /**
+     * Arrange xs[from], xs[mid] and xs[to-1] so that the median of the three is at from and the largest at to-1
+     * (which is where the partitioner expects its pivot).
+     */
+    private void medianOf3(X[] xs, int from, int to) {
+        final int mid = from + (to - from) / 2;
+        helper.swapConditional(xs, from, mid);
+        helper.swapConditional(xs, mid, to - 1);
+        helper.swapConditional(xs, from, mid);
+        swap(xs, from, mid);
+    }
+
+    /**
+     * Arrange xs[from...to) so that the median of the medians of groups of five is at from and the largest at to-1.
+     * The pivot is then greater than (and less than) at least 3/10 of the elements.
+     */
+    private void medianOfMedians(X[] xs, int from, int to) {
+        final int groups = (to - from) / 5;
+        for (int g = 0; g < groups; g++) {
+            final int lo = from + 5 * g;
+            insertionSort.sort(xs, lo, lo + 5);
+            swap(xs, from + g, lo + 2);
+        }
+        final int median = from + groups / 2;
+        select(xs, from, from + groups, median);
+        swap(xs, from, median);
+        int largest = from + 1;
+        for (int i = from + 2; i < to; i++) if (less(xs[largest], xs[i])) largest = i;
+        swap(xs, largest, to - 1);
+    }
+
+    private boolean less(X v, X w) {
+        return instrumented ? helper.less(v, w) : v.compareTo(w) < 0;
+    }
+
+    private void swap(X[] xs, int i, int j) {
+        if (i == j) return;
+        if (instrumented) helper.swap(xs, i, j);
+        else {
+            final X temp = xs[i];
+            xs[i] = xs[j];
+            xs[j] = temp;
+        }
+    }
+
+    // NOTE the median of medians needs at least two groups of five.
+    private static final int MIN_PARTITION = 10;
+
+    private final Helper<X> helper;
+    private final BoundsPartitioner<X> partitioner;
+    private final InsertionSort<X> insertionSort;
+    private boolean instrumented;
+}
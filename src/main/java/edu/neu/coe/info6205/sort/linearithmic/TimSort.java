@@ -9,12 +9,28 @@ import edu.neu.coe.info6205.sort.SortWithHelper;
 import edu.neu.coe.info6205.util.Config;
 
 import java.io.IOException;
-import java.util.Arrays;
+import java.lang.reflect.Array;
 
 /**
- * Sorter which delegates to Timsort via Arrays.sort.
+ * Timsort, implemented (after Tim Peters' listsort and java.util.ComparableTimSort) within the SortWithHelper framework,
+ * so that it can be instrumented and tuned.
+ * <p>
+ * The array is divided into natural runs (strictly descending runs are reversed);
+ * short runs are extended to minRun elements by binary insertion sort.
+ * The runs are kept on a stack and merged so that the stack invariants hold (runs of similar length are merged).
+ * When one run "wins" more than minGallop times in a row during a merge, the merge switches to galloping mode
+ * (exponential then binary search) and copies whole blocks; minGallop adapts according to how well galloping pays off.
+ * <p>
+ * Two options may be set in the [timsort] section of the configuration:
+ * <ul>
+ *     <li>gallop: the initial value of minGallop (default 7);</li>
+ *     <li>minmerge: arrays shorter than this are sorted by binary insertion sort alone,
+ *     and minRun is chosen between minmerge/2 and minmerge (default 32).</li>
+ * </ul>
+ * The temporary array used by merges belongs to this sorter and is reused by subsequent sorts.
+ * NOTE that, like its Helper, an instance of TimSort must not be used by more than one thread at a time.
  *
- * @param <X>
+ * @param <X> the underlying comparable type.
  */
 public class TimSort<X extends Comparable<X>> extends SortWithHelper<X> {
 
@@ -42,9 +58,477 @@ public class TimSort<X extends Comparable<X>> extends SortWithHelper<X> {
     }
 
     public void sort(X[] xs, int from, int to) {
-        Arrays.sort(xs, from, to);
+        final Helper<X> helper = getHelper();
+        // NOTE the configuration is read once per sort.
+        final Config config = helper.getConfig();
+        instrumented = helper.instrumented();
+        gallop = config.getInt(TIMSORT, GALLOP, DEFAULT_GALLOP);
+        minMerge = config.getInt(TIMSORT, MINMERGE, DEFAULT_MINMERGE);
+        if (minMerge < 2) throw new IllegalArgumentException("TimSort: minmerge must be at least 2: " + minMerge);
+        minGallop = gallop;
+        int n = to - from;
+        if (n < 2) return;
+
+        if (n < minMerge) {
+            binarySort(xs, from, to, from + countRunAndMakeAscending(xs, from, to));
+            return;
+        }
+
+        a = xs;
+        stackSize = 0;
+        final int minRun = minRunLength(n);
+        int lo = from;
+        do {
+            int runLen = countRunAndMakeAscending(xs, lo, to);
+            if (runLen < minRun) {
+                final int force = Math.min(n, minRun);
+                binarySort(xs, lo, lo + force, lo + runLen);
+                runLen = force;
+            }
+            pushRun(lo, runLen);
+            mergeCollapse();
+            lo += runLen;
+            n -= runLen;
+        } while (n != 0);
+        mergeForceCollapse();
+        // NOTE we don't keep a reference to the array which has been sorted (but we do keep tmp).
+        a = null;
+    }
+
+    /**
+     * @return the current value of minGallop, which adapts during (and carries over between) merges.
+     */
+    public int getMinGallop() {
+        return minGallop;
+    }
+
+    /**
+     * Sort a[lo...hi) by binary insertion, given that a[lo...start) is already sorted.
+     */
+    private void binarySort(X[] a, int lo, int hi, int start) {
+        if (start == lo) start++;
+        for (; start < hi; start++) {
+            final X pivot = a[start];
+            int left = lo, right = start;
+            while (left < right) {
+                final int mid = (left + right) >>> 1;
+                if (compare(pivot, a[mid]) < 0) right = mid;
+                else left = mid + 1;
+            }
+            final int n = start - left;
+            System.arraycopy(a, left, a, left + 1, n);
+            a[left] = pivot;
+            if (instrumented) {
+                getHelper().incrementCopies(n + 1);
+                getHelper().incrementFixes(n);
+            }
+        }
+    }
+
+    /**
+     * Find the length of the run beginning at a[lo], reversing it if it is strictly descending.
+     *
+     * @return the length of the run.
+     */
+    private int countRunAndMakeAscending(X[] a, int lo, int hi) {
+        int runHi = lo + 1;
+        if (runHi == hi) return 1;
+        if (compare(a[runHi++], a[lo]) < 0) {
+            while (runHi < hi && compare(a[runHi], a[runHi - 1]) < 0) runHi++;
+            reverseRange(a, lo, runHi);
+        } else
+            while (runHi < hi && compare(a[runHi], a[runHi - 1]) >= 0) runHi++;
+        return runHi - lo;
+    }
+
+    private void reverseRange(X[] a, int lo, int hi) {
+        hi--;
+        while (lo < hi) swap(a, lo++, hi--);
+    }
+
+    /**
+     * @return the minimum run length for an array of length n:
+     * n itself if n is less than minMerge, otherwise a value k between minMerge/2 and minMerge
+     * such that n/k is (close to) a power of two.
+     */
+    private int minRunLength(int n) {
+        int r = 0;
+        while (n >= minMerge) {
+            r |= (n & 1);
+            n >>= 1;
+        }
+        return n + r;
+    }
+
+    private void pushRun(int base, int len) {
+        runBase[stackSize] = base;
+        runLen[stackSize] = len;
+        stackSize++;
+    }
+
+    /**
+     * Merge adjacent runs until the stack invariants are re-established:
+     * runLen[i - 3] > runLen[i - 2] + runLen[i - 1] and runLen[i - 2] > runLen[i - 1].
+     */
+    private void mergeCollapse() {
+        while (stackSize > 1) {
+            int n = stackSize - 2;
+            if (n > 0 && runLen[n - 1] <= runLen[n] + runLen[n + 1] || n > 1 && runLen[n - 2] <= runLen[n] + runLen[n - 1]) {
+                if (runLen[n - 1] < runLen[n + 1]) n--;
+            } else if (runLen[n] > runLen[n + 1]) break;
+            mergeAt(n);
+        }
+    }
+
+    private void mergeForceCollapse() {
+        while (stackSize > 1) {
+            int n = stackSize - 2;
+            if (n > 0 && runLen[n - 1] < runLen[n + 1]) n--;
+            mergeAt(n);
+        }
+    }
+
+    /**
+     * Merge the runs at stack indices i and i+1.
+     */
+    private void mergeAt(int i) {
+        int base1 = runBase[i];
+        int len1 = runLen[i];
+        final int base2 = runBase[i + 1];
+        int len2 = runLen[i + 1];
+        runLen[i] = len1 + len2;
+        if (i == stackSize - 3) {
+            runBase[i + 1] = runBase[i + 2];
+            runLen[i + 1] = runLen[i + 2];
+        }
+        stackSize--;
+
+        // Elements of run1 which precede the first element of run2 are already in place.
+        final int k = gallopRight(a[base2], a, base1, len1, 0);
+        base1 += k;
+        len1 -= k;
+        if (len1 == 0) return;
+        // Elements of run2 which follow the last element of run1 are already in place.
+        len2 = gallopLeft(a[base1 + len1 - 1], a, base2, len2, len2 - 1);
+        if (len2 == 0) return;
+
+        if (len1 <= len2) mergeLo(base1, len1, base2, len2);
+        else mergeHi(base1, len1, base2, len2);
+    }
+
+    /**
+     * Locate the position at which to insert key into the sorted range a[base...base+len):
+     * if there are elements equal to key, the position of the leftmost.
+     *
+     * @param hint the index (relative to base) at which to begin the search.
+     * @return k such that a[base+k-1] < key <= a[base+k].
+     */
+    private int gallopLeft(X key, X[] a, int base, int len, int hint) {
+        int lastOfs = 0;
+        int ofs = 1;
+        if (compare(key, a[base + hint]) > 0) {
+            final int maxOfs = len - hint;
+            while (ofs < maxOfs && compare(key, a[base + hint + ofs]) > 0) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) ofs = maxOfs;
+            }
+            if (ofs > maxOfs) ofs = maxOfs;
+            lastOfs += hint;
+            ofs += hint;
+        } else {
+            final int maxOfs = hint + 1;
+            while (ofs < maxOfs && compare(key, a[base + hint - ofs]) <= 0) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) ofs = maxOfs;
+            }
+            if (ofs > maxOfs) ofs = maxOfs;
+            final int tmp = lastOfs;
+            lastOfs = hint - ofs;
+            ofs = hint - tmp;
+        }
+        lastOfs++;
+        while (lastOfs < ofs) {
+            final int m = lastOfs + ((ofs - lastOfs) >>> 1);
+            if (compare(key, a[base + m]) > 0) lastOfs = m + 1;
+            else ofs = m;
+        }
+        return ofs;
+    }
+
+    /**
+     * Like gallopLeft, except that if there are elements equal to key, the position after the rightmost is returned.
+     *
+     * @return k such that a[base+k-1] <= key < a[base+k].
+     */
+    private int gallopRight(X key, X[] a, int base, int len, int hint) {
+        int ofs = 1;
+        int lastOfs = 0;
+        if (compare(key, a[base + hint]) < 0) {
+            final int maxOfs = hint + 1;
+            while (ofs < maxOfs && compare(key, a[base + hint - ofs]) < 0) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) ofs = maxOfs;
+            }
+            if (ofs > maxOfs) ofs = maxOfs;
+            final int tmp = lastOfs;
+            lastOfs = hint - ofs;
+            ofs = hint - tmp;
+        } else {
+            final int maxOfs = len - hint;
+            while (ofs < maxOfs && compare(key, a[base + hint + ofs]) >= 0) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) ofs = maxOfs;
+            }
+            if (ofs > maxOfs) ofs = maxOfs;
+            lastOfs += hint;
+            ofs += hint;
+        }
+        lastOfs++;
+        while (lastOfs < ofs) {
+            final int m = lastOfs + ((ofs - lastOfs) >>> 1);
+            if (compare(key, a[base + m]) < 0) ofs = m;
+            else lastOfs = m + 1;
+        }
+        return ofs;
+    }
+
+    /**
+     * Merge two adjacent runs in place, from the left, where len1 <= len2.
+     * Run1 is copied to tmp. The first element of run1 is greater than the first element of run2
+     * and the last element of run1 is greater than all elements of run2.
+     */
+    private void mergeLo(int base1, int len1, int base2, int len2) {
+        final X[] a = this.a;
+        final X[] tmp = ensureCapacity(len1);
+        int cursor1 = 0;
+        int cursor2 = base2;
+        int dest = base1;
+        System.arraycopy(a, base1, tmp, cursor1, len1);
+        // NOTE every element of both runs is written exactly once, and run1 is also copied to tmp.
+        if (instrumented) getHelper().incrementCopies(2 * len1 + len2);
+
+        fixes(len1);
+        a[dest++] = a[cursor2++];
+        if (--len2 == 0) {
+            System.arraycopy(tmp, cursor1, a, dest, len1);
+            return;
+        }
+        if (len1 == 1) {
+            fixes(len2);
+            System.arraycopy(a, cursor2, a, dest, len2);
+            a[dest + len2] = tmp[cursor1];
+            return;
+        }
+
+        int minGallop = this.minGallop;
+        outer:
+        while (true) {
+            int count1 = 0; // the number of times in a row that run1 has won
+            int count2 = 0; // the number of times in a row that run2 has won
+            do {
+                if (compare(a[cursor2], tmp[cursor1]) < 0) {
+                    fixes(len1);
+                    a[dest++] = a[cursor2++];
+                    count2++;
+                    count1 = 0;
+                    if (--len2 == 0) break outer;
+                } else {
+                    a[dest++] = tmp[cursor1++];
+                    count1++;
+                    count2 = 0;
+                    if (--len1 == 1) break outer;
+                }
+            } while ((count1 | count2) < minGallop);
+
+            // One run is winning consistently, so gallop until neither run is winning consistently.
+            do {
+                count1 = gallopRight(a[cursor2], tmp, cursor1, len1, 0);
+                if (count1 != 0) {
+                    System.arraycopy(tmp, cursor1, a, dest, count1);
+                    dest += count1;
+                    cursor1 += count1;
+                    len1 -= count1;
+                    if (len1 <= 1) break outer;
+                }
+                fixes(len1);
+                a[dest++] = a[cursor2++];
+                if (--len2 == 0) break outer;
+
+                count2 = gallopLeft(tmp[cursor1], a, cursor2, len2, 0);
+                if (count2 != 0) {
+                    fixes(count2 * len1);
+                    System.arraycopy(a, cursor2, a, dest, count2);
+                    dest += count2;
+                    cursor2 += count2;
+                    len2 -= count2;
+                    if (len2 == 0) break outer;
+                }
+                a[dest++] = tmp[cursor1++];
+                if (--len1 == 1) break outer;
+                minGallop--;
+            } while (count1 >= gallop | count2 >= gallop);
+            if (minGallop < 0) minGallop = 0;
+            minGallop += 2; // penalize leaving galloping mode
+        }
+        this.minGallop = Math.max(minGallop, 1);
+
+        if (len1 == 1) {
+            fixes(len2);
+            System.arraycopy(a, cursor2, a, dest, len2);
+            a[dest + len2] = tmp[cursor1];
+        } else if (len1 == 0)
+            throw new IllegalArgumentException("Comparison method violates its general contract");
+        else System.arraycopy(tmp, cursor1, a, dest, len1);
+    }
+
+    /**
+     * Like mergeLo, except that it merges from the right, and is used when len1 >= len2 (run2 is copied to tmp).
+     */
+    private void mergeHi(int base1, int len1, int base2, int len2) {
+        final X[] a = this.a;
+        final X[] tmp = ensureCapacity(len2);
+        System.arraycopy(a, base2, tmp, 0, len2);
+        if (instrumented) getHelper().incrementCopies(2 * len2 + len1);
+
+        int cursor1 = base1 + len1 - 1;
+        int cursor2 = len2 - 1;
+        int dest = base2 + len2 - 1;
+
+        fixes(len2);
+        a[dest--] = a[cursor1--];
+        if (--len1 == 0) {
+            System.arraycopy(tmp, 0, a, dest - (len2 - 1), len2);
+            return;
+        }
+        if (len2 == 1) {
+            fixes(len1);
+            dest -= len1;
+            cursor1 -= len1;
+            System.arraycopy(a, cursor1 + 1, a, dest + 1, len1);
+            a[dest] = tmp[cursor2];
+            return;
+        }
+
+        int minGallop = this.minGallop;
+        outer:
+        while (true) {
+            int count1 = 0; // the number of times in a row that run1 has won
+            int count2 = 0; // the number of times in a row that run2 has won
+            do {
+                if (compare(tmp[cursor2], a[cursor1]) < 0) {
+                    fixes(len2);
+                    a[dest--] = a[cursor1--];
+                    count1++;
+                    count2 = 0;
+                    if (--len1 == 0) break outer;
+                } else {
+                    a[dest--] = tmp[cursor2--];
+                    count2++;
+                    count1 = 0;
+                    if (--len2 == 1) break outer;
+                }
+            } while ((count1 | count2) < minGallop);
+
+            // One run is winning consistently, so gallop until neither run is winning consistently.
+            do {
+                count1 = len1 - gallopRight(tmp[cursor2], a, base1, len1, len1 - 1);
+                if (count1 != 0) {
+                    fixes(count1 * len2);
+                    dest -= count1;
+                    cursor1 -= count1;
+                    len1 -= count1;
+                    System.arraycopy(a, cursor1 + 1, a, dest + 1, count1);
+                    if (len1 == 0) break outer;
+                }
+                a[dest--] = tmp[cursor2--];
+                if (--len2 == 1) break outer;
+
+                count2 = len2 - gallopLeft(a[cursor1], tmp, 0, len2, len2 - 1);
+                if (count2 != 0) {
+                    dest -= count2;
+                    cursor2 -= count2;
+                    len2 -= count2;
+                    System.arraycopy(tmp, cursor2 + 1, a, dest + 1, count2);
+                    if (len2 <= 1) break outer;
+                }
+                fixes(len2);
+                a[dest--] = a[cursor1--];
+                if (--len1 == 0) break outer;
+                minGallop--;
+            } while (count1 >= gallop | count2 >= gallop);
+            if (minGallop < 0) minGallop = 0;
+            minGallop += 2; // penalize leaving galloping mode
+        }
+        this.minGallop = Math.max(minGallop, 1);
+
+        if (len2 == 1) {
+            fixes(len1);
+            dest -= len1;
+            cursor1 -= len1;
+            System.arraycopy(a, cursor1 + 1, a, dest + 1, len1);
+            a[dest] = tmp[cursor2];
+        } else if (len2 == 0)
+            throw new IllegalArgumentException("Comparison method violates its general contract");
+        else System.arraycopy(tmp, 0, a, dest - (len2 - 1), len2);
+    }
+
+    /**
+     * Ensure that tmp has at least minCapacity elements, growing it (by powers of two) if necessary.
+     * Once allocated, tmp is reused by subsequent merges and sorts.
+     *
+     * @return tmp.
+     */
+    @SuppressWarnings("unchecked")
+    private X[] ensureCapacity(int minCapacity) {
+        if (tmp == null || tmp.length < minCapacity || tmp.getClass() != a.getClass()) {
+            int newSize = Integer.highestOneBit(minCapacity);
+            if (newSize < minCapacity) newSize <<= 1;
+            // NOTE a merge never needs more than half the array.
+            newSize = Math.max(minCapacity, Math.min(newSize, a.length >>> 1));
+            tmp = (X[]) Array.newInstance(a.getClass().getComponentType(), newSize);
+        }
+        return tmp;
+    }
+
+    private int compare(X v, X w) {
+        return instrumented ? getHelper().compare(v, w) : v.compareTo(w);
+    }
+
+    private void swap(X[] xs, int i, int j) {
+        if (instrumented) getHelper().swap(xs, i, j);
+        else {
+            X temp = xs[i];
+            xs[i] = xs[j];
+            xs[j] = temp;
+        }
+    }
+
+    private void fixes(int n) {
+        if (instrumented) getHelper().incrementFixes(n);
     }
 
     public static final String DESCRIPTION = "Timsort";
-}
 
+    public static final String TIMSORT = "timsort";
+    public static final String GALLOP = "gallop";
+    public static final String MINMERGE = "minmerge";
+
+    private static final int DEFAULT_GALLOP = 7;
+    private static final int DEFAULT_MINMERGE = 32;
+    // NOTE this is enough for any array, given the stack invariants (runs grow at least as fast as Fibonacci numbers).
+    private static final int MAX_STACK = 49;
+
+    private final int[] runBase = new int[MAX_STACK];
+    private final int[] runLen = new int[MAX_STACK];
+    private int stackSize;
+    private X[] a;
+    private X[] tmp;
+    private boolean instrumented;
+    private int gallop = DEFAULT_GALLOP;
+    private int minGallop = DEFAULT_GALLOP;
+    private int minMerge = DEFAULT_MINMERGE;
+}
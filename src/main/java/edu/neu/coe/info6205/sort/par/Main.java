@@ -5,89 +5,56 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.ForkJoinPool;
 
 /**
  * This code has been fleshed out by Ziyao Qiao. Thanks very much.
- * CONSIDER tidy it up a bit.
+ * <p>
+ * Benchmark of ParMergeSort, comparing the sequential merge with the parallel (split-point) merge
+ * for numbers of threads from 1 up to P (default 32).
+ * ParSort (which allocates new arrays for every task and every merge) is included as the baseline.
+ * <p>
+ * Command-line arguments (all optional): -N array size; -P maximum number of threads; -R number of runs.
  */
 public class Main {
 
     public static void main(String[] args) {
-
-        // Declaring no. of threads
-//        int thread= ;
-
         processArgs(args);
-//        ForkJoinPool fs=new ForkJoinPool(thread);
+        final int n = configuration.getOrDefault("N", 10000000);
+        final int maxThreads = configuration.getOrDefault("P", 32);
+        final int runs = configuration.getOrDefault("R", 10);
 
-        System.out.println("Degree of parallelism: " + ForkJoinPool.getCommonPoolParallelism());
+        System.out.println("Available processors: " + Runtime.getRuntime().availableProcessors() + "; array size: " + n + "; runs: " + runs);
         Random random = new Random();
 
-        int[] array = new int[10000000];
-        ArrayList<Long> timeList = new ArrayList<>();
-        for( int k = 1; k <= 32; k = k*2) {
-            ParSort.threadCount = k;
-            ParSort.threadFJP = new ForkJoinPool(ParSort.threadCount);
-            String seriesName = "" + k + " Threads";
-//            XYSeries timeSeries = new XYSeries(seriesName);
-            double min = 99999;
-            int minCutoff = 0;
-            double avg = 0;
-            for (int j = 50; j < 100; j++) {
-
-                ParSort.cutoff = 10000 * (j + 1);
-                // for (int i = 0; i < array.length; i++) array[i] = random.nextInt(10000000);
-                long time;
-                long startTime = System.currentTimeMillis();
-                for (int t = 0; t < 20; t++) {
-                    for (int i = 0; i < array.length; i++)
-                        array[i] = random.nextInt(10000000);
-                    ParSort.sort(array, 0, array.length);
-                }
-                long endTime = System.currentTimeMillis();
-                time = (endTime - startTime);
-                avg += time/10;
-                if(time/10 < min){
-                    minCutoff = 10000 * (j + 1);
-                    min = time/10;
-                }
-                timeList.add(time);
-//                timeSeries.add(10000 * (j + 1), time/20);
-                System.out.println("cutoff：" + (ParSort.cutoff) + "\t\t10 Times Time:" + time + "ms");
-
-            }
-            System.out.println("For threads " + k + " min is = " + min + " at cutoff " + minCutoff + "ms and average is = " + avg/50+"ms");
+        int[] array = new int[n];
+        List<double[]> timeList = new ArrayList<>();
+        for (int k = 1; k <= maxThreads; k = k * 2) {
+            ForkJoinPool pool = new ForkJoinPool(k);
+            final double parSort = timeParSort(array, random, runs, pool);
+            final double sequentialMerge = time(array, random, runs, pool, false);
+            final double parallelMerge = time(array, random, runs, pool, true);
+            pool.shutdown();
+            timeList.add(new double[]{k, sequentialMerge, parallelMerge, parSort});
+            System.out.println("Threads: " + k + "\t\tParSort: " + parSort + "ms\t\tsequential merge: " + sequentialMerge + "ms\t\tparallel merge: " + parallelMerge + "ms");
         }
 
-//        for (int j = 50; j < 100; j++) {
-//            ParSort.cutoff = 10000 * (j + 1);
-//            // for (int i = 0; i < array.length; i++) array[i] = random.nextInt(10000000);
-//            long time;
-//            long startTime = System.currentTimeMillis();
-//            for (int t = 0; t < 10; t++) {
-//                for (int i = 0; i < array.length; i++) array[i] = random.nextInt(10000000);
-//                ParSort.sort(array, 0, array.length);
-//            }
-//            long endTime = System.currentTimeMillis();
-//            time = (endTime - startTime);
-//            timeList.add(time);
-//
-//
-//            System.out.println("cutoff：" + (ParSort.cutoff) + "\t\t10times Time:" + time + "ms");
-//
-//        }
+        final double[] baseline = timeList.get(0);
+        for (double[] xs : timeList)
+            System.out.println("Threads: " + (int) xs[0] + "\t\tspeedup (ParSort): " + baseline[3] / xs[3] + "\t\tspeedup (sequential merge): " + baseline[1] / xs[1] + "\t\tspeedup (parallel merge): " + baseline[2] / xs[2]);
+
         try {
             FileOutputStream fis = new FileOutputStream("./src/result.csv");
             OutputStreamWriter isr = new OutputStreamWriter(fis);
             BufferedWriter bw = new BufferedWriter(isr);
-            int j = 0;
-            for (long i : timeList) {
-                String content = (double) 10000 * (j + 1) / 2000000 + "," + (double) i / 10 + "\n";
-                j++;
+            bw.write("threads,sequential merge (ms),parallel merge (ms),ParSort (ms)\n");
+            for (double[] xs : timeList) {
+                String content = (int) xs[0] + "," + xs[1] + "," + xs[2] + "," + xs[3] + "\n";
                 bw.write(content);
                 bw.flush();
             }
@@ -98,33 +65,65 @@ public class Main {
         }
     }
 
+    /**
+     * Determine the mean time (in milliseconds) to sort a freshly randomized array.
+     * The first two runs are treated as warmup and are not timed.
+     */
+    private static double time(int[] array, Random random, int runs, ForkJoinPool pool, boolean parallelMerge) {
+        long total = 0;
+        for (int t = -2; t < runs; t++) {
+            for (int i = 0; i < array.length; i++) array[i] = random.nextInt(10000000);
+            long startTime = System.nanoTime();
+            ParMergeSort.sort(array, 0, array.length, pool, parallelMerge);
+            long endTime = System.nanoTime();
+            if (t >= 0) total += endTime - startTime;
+        }
+        if (!isSorted(array)) throw new RuntimeException("ParMergeSort: array is not sorted");
+        return total / 1000000.0 / runs;
+    }
+
+    /**
+     * Determine the mean time (in milliseconds) for ParSort, with the same cutoff as ParMergeSort would use.
+     */
+    private static double timeParSort(int[] array, Random random, int runs, ForkJoinPool pool) {
+        ParSort.threadFJP = pool;
+        ParSort.cutoff = ParMergeSort.cutoff(array.length, pool.getParallelism());
+        long total = 0;
+        for (int t = -2; t < runs; t++) {
+            for (int i = 0; i < array.length; i++) array[i] = random.nextInt(10000000);
+            long startTime = System.nanoTime();
+            ParSort.sort(array, 0, array.length);
+            long endTime = System.nanoTime();
+            if (t >= 0) total += endTime - startTime;
+        }
+        if (!isSorted(array)) throw new RuntimeException("ParSort: array is not sorted");
+        return total / 1000000.0 / runs;
+    }
+
+    private static boolean isSorted(int[] array) {
+        for (int i = 1; i < array.length; i++) if (array[i - 1] > array[i]) return false;
+        return true;
+    }
+
     private static void processArgs(String[] args) {
         String[] xs = args;
-        while (xs.length > 0)
-            if (xs[0].startsWith("-")) xs = processArg(xs);
+        while (xs.length > 1 && xs[0].startsWith("-")) xs = processArg(xs);
     }
 
     private static String[] processArg(String[] xs) {
-        String[] result = new String[0];
-        System.arraycopy(xs, 2, result, 0, xs.length - 2);
-        processCommand(xs[0], xs[1]);
-        return result;
+        processCommand(xs[0].substring(1), xs[1]);
+        return Arrays.copyOfRange(xs, 2, xs.length);
     }
 
     private static void processCommand(String x, String y) {
-        if (x.equalsIgnoreCase("N")) setConfig(x, Integer.parseInt(y));
-        else
-            // CONSIDER sort this out
-            if (x.equalsIgnoreCase("P")) //noinspection ResultOfMethodCallIgnored
-                ForkJoinPool.getCommonPoolParallelism();
+        setConfig(x.toUpperCase(), Integer.parseInt(y));
     }
 
     private static void setConfig(String x, int i) {
         configuration.put(x, i);
     }
 
-    @SuppressWarnings("MismatchedQueryAndUpdateOfCollection")
     private static final Map<String, Integer> configuration = new HashMap<>();
 
 
-}
\ No newline at end of file
+}
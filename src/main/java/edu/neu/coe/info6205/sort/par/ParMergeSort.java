@@ -0,0 +1,278 @@
+package edu.neu.coe.info6205.sort.par;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Parallel merge sort of int arrays based on RecursiveAction.
+ * <p>
+ * Unlike ParSort, which allocates a new array for every CompletableFuture and for every merge,
+ * this sort allocates exactly one auxiliary buffer (the size of the sub-array to be sorted).
+ * At each level of the recursion, the roles of the array and the auxiliary buffer are swapped
+ * so that the halves are sorted into one buffer and then merged back into the other.
+ * <p>
+ * The sort runs on a caller-supplied ForkJoinPool, and the sequential cutoff is derived from
+ * the parallelism of that pool (unless it is given explicitly).
+ * <p>
+ * Optionally, the merges themselves may be performed in parallel (see MergeAction).
+ * Without this, the final merge is a single sequential pass over the whole array,
+ * which limits the speedup to about 2x regardless of the number of threads.
+ */
+public class ParMergeSort {
+
+    /**
+     * Sort the whole of array using the given pool.
+     *
+     * @param array the array to be sorted (in place).
+     * @param pool  the ForkJoinPool on which to run the sort.
+     */
+    public static void sort(int[] array, ForkJoinPool pool) {
+        sort(array, 0, array.length, pool);
+    }
+
+    /**
+     * Sort array[from...to) using the given pool and a cutoff derived from the pool's parallelism.
+     *
+     * @param array the array to be sorted (in place).
+     * @param from  the index of the first element to sort.
+     * @param to    the index of the first element not to sort.
+     * @param pool  the ForkJoinPool on which to run the sort.
+     */
+    public static void sort(int[] array, int from, int to, ForkJoinPool pool) {
+        sort(array, from, to, pool, false);
+    }
+
+    /**
+     * Sort array[from...to) using the given pool and a cutoff derived from the pool's parallelism.
+     *
+     * @param array         the array to be sorted (in place).
+     * @param from          the index of the first element to sort.
+     * @param to            the index of the first element not to sort.
+     * @param pool          the ForkJoinPool on which to run the sort.
+     * @param parallelMerge if true, then merges are also performed in parallel.
+     */
+    public static void sort(int[] array, int from, int to, ForkJoinPool pool, boolean parallelMerge) {
+        sort(array, from, to, pool, cutoff(to - from, pool.getParallelism()), parallelMerge);
+    }
+
+    /**
+     * Sort array[from...to) using the given pool and an explicit cutoff.
+     *
+     * @param array  the array to be sorted (in place).
+     * @param from   the index of the first element to sort.
+     * @param to     the index of the first element not to sort.
+     * @param pool   the ForkJoinPool on which to run the sort.
+     * @param cutoff sub-arrays smaller than this are sorted sequentially (must be positive).
+     */
+    public static void sort(int[] array, int from, int to, ForkJoinPool pool, int cutoff) {
+        sort(array, from, to, pool, cutoff, false);
+    }
+
+    /**
+     * Sort array[from...to) using the given pool and an explicit cutoff.
+     *
+     * @param array         the array to be sorted (in place).
+     * @param from          the index of the first element to sort.
+     * @param to            the index of the first element not to sort.
+     * @param pool          the ForkJoinPool on which to run the sort.
+     * @param cutoff        sub-arrays (and merges) smaller than this are processed sequentially (must be positive).
+     * @param parallelMerge if true, then merges are also performed in parallel.
+     */
+    public static void sort(int[] array, int from, int to, ForkJoinPool pool, int cutoff, boolean parallelMerge) {
+        if (cutoff < 1) throw new IllegalArgumentException("ParMergeSort: cutoff must be positive: " + cutoff);
+        if (to - from <= cutoff) {
+            Arrays.sort(array, from, to);
+            return;
+        }
+        // NOTE the aux buffer is indexed relative to from, so that only to-from elements are allocated.
+        final int[] aux = new int[to - from];
+        pool.invoke(new SortAction(array, aux, from, to, from, false, cutoff, parallelMerge));
+    }
+
+    /**
+     * Determine the sequential cutoff for an array of n elements to be sorted with the given parallelism.
+     * We aim for about MIN_TASKS_PER_THREAD leaf tasks per thread (to allow for work-stealing),
+     * but never split below MIN_CUTOFF elements, where the cost of a task outweighs the benefit.
+     *
+     * @param n           the number of elements to be sorted.
+     * @param parallelism the parallelism of the pool.
+     * @return the cutoff.
+     */
+    static int cutoff(int n, int parallelism) {
+        return Math.max(MIN_CUTOFF, n / (Math.max(1, parallelism) * MIN_TASKS_PER_THREAD));
+    }
+
+    /**
+     * Merge the sorted runs src[lo...mid) and src[mid...hi) into dst[lo...hi).
+     * The indices of src and dst are each offset by their own base.
+     */
+    static void merge(int[] src, int srcBase, int[] dst, int dstBase, int lo, int mid, int hi) {
+        merge(src, srcBase, lo, mid, mid, hi, dst, dstBase, lo);
+    }
+
+    /**
+     * Merge the sorted runs src[aLo...aHi) and src[bLo...bHi) into dst, beginning at index k.
+     * All indices are logical (i.e. indices into the array being sorted);
+     * the physical indices of src and dst are obtained by subtracting srcBase and dstBase respectively.
+     * Where elements are equal, those from the a run are taken first (so the merge is stable).
+     */
+    static void merge(int[] src, int srcBase, int aLo, int aHi, int bLo, int bHi, int[] dst, int dstBase, int k) {
+        int i = aLo - srcBase, iEnd = aHi - srcBase;
+        int j = bLo - srcBase, jEnd = bHi - srcBase;
+        k -= dstBase;
+        while (i < iEnd && j < jEnd) dst[k++] = src[j] < src[i] ? src[j++] : src[i++];
+        if (i < iEnd) System.arraycopy(src, i, dst, k, iEnd - i);
+        else if (j < jEnd) System.arraycopy(src, j, dst, k, jEnd - j);
+    }
+
+    /**
+     * Find the first logical index in src[lo...hi) whose element is not less than x.
+     */
+    static int lowerBound(int[] src, int srcBase, int lo, int hi, int x) {
+        int l = lo - srcBase, h = hi - srcBase;
+        while (l < h) {
+            final int m = (l + h) >>> 1;
+            if (src[m] < x) l = m + 1;
+            else h = m;
+        }
+        return l + srcBase;
+    }
+
+    /**
+     * Find the first logical index in src[lo...hi) whose element is greater than x.
+     */
+    static int upperBound(int[] src, int srcBase, int lo, int hi, int x) {
+        int l = lo - srcBase, h = hi - srcBase;
+        while (l < h) {
+            final int m = (l + h) >>> 1;
+            if (src[m] <= x) l = m + 1;
+            else h = m;
+        }
+        return l + srcBase;
+    }
+
+    /**
+     * RecursiveAction which sorts the range [from...to) of the data.
+     * If intoAux is false, the sorted result ends up in array; otherwise it ends up in aux.
+     * The children are always asked to sort into the opposite buffer, so that the merge at this level
+     * reads from one buffer and writes to the other without any intermediate copying.
+     */
+    static class SortAction extends RecursiveAction {
+
+        SortAction(int[] array, int[] aux, int from, int to, int auxBase, boolean intoAux, int cutoff, boolean parallelMerge) {
+            this.array = array;
+            this.aux = aux;
+            this.from = from;
+            this.to = to;
+            this.auxBase = auxBase;
+            this.intoAux = intoAux;
+            this.cutoff = cutoff;
+            this.parallelMerge = parallelMerge;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= cutoff) {
+                // NOTE the unsorted data always lives in array, so a leaf sorts there and copies only if required.
+                Arrays.sort(array, from, to);
+                if (intoAux) System.arraycopy(array, from, aux, from - auxBase, to - from);
+                return;
+            }
+            final int mid = (from + to) >>> 1;
+            invokeAll(new SortAction(array, aux, from, mid, auxBase, !intoAux, cutoff, parallelMerge),
+                    new SortAction(array, aux, mid, to, auxBase, !intoAux, cutoff, parallelMerge));
+            if (parallelMerge) {
+                if (intoAux) new MergeAction(array, 0, from, mid, mid, to, aux, auxBase, from, cutoff).invoke();
+                else new MergeAction(aux, auxBase, from, mid, mid, to, array, 0, from, cutoff).invoke();
+            } else {
+                if (intoAux) merge(array, 0, aux, auxBase, from, mid, to);
+                else merge(aux, auxBase, array, 0, from, mid, to);
+            }
+        }
+
+        private final int[] array;
+        private final int[] aux;
+        private final int from;
+        private final int to;
+        private final int auxBase;
+        private final boolean intoAux;
+        private final int cutoff;
+        private final boolean parallelMerge;
+    }
+
+    /**
+     * RecursiveAction which merges the sorted runs src[aLo...aHi) and src[bLo...bHi) into dst, beginning at index k.
+     * <p>
+     * The median of the longer run is chosen as a split point and its co-rank in the other run is found by binary search.
+     * The split element is placed directly into its final position in dst,
+     * and the two (independent) sub-merges either side of it are performed in parallel.
+     * Merges of no more than threshold elements are performed sequentially.
+     * As with merge, the result is stable.
+     */
+    static class MergeAction extends RecursiveAction {
+
+        MergeAction(int[] src, int srcBase, int aLo, int aHi, int bLo, int bHi, int[] dst, int dstBase, int k, int threshold) {
+            this.src = src;
+            this.srcBase = srcBase;
+            this.aLo = aLo;
+            this.aHi = aHi;
+            this.bLo = bLo;
+            this.bHi = bHi;
+            this.dst = dst;
+            this.dstBase = dstBase;
+            this.k = k;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            final int na = aHi - aLo;
+            final int nb = bHi - bLo;
+            if (na + nb <= threshold) {
+                merge(src, srcBase, aLo, aHi, bLo, bHi, dst, dstBase, k);
+                return;
+            }
+            if (na >= nb) {
+                // NOTE elements of b which are equal to x must follow x.
+                final int am = (aLo + aHi) >>> 1;
+                final int x = src[am - srcBase];
+                final int bm = lowerBound(src, srcBase, bLo, bHi, x);
+                final int km = k + (am - aLo) + (bm - bLo);
+                dst[km - dstBase] = x;
+                invokeAll(new MergeAction(src, srcBase, aLo, am, bLo, bm, dst, dstBase, k, threshold),
+                        new MergeAction(src, srcBase, am + 1, aHi, bm, bHi, dst, dstBase, km + 1, threshold));
+            } else {
+                // NOTE elements of a which are equal to x must precede x.
+                final int bm = (bLo + bHi) >>> 1;
+                final int x = src[bm - srcBase];
+                final int am = upperBound(src, srcBase, aLo, aHi, x);
+                final int km = k + (am - aLo) + (bm - bLo);
+                dst[km - dstBase] = x;
+                invokeAll(new MergeAction(src, srcBase, aLo, am, bLo, bm, dst, dstBase, k, threshold),
+                        new MergeAction(src, srcBase, am, aHi, bm + 1, bHi, dst, dstBase, km + 1, threshold));
+            }
+        }
+
+        private final int[] src;
+        private final int srcBase;
+        private final int aLo;
+        private final int aHi;
+        private final int bLo;
+        private final int bHi;
+        private final int[] dst;
+        private final int dstBase;
+        private final int k;
+        private final int threshold;
+    }
+
+    /**
+     * Never split a sub-array smaller than this.
+     */
+    static final int MIN_CUTOFF = 8192;
+
+    /**
+     * The number of leaf tasks to aim for per thread.
+     */
+    static final int MIN_TASKS_PER_THREAD = 4;
+}
@@ -0,0 +1,286 @@
+package edu.neu.coe.info6205.sort.par;
+
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.SortWithHelper;
+import edu.neu.coe.info6205.sort.elementary.InsertionSort;
+import edu.neu.coe.info6205.util.Config;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import static edu.neu.coe.info6205.sort.linearithmic.MergeSort.*;
+
+/**
+ * Parallel version of MergeSort for Comparable types, based on RecursiveAction.
+ * <p>
+ * The recursion (and the insurance and no-copy options) follow MergeSort exactly, as does the cutoff to InsertionSort.
+ * Sub-arrays larger than the parallel cutoff have their halves sorted as separate tasks on the ForkJoinPool,
+ * and are merged in parallel by splitting both runs at binary-searched co-ranks (as in ParMergeSort).
+ * <p>
+ * NOTE: the counters of InstrumentedHelper are not thread-safe, so when the helper is instrumented,
+ * the sort runs entirely on the calling thread (the counts are then the same as for MergeSort).
+ *
+ * @param <X> the underlying comparable type.
+ */
+public class ParallelMergeSort<X extends Comparable<X>> extends SortWithHelper<X> {
+
+    public static final String DESCRIPTION = "Parallel MergeSort";
+
+    /**
+     * Constructor for ParallelMergeSort
+     *
+     * @param helper an explicit instance of Helper to be used.
+     * @param pool   the ForkJoinPool on which to run the sort.
+     */
+    public ParallelMergeSort(Helper<X> helper, ForkJoinPool pool) {
+        super(helper);
+        insertionSort = InsertionSort.create(helper);
+        this.pool = pool;
+        closePool = false;
+    }
+
+    /**
+     * Constructor for ParallelMergeSort which runs on the common pool.
+     * <p>
+     * NOTE this is used only by unit tests, using its own instrumented helper.
+     *
+     * @param helper an explicit instance of Helper to be used.
+     */
+    public ParallelMergeSort(Helper<X> helper) {
+        this(helper, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor for ParallelMergeSort
+     * <p>
+     * If the configuration specifies parallelmergesort.threads, then a pool of that many threads is created
+     * (and shut down by close); otherwise, the common pool is used.
+     *
+     * @param N      the number elements we expect to sort.
+     * @param config the configuration.
+     */
+    public ParallelMergeSort(int N, Config config) {
+        super(DESCRIPTION + ":" + getConfigString(config), N, config);
+        insertionSort = InsertionSort.create(getHelper());
+        final int threads = config.getInt(PARALLELMERGESORT, THREADS, 0);
+        pool = threads > 0 ? new ForkJoinPool(threads) : ForkJoinPool.commonPool();
+        closePool = threads > 0;
+    }
+
+    @Override
+    public X[] sort(X[] xs, boolean makeCopy) {
+        getHelper().init(xs.length);
+        X[] result = makeCopy ? Arrays.copyOf(xs, xs.length) : xs;
+        sort(result, 0, result.length);
+        return result;
+    }
+
+    @Override
+    public void sort(X[] a, int from, int to) {
+        final Helper<X> helper = getHelper();
+        final Config config = helper.getConfig();
+        final boolean insurance = config.getBoolean(MERGESORT, INSURANCE);
+        final boolean noCopy = config.getBoolean(MERGESORT, NOCOPY);
+        // NOTE as in MergeSort, aux must start out as a copy of a so that the no-copy optimization works.
+        X[] aux = Arrays.copyOf(a, a.length);
+        if (helper.instrumented()) sort(a, aux, from, to, insurance, noCopy);
+        else
+            pool.invoke(new SortAction(a, aux, from, to, insurance, noCopy, ParMergeSort.cutoff(to - from, pool.getParallelism())));
+    }
+
+    @Override
+    public void close() {
+        if (closePool) pool.shutdown();
+        super.close();
+    }
+
+    /**
+     * Sequential merge sort, exactly as in MergeSort.
+     */
+    private void sort(X[] a, X[] aux, int from, int to, boolean insurance, boolean noCopy) {
+        final Helper<X> helper = getHelper();
+        if (to <= from + helper.cutoff()) {
+            insertionSort.sort(a, from, to);
+            return;
+        }
+        int mid = from + (to - from) / 2;
+        if (noCopy) {
+            sort(aux, a, from, mid, insurance, noCopy);
+            sort(aux, a, mid, to, insurance, noCopy);
+            if (insurance && helper.less(aux, mid - 1, mid)) {
+                System.arraycopy(aux, from, a, from, to - from);
+                return;
+            }
+            merge(aux, a, from, mid, mid, to, from);
+        } else {
+            sort(a, aux, from, mid, insurance, noCopy);
+            sort(a, aux, mid, to, insurance, noCopy);
+            if (insurance && helper.less(a[mid - 1], a[mid])) return;
+            System.arraycopy(a, from, aux, from, to - from);
+            merge(aux, a, from, mid, mid, to, from);
+        }
+    }
+
+    /**
+     * Merge the sorted runs sorted[aLo...aHi) and sorted[bLo...bHi) into result, beginning at index k.
+     */
+    private void merge(X[] sorted, X[] result, int aLo, int aHi, int bLo, int bHi, int k) {
+        final Helper<X> helper = getHelper();
+        int i = aLo;
+        int j = bLo;
+        final int to = k + (aHi - aLo) + (bHi - bLo);
+        // NOTE: when not instrumented, we bypass the helper so that the inner loop makes no interface calls.
+        if (helper.instrumented())
+            for (; k < to; k++)
+                if (i >= aHi) helper.copy(sorted, j++, result, k);
+                else if (j >= bHi) helper.copy(sorted, i++, result, k);
+                else if (helper.less(sorted[j], sorted[i])) {
+                    helper.incrementFixes(aHi - i);
+                    helper.copy(sorted, j++, result, k);
+                } else helper.copy(sorted, i++, result, k);
+        else
+            for (; k < to; k++)
+                if (i >= aHi) result[k] = sorted[j++];
+                else if (j >= bHi) result[k] = sorted[i++];
+                else if (sorted[j].compareTo(sorted[i]) < 0) result[k] = sorted[j++];
+                else result[k] = sorted[i++];
+    }
+
+    /**
+     * RecursiveAction which sorts a[from...to) in the same manner as the sequential sort method.
+     */
+    class SortAction extends RecursiveAction {
+
+        SortAction(X[] a, X[] aux, int from, int to, boolean insurance, boolean noCopy, int cutoff) {
+            this.a = a;
+            this.aux = aux;
+            this.from = from;
+            this.to = to;
+            this.insurance = insurance;
+            this.noCopy = noCopy;
+            this.cutoff = cutoff;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= cutoff) {
+                sort(a, aux, from, to, insurance, noCopy);
+                return;
+            }
+            final Helper<X> helper = getHelper();
+            int mid = from + (to - from) / 2;
+            if (noCopy) {
+                invokeAll(new SortAction(aux, a, from, mid, insurance, noCopy, cutoff), new SortAction(aux, a, mid, to, insurance, noCopy, cutoff));
+                if (insurance && helper.less(aux, mid - 1, mid)) {
+                    System.arraycopy(aux, from, a, from, to - from);
+                    return;
+                }
+            } else {
+                invokeAll(new SortAction(a, aux, from, mid, insurance, noCopy, cutoff), new SortAction(a, aux, mid, to, insurance, noCopy, cutoff));
+                if (insurance && helper.less(a[mid - 1], a[mid])) return;
+                System.arraycopy(a, from, aux, from, to - from);
+            }
+            new MergeAction(aux, a, from, mid, mid, to, from, cutoff).invoke();
+        }
+
+        private final X[] a;
+        private final X[] aux;
+        private final int from;
+        private final int to;
+        private final boolean insurance;
+        private final boolean noCopy;
+        private final int cutoff;
+    }
+
+    /**
+     * RecursiveAction which merges the sorted runs sorted[aLo...aHi) and sorted[bLo...bHi) into result, beginning at index k.
+     * See ParMergeSort.MergeAction for the details of the (stable) split-point merge.
+     */
+    class MergeAction extends RecursiveAction {
+
+        MergeAction(X[] sorted, X[] result, int aLo, int aHi, int bLo, int bHi, int k, int threshold) {
+            this.sorted = sorted;
+            this.result = result;
+            this.aLo = aLo;
+            this.aHi = aHi;
+            this.bLo = bLo;
+            this.bHi = bHi;
+            this.k = k;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            final int na = aHi - aLo;
+            final int nb = bHi - bLo;
+            if (na + nb <= threshold) {
+                merge(sorted, result, aLo, aHi, bLo, bHi, k);
+                return;
+            }
+            final int am, bm;
+            if (na >= nb) {
+                am = (aLo + aHi) >>> 1;
+                bm = lowerBound(sorted, bLo, bHi, sorted[am]);
+                result[k + (am - aLo) + (bm - bLo)] = sorted[am];
+                invokeAll(new MergeAction(sorted, result, aLo, am, bLo, bm, k, threshold),
+                        new MergeAction(sorted, result, am + 1, aHi, bm, bHi, k + (am - aLo) + (bm - bLo) + 1, threshold));
+            } else {
+                bm = (bLo + bHi) >>> 1;
+                am = upperBound(sorted, aLo, aHi, sorted[bm]);
+                result[k + (am - aLo) + (bm - bLo)] = sorted[bm];
+                invokeAll(new MergeAction(sorted, result, aLo, am, bLo, bm, k, threshold),
+                        new MergeAction(sorted, result, am, aHi, bm + 1, bHi, k + (am - aLo) + (bm - bLo) + 1, threshold));
+            }
+        }
+
+        private final X[] sorted;
+        private final X[] result;
+        private final int aLo;
+        private final int aHi;
+        private final int bLo;
+        private final int bHi;
+        private final int k;
+        private final int threshold;
+    }
+
+    /**
+     * Find the first index in xs[lo...hi) whose element is not less than x.
+     */
+    private int lowerBound(X[] xs, int lo, int hi, X x) {
+        final Helper<X> helper = getHelper();
+        while (lo < hi) {
+            final int m = (lo + hi) >>> 1;
+            if (helper.less(xs[m], x)) lo = m + 1;
+            else hi = m;
+        }
+        return lo;
+    }
+
+    /**
+     * Find the first index in xs[lo...hi) whose element is greater than x.
+     */
+    private int upperBound(X[] xs, int lo, int hi, X x) {
+        final Helper<X> helper = getHelper();
+        while (lo < hi) {
+            final int m = (lo + hi) >>> 1;
+            if (helper.less(x, xs[m])) hi = m;
+            else lo = m + 1;
+        }
+        return lo;
+    }
+
+    public static final String PARALLELMERGESORT = "parallelmergesort";
+    public static final String THREADS = "threads";
+
+    private static String getConfigString(Config config) {
+        StringBuilder stringBuilder = new StringBuilder();
+        if (config.getBoolean(MERGESORT, INSURANCE)) stringBuilder.append(" with insurance comparison");
+        if (config.getBoolean(MERGESORT, NOCOPY)) stringBuilder.append(" with no copy");
+        return stringBuilder.toString();
+    }
+
+    private final InsertionSort<X> insertionSort;
+    private final ForkJoinPool pool;
+    private final boolean closePool;
+}
@@ -5,13 +5,22 @@ package edu.neu.coe.info6205.util;
 
 import edu.neu.coe.info6205.sort.BaseHelper;
 import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.HelperFactory;
 import edu.neu.coe.info6205.sort.SortWithHelper;
+import edu.neu.coe.info6205.sort.counting.KeyRadixSort;
+import edu.neu.coe.info6205.sort.counting.LSDRadixSort;
 import edu.neu.coe.info6205.sort.elementary.BubbleSort;
+import edu.neu.coe.info6205.sort.elementary.GapSequences;
+import edu.neu.coe.info6205.sort.elementary.HeapSort_4ary;
+import edu.neu.coe.info6205.sort.elementary.HeapSort_BottomUp;
 import edu.neu.coe.info6205.sort.elementary.InsertionSort;
+import edu.neu.coe.info6205.sort.elementary.InsertionSortOpt;
 import edu.neu.coe.info6205.sort.elementary.RandomSort;
 import edu.neu.coe.info6205.sort.elementary.ShellSort;
+import edu.neu.coe.info6205.sort.elementary.SortingNetwork;
 import edu.neu.coe.info6205.sort.linearithmic.TimSort;
 import edu.neu.coe.info6205.sort.linearithmic.*;
+import edu.neu.coe.info6205.sort.par.ParallelMergeSort;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
@@ -20,6 +29,7 @@ import java.time.LocalDateTime;
 import java.time.chrono.ChronoLocalDateTime;
 import java.util.*;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
 import java.util.regex.Pattern;
@@ -41,6 +51,12 @@ public class SortBenchmark {
         if (args.length == 0) logger.warn("No word counts specified on the command line");
         SortBenchmark benchmark = new SortBenchmark(config);
         benchmark.sortIntegersByShellSort(config.getInt("shellsort", "n", 100000));
+        benchmark.sortIntegersByRadixSort(config.getInt("benchmarkintegersorters", "n", 100000));
+        benchmark.sortIntegersByHelperFastPath(config.getInt("benchmarkintegersorters", "n", 100000));
+        benchmark.sortIntegersByQuickSort(config.getInt("benchmarkintegersorters", "n", 100000));
+        benchmark.sortIntegersByBaseCase(config.getInt("benchmarkintegersorters", "n", 100000));
+        benchmark.sortIntegersByShellSortGaps(config.getInt("benchmarkintegersorters", "n", 100000));
+        benchmark.selectIntegers(config.getInt("benchmarkintegersorters", "n", 100000));
         benchmark.sortStrings(Arrays.stream(args).map(Integer::parseInt));
         benchmark.sortLocalDateTimes(config.getInt("benchmarkdatesorters", "n", 100000), config);
     }
@@ -64,6 +80,13 @@ public class SortBenchmark {
             // NOTE this is intended to replace the run two lines previous. It should take the exact same amount of time.
             runDateTimeSortBenchmark(LocalDateTime.class, localDateTimes, n, 100);
         }
+
+        if (isConfigBenchmarkDateSorter("mergesort"))
+            runDateTimeSortBenchmark(LocalDateTime.class, localDateTimes, n, 100, new MergeSort<>(n, config));
+
+        // NOTE this is a stable, linear-time alternative to the comparison sorts above.
+        if (isConfigBenchmarkDateSorter("radixsort"))
+            runDateTimeSortBenchmark(LocalDateTime.class, localDateTimes, n, 100, new KeyRadixSort<>(n, config, KeyRadixSort.localDateTimeKeys()));
     }
 
     /**
@@ -91,18 +114,36 @@ public class SortBenchmark {
             runMergeSortBenchmark(words, nWords, nRuns, true, true);
         }
 
+        if (isConfigBenchmarkStringSorter("multiwaymergesort"))
+            runStringSortBenchmark(words, nWords, nRuns, new MultiwayMergeSort<>(nWords, config), timeLoggersLinearithmic);
+
+        if (isConfigBenchmarkStringSorter("parallelmergesort"))
+            runStringSortBenchmark(words, nWords, nRuns, new ParallelMergeSort<>(nWords, config), timeLoggersLinearithmic);
+
         if (isConfigBenchmarkStringSorter("quicksort3way"))
             runStringSortBenchmark(words, nWords, nRuns, new QuickSort_3way<>(nWords, config), timeLoggersLinearithmic);
 
         if (isConfigBenchmarkStringSorter("quicksortDualPivot"))
             runStringSortBenchmark(words, nWords, nRuns, new QuickSort_DualPivot<>(nWords, config), timeLoggersLinearithmic);
 
+        if (isConfigBenchmarkStringSorter("quicksortBlock"))
+            runStringSortBenchmark(words, nWords, nRuns, new QuickSort_Block<>(nWords, config), timeLoggersLinearithmic);
+
         if (isConfigBenchmarkStringSorter("quicksort"))
             runStringSortBenchmark(words, nWords, nRuns, new QuickSort_Basic<>(nWords, config), timeLoggersLinearithmic);
 
         if (isConfigBenchmarkStringSorter("introsort"))
             runStringSortBenchmark(words, nWords, nRuns, new IntroSort<>(nWords, config), timeLoggersLinearithmic);
 
+        if (isConfigBenchmarkStringSorter("introsortPatternDefeating"))
+            runStringSortBenchmark(words, nWords, nRuns, new IntroSort_PatternDefeating<>(nWords, config), timeLoggersLinearithmic);
+
+        if (isConfigBenchmarkStringSorter("heapsortBottomUp"))
+            runStringSortBenchmark(words, nWords, nRuns, new HeapSort_BottomUp<>(nWords, config), timeLoggersLinearithmic);
+
+        if (isConfigBenchmarkStringSorter("heapsort4ary"))
+            runStringSortBenchmark(words, nWords, nRuns, new HeapSort_4ary<>(nWords, config), timeLoggersLinearithmic);
+
         if (isConfigBenchmarkStringSorter("randomsort"))
             runStringSortBenchmark(words, nWords, nRuns, new RandomSort<>(nWords, config), timeLoggersLinearithmic);
 
@@ -142,18 +183,36 @@ public class SortBenchmark {
             runMergeSortBenchmark(words, nWords, nRuns, true, true);
         }
 
+        if (isConfigBenchmarkStringSorter("multiwaymergesort"))
+            runStringSortBenchmark(words, nWords, nRuns, new MultiwayMergeSort<>(nWords, config), timeLoggersLinearithmic);
+
+        if (isConfigBenchmarkStringSorter("parallelmergesort"))
+            runStringSortBenchmark(words, nWords, nRuns, new ParallelMergeSort<>(nWords, config), timeLoggersLinearithmic);
+
         if (isConfigBenchmarkStringSorter("quicksort3way"))
             runStringSortBenchmark(words, nWords, nRuns, new QuickSort_3way<>(nWords, config), timeLoggersLinearithmic);
 
         if (isConfigBenchmarkStringSorter("quicksortDualPivot"))
             runStringSortBenchmark(words, nWords, nRuns, new QuickSort_DualPivot<>(nWords, config), timeLoggersLinearithmic);
 
+        if (isConfigBenchmarkStringSorter("quicksortBlock"))
+            runStringSortBenchmark(words, nWords, nRuns, new QuickSort_Block<>(nWords, config), timeLoggersLinearithmic);
+
         if (isConfigBenchmarkStringSorter("quicksort"))
             runStringSortBenchmark(words, nWords, nRuns, new QuickSort_Basic<>(nWords, config), timeLoggersLinearithmic);
 
         if (isConfigBenchmarkStringSorter("introsort"))
             runStringSortBenchmark(words, nWords, nRuns, new IntroSort<>(nWords, config), timeLoggersLinearithmic);
 
+        if (isConfigBenchmarkStringSorter("introsortPatternDefeating"))
+            runStringSortBenchmark(words, nWords, nRuns, new IntroSort_PatternDefeating<>(nWords, config), timeLoggersLinearithmic);
+
+        if (isConfigBenchmarkStringSorter("heapsortBottomUp"))
+            runStringSortBenchmark(words, nWords, nRuns, new HeapSort_BottomUp<>(nWords, config), timeLoggersLinearithmic);
+
+        if (isConfigBenchmarkStringSorter("heapsort4ary"))
+            runStringSortBenchmark(words, nWords, nRuns, new HeapSort_4ary<>(nWords, config), timeLoggersLinearithmic);
+
         if (isConfigBenchmarkStringSorter("randomsort"))
             runStringSortBenchmark(words, nWords, nRuns, new RandomSort<>(nWords, config), timeLoggersLinearithmic);
 
@@ -201,6 +260,223 @@ public class SortBenchmark {
         for (TimeLogger timeLogger : timeLoggersLinearithmic) timeLogger.log(t2, n);
     }
 
+    /**
+     * Method to compare LSDRadixSort (with each of the usual digit widths) and KeyRadixSort with Arrays.sort,
+     * on the same int[], long[] and Integer[] inputs which are used by sortIntegersByShellSort.
+     *
+     * @param n the number of elements to be sorted.
+     */
+    private void sortIntegersByRadixSort(final int n) {
+        if (!isConfigBenchmarkIntegerSorter("radixsort")) return;
+        final Random random = new Random();
+
+        // sort int[]
+        final Supplier<int[]> intsSupplier = intsSupplier(n, random);
+        runArraySortBenchmark("intArraysorter", intsSupplier, Arrays::sort, n);
+        for (int bits : RADIX_SORT_BITS) {
+            final LSDRadixSort sorter = new LSDRadixSort(bits);
+            runArraySortBenchmark("int " + sorter, intsSupplier, sorter::sort, n);
+        }
+
+        // sort long[]
+        final Supplier<long[]> longsSupplier = () -> {
+            long[] result = new long[n];
+            for (int i = 0; i < n; i++) result[i] = random.nextLong();
+            return result;
+        };
+        runArraySortBenchmark("longArraysorter", longsSupplier, Arrays::sort, n);
+        for (int bits : RADIX_SORT_BITS) {
+            final LSDRadixSort sorter = new LSDRadixSort(bits);
+            runArraySortBenchmark("long " + sorter, longsSupplier, sorter::sort, n);
+        }
+
+        // sort Integer[]
+        final Supplier<Integer[]> integersSupplier = integersSupplier(n, random);
+        runArraySortBenchmark("integerArraysorter", integersSupplier, Arrays::sort, n);
+        final KeyRadixSort<Integer> keyRadixSort = new KeyRadixSort<>(config, Integer::longValue);
+        runArraySortBenchmark("Integer " + KeyRadixSort.DESCRIPTION, integersSupplier, keyRadixSort::mutatingSort, n);
+    }
+
+    /**
+     * Method to compare the non-instrumented (fast) paths of some SortWithHelper sorts with Arrays.sort on Integer[].
+     * NOTE that InsertionSort is exercised as the base case of MergeSort and QuickSort.
+     * Each sorter is first run with an InstrumentedHelper, and then with a BaseHelper,
+     * so that (as in the other benchmarks) calls to Helper are polymorphic by the time that the sorts are timed.
+     *
+     * @param n the number of elements to be sorted.
+     */
+    private void sortIntegersByHelperFastPath(final int n) {
+        if (!isConfigBenchmarkIntegerSorter("helperfastpath")) return;
+        final Supplier<Integer[]> integersSupplier = integersSupplier(n, new Random());
+        runArraySortBenchmark("integerArraysorter", integersSupplier, Arrays::sort, n);
+        final Helper<Integer> instrumented = HelperFactory.create("instrumented", n, true, config);
+        final Helper<Integer> helper = HelperFactory.create("fast path", n, false, config);
+        final List<Function<Helper<Integer>, SortWithHelper<Integer>>> sorterFactories = Arrays.asList(
+                MergeSort::new, MultiwayMergeSort::new, TimSort::new, QuickSort_DualPivot::new, QuickSort_3way::new, h -> new ShellSort<>(3, h),
+                HeapSort_BottomUp::new, HeapSort_4ary::new);
+        for (Function<Helper<Integer>, SortWithHelper<Integer>> sorterFactory : sorterFactories) {
+            sorterFactory.apply(instrumented).sort(integersSupplier.get(), false);
+            final SortWithHelper<Integer> sorter = sorterFactory.apply(helper);
+            runArraySortBenchmark("Integer " + sorter, integersSupplier, sorter::mutatingSort, n);
+        }
+    }
+
+    /**
+     * Method to compare the partitioners of QuickSort (basic, 3-way, dual-pivot and block) with Arrays.sort on Integer[].
+     * As in sortIntegersByHelperFastPath, each sorter is first run with an InstrumentedHelper.
+     *
+     * @param n the number of elements to be sorted.
+     */
+    private void sortIntegersByQuickSort(final int n) {
+        if (!isConfigBenchmarkIntegerSorter("quicksort")) return;
+        final Supplier<Integer[]> integersSupplier = integersSupplier(n, new Random());
+        runArraySortBenchmark("integerArraysorter", integersSupplier, Arrays::sort, n);
+        final Helper<Integer> instrumented = HelperFactory.create("instrumented", n, true, config);
+        final List<Function<Helper<Integer>, QuickSort<Integer>>> sorterFactories = Arrays.asList(
+                QuickSort_Basic::new, QuickSort_3way::new, QuickSort_DualPivot::new, QuickSort_Block::new);
+        for (Function<Helper<Integer>, QuickSort<Integer>> sorterFactory : sorterFactories) {
+            sorterFactory.apply(instrumented).sort(integersSupplier.get(), false);
+            final QuickSort<Integer> sorter = sorterFactory.apply(HelperFactory.create("fast path", n, false, config));
+            final String description = "Integer " + sorter.getClass().getSimpleName();
+            runArraySortBenchmark(description, integersSupplier, sorter::mutatingSort, n);
+        }
+    }
+
+    /**
+     * Method to compare the base-case sorters (InsertionSort, InsertionSortOpt and SortingNetwork) at several cutoffs.
+     * For each cutoff c, an array of n elements is sorted in blocks of c elements (which is the work done
+     * below the cutoff by MergeSort or QuickSort); for int[], the sorting network is compared with insertion sort.
+     * Then MergeSort and QuickSort_DualPivot are run with each base case (as selected by basecase in [helper]):
+     * NOTE MergeSort is stable, so it uses plain insertion sort when the base case is insertionopt or network.
+     *
+     * @param n the number of elements to be sorted.
+     */
+    private void sortIntegersByBaseCase(final int n) {
+        if (!isConfigBenchmarkIntegerSorter("basecase")) return;
+        final Random random = new Random();
+        final Supplier<Integer[]> integersSupplier = integersSupplier(n, random);
+        final Supplier<int[]> intsSupplier = intsSupplier(n, random);
+        final Helper<Integer> instrumented = HelperFactory.create("instrumented", n, true, config);
+        final Helper<Integer> helper = HelperFactory.create("fast path", n, false, config);
+        final List<Function<Helper<Integer>, InsertionSort<Integer>>> sorterFactories = Arrays.asList(
+                InsertionSort::new, InsertionSortOpt::new, SortingNetwork::new);
+        for (int cutoff : BASE_CASE_CUTOFFS) {
+            for (Function<Helper<Integer>, InsertionSort<Integer>> sorterFactory : sorterFactories) {
+                final InsertionSort<Integer> warmup = sorterFactory.apply(instrumented);
+                sortBlocks(integersSupplier.get(), cutoff, warmup::sort);
+                final InsertionSort<Integer> sorter = sorterFactory.apply(helper);
+                runArraySortBenchmark("Integer " + sorter + " in blocks of " + cutoff, integersSupplier, xs -> sortBlocks(xs, cutoff, sorter::sort), n);
+            }
+            runArraySortBenchmark("int insertion sort in blocks of " + cutoff, intsSupplier, xs -> sortBlocks(xs, cutoff, SortingNetwork::insertionSort), n);
+            runArraySortBenchmark("int sorting network in blocks of " + cutoff, intsSupplier, xs -> sortBlocks(xs, cutoff, SortingNetwork::sort), n);
+        }
+        for (String baseCase : new String[]{InsertionSort.BASECASE_INSERTION, InsertionSort.BASECASE_INSERTION_OPT, InsertionSort.BASECASE_NETWORK}) {
+            final Config baseCaseConfig = config.copy(Config.HELPER, InsertionSort.BASECASE, baseCase);
+            final List<Function<Helper<Integer>, SortWithHelper<Integer>>> factories = Arrays.asList(MergeSort::new, QuickSort_DualPivot::new);
+            for (Function<Helper<Integer>, SortWithHelper<Integer>> sorterFactory : factories) {
+                sorterFactory.apply(HelperFactory.create("instrumented", n, true, baseCaseConfig)).sort(integersSupplier.get(), false);
+                final SortWithHelper<Integer> sorter = sorterFactory.apply(HelperFactory.create("fast path", n, false, baseCaseConfig));
+                runArraySortBenchmark("Integer " + sorter + " with basecase " + baseCase, integersSupplier, sorter::mutatingSort, n);
+            }
+        }
+    }
+
+    private interface BlockSorter<T> {
+        void sort(T xs, int from, int to);
+    }
+
+    private static <T> void sortBlocks(T xs, int blockSize, BlockSorter<T> sorter) {
+        final int n = Array.getLength(xs);
+        for (int from = 0; from < n; from += blockSize) sorter.sort(xs, from, Math.min(from + blockSize, n));
+    }
+
+    private static final int[] BASE_CASE_CUTOFFS = {4, 8, 12, 16};
+
+    /**
+     * Method to compare the gap sequences of ShellSort (other than plain insertion sort), each run both on the calling
+     * thread and with its h-sorts on the common pool, for n/100, n/10 and n elements.
+     * Each ShellSort is created by ShellSort.create, with gaps and parallel set accordingly in [shellsort].
+     *
+     * @param n the largest number of elements to be sorted.
+     */
+    private void sortIntegersByShellSortGaps(final int n) {
+        if (!isConfigBenchmarkIntegerSorter("shellsortgaps")) return;
+        final Random random = new Random();
+        for (int m = Math.max(1, n / 100); m <= n; m *= 10) {
+            final int size = m;
+            final Supplier<Integer[]> integersSupplier = integersSupplier(size, random);
+            runArraySortBenchmark("integerArraysorter", integersSupplier, Arrays::sort, size);
+            for (GapSequences gaps : GapSequences.values()) {
+                if (gaps == GapSequences.INSERTION) continue;
+                for (boolean parallel : new boolean[]{false, true}) {
+                    final Config shellSortConfig = config.copy(ShellSort.SHELLSORT, ShellSort.GAPS, gaps.name()).copy(ShellSort.SHELLSORT, ShellSort.PARALLEL, Boolean.toString(parallel));
+                    final ShellSort<Integer> sorter = ShellSort.create(HelperFactory.<Integer>create("fast path", size, false, shellSortConfig));
+                    final String description = "Integer ShellSort with " + gaps + " gaps" + (parallel ? " in parallel" : "");
+                    runArraySortBenchmark(description, integersSupplier, sorter::mutatingSort, size);
+                }
+            }
+        }
+    }
+
+    /**
+     * Method to compare selection (select, partialSort and topK, from Selection) with a full sort,
+     * where only the median, or the smallest (largest) SELECTION_K elements, are required.
+     *
+     * @param n the number of elements.
+     */
+    private void selectIntegers(final int n) {
+        if (!isConfigBenchmarkIntegerSorter("selection")) return;
+        final Supplier<Integer[]> integersSupplier = integersSupplier(n, new Random());
+        final int k = Math.min(SELECTION_K, n);
+        runArraySortBenchmark("integerArraysorter", integersSupplier, Arrays::sort, n);
+        final SortWithHelper<Integer> sorter = new QuickSort_DualPivot<>(HelperFactory.<Integer>create("fast path", n, false, config));
+        runArraySortBenchmark("Integer " + sorter, integersSupplier, sorter::mutatingSort, n);
+        final Selection<Integer> selection = new Selection<>(HelperFactory.<Integer>create("fast path", n, false, config));
+        runArraySortBenchmark("Integer select median", integersSupplier, xs -> selection.select(xs, n / 2), n);
+        runArraySortBenchmark("Integer partialSort " + k, integersSupplier, xs -> selection.partialSort(xs, k), n);
+        runArraySortBenchmark("Integer topK " + k, integersSupplier, xs -> Selection.topK(Arrays.asList(xs), k), n);
+    }
+
+    private static final int SELECTION_K = 1000;
+
+    private static <T> void runArraySortBenchmark(String description, Supplier<T> supplier, Consumer<T> sorter, int n) {
+        final double time = new Benchmark_Timer<>(description, null, sorter, null).runFromSupplier(supplier, 100);
+        logger.info(description + ":");
+        for (TimeLogger timeLogger : timeLoggersLinearithmic) timeLogger.log(time, n);
+    }
+
+    /**
+     * Method to yield a supplier of random Integer arrays, for the benchmarks in [benchmarkintegersorters].
+     *
+     * @param n      the number of elements in each array.
+     * @param random the source of randomness.
+     * @return a Supplier of Integer[].
+     */
+    private static Supplier<Integer[]> integersSupplier(final int n, final Random random) {
+        return () -> {
+            Integer[] result = new Integer[n];
+            for (int i = 0; i < n; i++) result[i] = random.nextInt();
+            return result;
+        };
+    }
+
+    /**
+     * Method to yield a supplier of random int arrays, for the benchmarks in [benchmarkintegersorters].
+     *
+     * @param n      the number of elements in each array.
+     * @param random the source of randomness.
+     * @return a Supplier of int[].
+     */
+    private static Supplier<int[]> intsSupplier(final int n, final Random random) {
+        return () -> {
+            int[] result = new int[n];
+            for (int i = 0; i < n; i++) result[i] = random.nextInt();
+            return result;
+        };
+    }
+
+    private static final int[] RADIX_SORT_BITS = {8, 11, 16};
+
     // This was added by a Student. Need to figure out what to do with it. What's different from the method with int parameter??
     private void sortIntegersByShellSort() throws IOException {
         if (isConfigBenchmarkIntegerSorter("shellsort")) {
@@ -367,9 +643,14 @@ public class SortBenchmark {
 
     @SuppressWarnings("SameParameterValue")
     private void runDateTimeSortBenchmark(Class<?> tClass, ChronoLocalDateTime<?>[] dateTimes, int N, int m) throws IOException {
-        final SortWithHelper<ChronoLocalDateTime<?>> sorter = new TimSort<>();
+        runDateTimeSortBenchmark(tClass, dateTimes, N, m, new TimSort<>());
+    }
+
+    @SuppressWarnings("SameParameterValue")
+    private void runDateTimeSortBenchmark(Class<?> tClass, ChronoLocalDateTime<?>[] dateTimes, int N, int m, SortWithHelper<ChronoLocalDateTime<?>> sorter) {
         @SuppressWarnings("unchecked") final SorterBenchmark<ChronoLocalDateTime<?>> sorterBenchmark = new SorterBenchmark<>((Class<ChronoLocalDateTime<?>>) tClass, (xs) -> Arrays.copyOf(xs, xs.length), sorter, dateTimes, m, timeLoggersLinearithmic);
         sorterBenchmark.run(N);
+        sorter.close();
     }
 
     /**
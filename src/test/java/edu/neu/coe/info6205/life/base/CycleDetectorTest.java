@@ -0,0 +1,71 @@
+package edu.neu.coe.info6205.life.base;
+
+import edu.neu.coe.info6205.util.Config;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+
+public class CycleDetectorTest {
+
+    @Test
+    public void testStillLife() {
+        final CycleDetector target = new CycleDetector();
+        assertEquals(0, target.test(0, 42L));
+        assertEquals(1, target.test(1, 42L));
+        assertEquals(1, target.getPeriod());
+    }
+
+    @Test
+    public void testRecent() {
+        // NOTE with a period no greater than recent, the cycle is detected as soon as the first state repeats.
+        final CycleDetector target = new CycleDetector(8, 1);
+        final long[] states = {1, 2, 3, 4, 5, 6, 4, 5, 6};
+        for (int i = 0; i < 6; i++) assertEquals(0, target.test(i, states[i]));
+        assertEquals(3, target.test(6, states[6]));
+    }
+
+    @Test
+    public void testRecentEviction() {
+        final CycleDetector target = new CycleDetector(2, 1);
+        final long[] states = {1, 2, 3, 1};
+        for (int i = 0; i < 4; i++) assertEquals(0, target.test(i, states[i]));
+    }
+
+    @Test
+    public void testBrent() {
+        // NOTE a pre-period of 10 and a period of 37, which is too long for the ring of recent states.
+        final CycleDetector target = new CycleDetector(4, 64);
+        long period = 0;
+        int generation = 0;
+        while (period == 0 && generation < 1000) {
+            final int state = generation < 10 ? generation : 10 + (generation - 10) % 37;
+            period = target.test(generation++, 1000L + state);
+        }
+        assertEquals(37, period);
+        assertEquals(37, target.getPeriod());
+        assertEquals(true, generation < 10 + 2 * 64 + 37);
+    }
+
+    @Test
+    public void testBrentMaxPeriod() {
+        // NOTE the period of 37 exceeds the maximum period, so it is never detected.
+        final CycleDetector target = new CycleDetector(4, 16);
+        for (int generation = 0; generation < 10000; generation++)
+            assertEquals(0, target.test(generation, 1000L + generation % 37));
+    }
+
+    @Test
+    public void testCreate() throws IOException {
+        final CycleDetector target = CycleDetector.create(Config.load(CycleDetectorTest.class));
+        assertEquals(0, target.test(0, 1L));
+        assertEquals(0, target.test(1, 2L));
+        assertEquals(2, target.test(2, 1L));
+    }
+
+    @Test(expected = LifeException.class)
+    public void testConstructor() {
+        new CycleDetector(0, 16);
+    }
+}
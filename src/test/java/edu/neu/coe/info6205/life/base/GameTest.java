@@ -2,11 +2,26 @@ package edu.neu.coe.info6205.life.base;
 
 import org.junit.Test;
 
+import static edu.neu.coe.info6205.life.library.Library.*;
+import static org.junit.Assert.assertEquals;
+
 public class GameTest {
 
     @Test
     public void run() {
-        // TESTME
+        // NOTE the Game terminates when the first state repeats.
+        assertEquals(1L, Game.run(Block).getGeneration());
+        assertEquals(2L, Game.run(Blinker).getGeneration());
+        assertEquals(1L, Game.run(Blip).getGeneration());
+    }
+
+    @Test
+    public void runBrent() {
+        // NOTE the blinker's period of 2 is too long for a ring of one recent state: it is detected by Brent's algorithm.
+        final CycleDetector detector = new CycleDetector(1, 16);
+        final Game game = Game.run(Blinker, detector);
+        assertEquals(2L, detector.getPeriod());
+        assertEquals(3L, game.getGeneration());
     }
 
     @Test
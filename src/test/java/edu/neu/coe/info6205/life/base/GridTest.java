@@ -3,11 +3,13 @@ package edu.neu.coe.info6205.life.base;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
-import static edu.neu.coe.info6205.life.library.Library.Glider1;
-import static edu.neu.coe.info6205.life.library.Library.Glider2;
+import static edu.neu.coe.info6205.life.library.Library.*;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class GridTest {
 
@@ -54,4 +56,79 @@ public class GridTest {
         target.add(Group.create(0L, Glider1));
         assertEquals("O**\n" + "..*\n" + ".*.\n" + "Origin: {0, 0}\n", target.render());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testMergeGroupsDisjoint() {
+        final List<Group> groups = new ArrayList<>();
+        for (int i = 0; i < 100; i++) groups.add(Group.create(0L, Blinker).move(10 * (i % 10), 10 * (i / 10)));
+        List<Group> target = Grid.mergeGroups(groups);
+        assertEquals(100, target.size());
+        for (int i = 0; i < 100; i++) assertEquals(groups.get(i), target.get(i));
+    }
+
+    @Test
+    public void testMergeGroupsTransitive() {
+        // NOTE each blinker overlaps only its neighbors, but they must all be merged into one group.
+        final List<Group> groups = new ArrayList<>();
+        final List<Point> cells = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            final Group blinker = Group.create(0L, Blinker).move(2 * i, 0);
+            groups.add(blinker);
+            cells.addAll(blinker.pointsAbsolute());
+        }
+        groups.add(Group.create(0L, Blinker).move(100, 100));
+        List<Group> target = Grid.mergeGroups(groups);
+        assertEquals(2, target.size());
+        assertEquals(15, target.get(0).getCount());
+        assertEquals(new HashSet<>(cells), new HashSet<>(target.get(0).pointsAbsolute()));
+        assertEquals(groups.get(5), target.get(1));
+    }
+
+    @Test(timeout = 10000)
+    public void testMergeGroupsOversized() {
+        // NOTE one huge group among many small ones: the mean span is about 100000, so that the huge group would
+        // touch 10^8 buckets if it were entered in each of them (and all the small ones would share one bucket).
+        final List<Group> groups = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) groups.add(Group.create(0L, Blinker).move(-10 * (i % 100) - 10, -10 * (i / 100) - 10));
+        final Group huge = Group.create(0L, new Point(0, 0));
+        assertTrue(huge.add(new Point(1000000000, 1000000000)));
+        groups.add(huge);
+        final Group inside = Group.create(0L, Blinker).move(500, 500);
+        groups.add(inside);
+        List<Group> target = Grid.mergeGroups(groups);
+        assertEquals(10001, target.size());
+        for (int i = 0; i < 10000; i++) assertEquals(groups.get(i), target.get(i));
+        assertEquals(5, target.get(10000).getCount());
+    }
+
+    @Test
+    public void testMergeGroupsDropsEmpty() {
+        final List<Group> groups = new ArrayList<>();
+        groups.add(Group.create(0L, Blip).newGeneration(1L));
+        groups.add(Group.create(0L, Block));
+        List<Group> target = Grid.mergeGroups(groups);
+        assertEquals(1, target.size());
+        assertEquals(4, target.get(0).getCount());
+    }
+
+    @Test
+    public void testGenerationParallel() {
+        final Grid sequential = new Grid(0L, null);
+        final Grid parallel = new Grid(0L, ForkJoinPool.commonPool());
+        for (int i = 0; i < 200; i++) {
+            final Group blinker = Group.create(0L, Blinker).move(10 * (i % 20), 10 * (i / 20));
+            assertTrue(sequential.add(blinker));
+            assertTrue(parallel.add(blinker));
+        }
+        Grid s = sequential, p = parallel;
+        for (int i = 0; i < 4; i++) {
+            s = s.generation((l, g) -> {
+            });
+            p = p.generation((l, g) -> {
+            });
+            assertEquals(600, s.getCount());
+            assertEquals(s, p);
+        }
+        assertEquals(sequential.render(), s.render());
+    }
+}
@@ -7,6 +7,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 import static edu.neu.coe.info6205.life.base.Grid.Origin;
 import static edu.neu.coe.info6205.life.library.Library.*;
@@ -607,4 +608,24 @@ public class GroupTest {
         Collections.sort(glider4Points);
         assertEquals(expectedPoints, glider4Points);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testZobrist() {
+        // NOTE the Zobrist hash is maintained incrementally, but it must always agree with the cells.
+        final Random random = new Random(0L);
+        final List<Point> cells = new ArrayList<>();
+        for (int x = 0; x < 12; x++)
+            for (int y = 0; y < 12; y++)
+                if (random.nextBoolean()) cells.add(new Point(x, y));
+        Group target = new Group(0L);
+        assertTrue(target.add(cells));
+        for (int i = 0; i < 20; i++) {
+            long expected = 0L;
+            for (Point p : target.pointsAbsolute()) expected ^= p.zobrist();
+            assertEquals(expected, target.getZobrist());
+            target = target.newGeneration(i + 1);
+        }
+        assertEquals(Group.create(0L, Glider1).getZobrist(), Group.create(0L, Glider1).getZobrist());
+        assertNotEquals(Group.create(0L, Glider1).getZobrist(), Group.create(0L, Glider1).move(1, 0).getZobrist());
+    }
+}
@@ -0,0 +1,192 @@
+package edu.neu.coe.info6205.life.base;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static edu.neu.coe.info6205.life.library.Library.*;
+import static org.junit.Assert.*;
+
+public class HashLifeTest {
+
+    @Test
+    public void testCreate() {
+        final HashLife target = HashLife.create(0L, Glider1);
+        assertEquals(5, target.getCount());
+        assertEquals(0L, target.getGeneration());
+        assertTrue(target.isAlive(0, 0));
+        assertTrue(target.isAlive(1, -2));
+        assertFalse(target.isAlive(0, -1));
+        assertFalse(target.isAlive(1000, 1000));
+        assertEquals(new HashSet<>(Group.create(0L, Glider1).pointsAbsolute()), new HashSet<>(target.points()));
+    }
+
+    @Test
+    public void testCreateFromGroup() {
+        final Group group = Group.create(0L, Beehive);
+        final HashLife target = HashLife.create(group);
+        assertEquals(6, target.getCount());
+        assertEquals(HashLife.create(0L, Beehive), target);
+    }
+
+    @Test
+    public void testRender() {
+        assertEquals(Group.create(0L, Glider1).render(), HashLife.create(0L, Glider1).render());
+        final HashLife loaf = HashLife.create(0L, Loaf);
+        assertEquals(loaf.toGroup().render(), loaf.render());
+    }
+
+    @Test
+    public void testGeneration() {
+        final HashLife target = HashLife.create(0L, Blinker);
+        final List<Long> generations = new ArrayList<>();
+        final HashLife gen1 = target.generation((l, v) -> generations.add(l));
+        assertEquals(1, generations.size());
+        assertEquals(Long.valueOf(0L), generations.get(0));
+        assertEquals(1L, gen1.getGeneration());
+        assertEquals("*O*\nOrigin: {0, 0}\n", gen1.render());
+        final HashLife gen2 = gen1.generation((l, v) -> generations.add(l));
+        assertEquals(target, gen2);
+        assertNotEquals(target, gen1);
+        assertEquals(target.hashCode(), gen2.hashCode());
+    }
+
+    @Test
+    public void testStillLifes() {
+        for (String pattern : new String[]{Block, Beehive, Loaf}) {
+            final HashLife target = HashLife.create(0L, pattern);
+            assertEquals(target, target.advance(1));
+            assertEquals(target, target.advance(1000001));
+        }
+    }
+
+    @Test
+    public void testDeath() {
+        final HashLife target = HashLife.create(0L, Blip2).advance(1);
+        assertEquals(0, target.getCount());
+        assertEquals(0, target.advance(1 << 20).getCount());
+    }
+
+    @Test
+    public void testGliderAgainstGroup() {
+        checkAgainstGroup(Group.create(0L, Glider1), 40);
+        checkAgainstGroup(Group.create(0L, Glider2), 40);
+        checkAgainstGroup(Group.create(0L, Glider3), 40);
+    }
+
+    @Test
+    public void testSoupAgainstGroup() {
+        final Random random = new Random(0L);
+        for (int k = 0; k < 5; k++) {
+            final List<Point> points = new ArrayList<>();
+            for (int x = 0; x < 12; x++)
+                for (int y = 0; y < 12; y++)
+                    if (random.nextBoolean()) points.add(new Point(x, y));
+            final Group group = new Group(0L);
+            assertTrue(group.add(points));
+            checkAgainstGroup(group, 30);
+        }
+    }
+
+    @Test
+    public void testAdvance() {
+        final HashLife target = HashLife.create(0L, Glider1);
+        HashLife stepped = target;
+        for (int i = 0; i < 100; i++) stepped = stepped.generation((l, v) -> {
+        });
+        final HashLife advanced = target.advance(100);
+        assertEquals(100L, advanced.getGeneration());
+        assertEquals(stepped, advanced);
+        assertEquals(advanced, target.advance(37).advance(63));
+    }
+
+    @Test
+    public void testSuperspeed() {
+        // NOTE a glider moves one cell diagonally every four generations.
+        final HashLife target = HashLife.create(0L, Glider1);
+        final Point vector = vector(target.points(), target.advance(4).points());
+        final long generations = 4000000000L;
+        final HashLife advanced = target.advance(generations);
+        assertEquals(generations, advanced.getGeneration());
+        assertEquals(5, advanced.getCount());
+        final int distance = (int) (generations / 4);
+        final Set<Point> expected = new HashSet<>();
+        for (Point p : target.points()) expected.add(p.move(vector.getX() * distance, vector.getY() * distance));
+        assertEquals(expected, new HashSet<>(advanced.points()));
+    }
+
+    @Test(expected = LifeException.class)
+    public void testAdvanceNegative() {
+        HashLife.create(0L, Glider1).advance(-1);
+    }
+
+    @Test
+    public void testToGroup() {
+        final HashLife target = HashLife.create(0L, Glider1).advance(8);
+        final Group group = target.toGroup();
+        assertEquals(8L, group.getGeneration());
+        assertEquals(target.render(), group.render());
+        assertEquals(target, HashLife.create(group));
+    }
+
+    private static Set<Point> normalize(List<Point> points) {
+        int x = Integer.MAX_VALUE, y = Integer.MAX_VALUE;
+        for (Point p : points) {
+            x = Math.min(x, p.getX());
+            y = Math.min(y, p.getY());
+        }
+        final Set<Point> result = new HashSet<>();
+        for (Point p : points) result.add(p.move(-x, -y));
+        return result;
+    }
+
+    private static Set<Point> step(Set<Point> cells) {
+        final Map<Point, Integer> neighbors = new HashMap<>();
+        for (Point p : cells)
+            for (int dx = -1; dx <= 1; dx++)
+                for (int dy = -1; dy <= 1; dy++)
+                    if (dx != 0 || dy != 0) neighbors.merge(p.move(dx, dy), 1, Integer::sum);
+        final Set<Point> result = new HashSet<>();
+        for (Map.Entry<Point, Integer> entry : neighbors.entrySet())
+            if (entry.getValue() == 3 || entry.getValue() == 2 && cells.contains(entry.getKey())) result.add(entry.getKey());
+        return result;
+    }
+
+    private static Point vector(List<Point> from, List<Point> to) {
+        int fx = 0, fy = 0, tx = 0, ty = 0;
+        for (Point p : from) {
+            fx += p.getX();
+            fy += p.getY();
+        }
+        for (Point p : to) {
+            tx += p.getX();
+            ty += p.getY();
+        }
+        return new Point((tx - fx) / from.size(), (ty - fy) / from.size());
+    }
+
+    /**
+     * NOTE Group does not always keep track of its absolute position from one generation to the next,
+     * so we compare its cells with those of HashLife only up to translation.
+     * The absolute positions are checked against a simple (but slow) implementation of the rules.
+     */
+    private static void checkAgainstGroup(Group group, int generations) {
+        HashLife hashLife = HashLife.create(group);
+        Set<Point> cells = new HashSet<>(group.pointsAbsolute());
+        for (int i = 0; i < generations; i++) {
+            assertEquals("generation " + i, cells, new HashSet<>(hashLife.points()));
+            assertEquals("generation " + i, normalize(group.pointsAbsolute()), normalize(hashLife.points()));
+            assertEquals(group.getCount(), hashLife.getCount());
+            cells = step(cells);
+            group = group.newGeneration(i + 1);
+            hashLife = hashLife.generation((l, v) -> {
+            });
+        }
+    }
+}
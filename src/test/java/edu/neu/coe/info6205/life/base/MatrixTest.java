@@ -3,7 +3,12 @@ package edu.neu.coe.info6205.life.base;
 import edu.neu.coe.info6205.util.PrivateMethodTester;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
 
 import static org.junit.Assert.*;
 
@@ -51,7 +56,7 @@ public class MatrixTest {
 
     //		@Test
     public void testConstructor3() {
-        final Matrix matrix3 = new Matrix(3, 3, (x, y) -> x * (y / 2), (x, y) -> y % 2 == 0 ? 0L : 0xFFFFFFFFL);
+        final Matrix matrix3 = new Matrix(3, 3, (x, y) -> x * (y / 2), (x, y) -> y % 2 == 0 ? 0L : 0xFFFFFFFFFFFFFFFFL);
         Matrix target = new Matrix(matrix3, 1, 1, 1, 1);
         final PrivateMethodTester targetTester = new PrivateMethodTester(target);
         assertEquals(5, targetTester.invokePrivate("getWidth"));
@@ -72,7 +77,7 @@ public class MatrixTest {
     @Test
     public void testConstructor4() {
         // TESTME introduce an assertion
-        final Matrix matrix2 = new Matrix(3, 3, (x, y) -> x * y, (x, y) -> 0xFFFFFFFFL);
+        final Matrix matrix2 = new Matrix(3, 3, (x, y) -> x * y, (x, y) -> 0xFFFFFFFFFFFFFFFFL);
     }
 
 
@@ -93,7 +98,7 @@ public class MatrixTest {
         Matrix target = new Matrix(10, 1);
         assertEquals("0\n", target.toString());
         target.addCell(new Point(1, 0));
-        assertEquals("40000000\n", target.toString());
+        assertEquals("4000000000000000\n", target.toString());
     }
 
     @Test
@@ -106,7 +111,7 @@ public class MatrixTest {
 
     @Test
     public void testIsCell2() {
-        Matrix target = new Matrix(3, 3, (x, y) -> x * y, (x, y) -> 0xFFFFFFFFL);
+        Matrix target = new Matrix(3, 3, (x, y) -> x * y, (x, y) -> 0xFFFFFFFFFFFFFFFFL);
         for (int k = 0; k < 3; k++)
             for (int l = 0; l < 3; l++)
                 assertTrue(target.isCell(new Point(k, l)));
@@ -114,7 +119,7 @@ public class MatrixTest {
 
     @Test
     public void testIsCell3() {
-        Matrix target = new Matrix(3, 3, (x, y) -> x * (y / 2), (x, y) -> y % 2 == 0 ? 0L : 0xFFFFFFFFL);
+        Matrix target = new Matrix(3, 3, (x, y) -> x * (y / 2), (x, y) -> y % 2 == 0 ? 0L : 0xFFFFFFFFFFFFFFFFL);
         for (int k = 0; k < 3; k++)
             for (int l = 0; l < 3; l++)
                 assertEquals(l % 2 != 0, target.isCell(new Point(k, l)));
@@ -188,8 +193,98 @@ public class MatrixTest {
     @Test
     public void testGetCount() {
         assertEquals(0, new Matrix(3, 3).getCount());
-        assertEquals(9, new Matrix(3, 3, (x, y) -> x * y, (x, y) -> 0xFFFFFFFFL).getCount());
-        assertEquals(3, new Matrix(3, 3, (x, y) -> x * (y / 2), (x, y) -> y % 2 == 0 ? 0L : 0xFFFFFFFFL).getCount());
+        assertEquals(9, new Matrix(3, 3, (x, y) -> x * y, (x, y) -> 0xFFFFFFFFFFFFFFFFL).getCount());
+        assertEquals(3, new Matrix(3, 3, (x, y) -> x * (y / 2), (x, y) -> y % 2 == 0 ? 0L : 0xFFFFFFFFFFFFFFFFL).getCount());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testGetCells() {
+        Matrix target = new Matrix(130, 3);
+        final List<Point> points = new ArrayList<>();
+        for (int x : new int[]{1, 63, 64, 65, 127, 128}) points.add(new Point(x, 1));
+        for (Point p : points) target.addCell(p);
+        assertEquals(points, target.getCells());
+    }
+
+    @Test
+    public void testGenerationBlinker() {
+        Matrix target = new Matrix(5, 5);
+        for (int y = 1; y < 4; y++) target.addCell(new Point(2, y));
+        final Matrix gen1 = target.generation();
+        assertEquals(3, gen1.getCount());
+        for (int x = 1; x < 4; x++) assertTrue(gen1.isCell(new Point(x, 2)));
+        assertEquals(target, gen1.generation());
+    }
+
+    @Test
+    public void testGenerationAcrossWords() {
+        // NOTE the blinker straddles the boundary between the first and second words of each row.
+        Matrix target = new Matrix(130, 5);
+        for (int x = 63; x < 66; x++) target.addCell(new Point(x, 2));
+        final Matrix gen1 = target.generation();
+        assertEquals(3, gen1.getCount());
+        for (int y = 1; y < 4; y++) assertTrue(gen1.isCell(new Point(64, y)));
+        assertEquals(target.getCells(), gen1.generation().getCells());
+    }
+
+    @Test
+    public void testGenerationAgainstNeighbors() {
+        final Random random = new Random(0L);
+        for (int width : new int[]{10, 64, 100, 200})
+            // NOTE Neighbors requires that the outer rows and columns are clear, so we use a new soup each time.
+            for (int k = 0; k < 10; k++) {
+                final Matrix target = soup(random, width, 50);
+                final Matrix next = target.generation();
+                final Matrix.Neighbors neighbors = target.getNeighbors();
+                for (int j = 0; j < 50; j++)
+                    for (int i = 0; i < width; i++) {
+                        final Point p = new Point(i, j);
+                        final int count = neighbors.getCount(p);
+                        assertEquals("cell " + p, count == 3 || count == 2 && target.isCell(p), next.isCell(p));
+                    }
+            }
+    }
+
+    @Test
+    public void testGenerationAgainstGroup() {
+        final Random random = new Random(1L);
+        final List<Point> points = new ArrayList<>();
+        for (int x = 0; x < 20; x++)
+            for (int y = 0; y < 20; y++)
+                if (random.nextBoolean()) points.add(new Point(x, y));
+        Group group = new Group(0L);
+        assertTrue(group.add(points));
+        // NOTE the margin is large enough that nothing reaches the boundary of the Matrix in 20 generations.
+        final int margin = 30;
+        Matrix target = new Matrix(20 + 2 * margin, 20 + 2 * margin);
+        for (Point p : points) target.addCell(p.move(margin, margin));
+        for (int k = 0; k < 20; k++) {
+            assertEquals(group.getCount(), target.getCount());
+            assertEquals(normalize(group.pointsAbsolute()), normalize(target.getCells()));
+            group = group.newGeneration(k + 1);
+            target = target.generation();
+        }
+    }
+
+    private static Matrix soup(Random random, int width, int height) {
+        Matrix result = new Matrix(width, height);
+        for (int j = 1; j < height - 1; j++)
+            for (int i = 1; i < width - 1; i++)
+                if (random.nextBoolean()) result.addCell(new Point(i, j));
+        return result;
+    }
+
+    /**
+     * NOTE Group does not keep track of its absolute position, so we compare only up to translation.
+     */
+    private static Set<Point> normalize(List<Point> points) {
+        int x = Integer.MAX_VALUE, y = Integer.MAX_VALUE;
+        for (Point p : points) {
+            x = Math.min(x, p.getX());
+            y = Math.min(y, p.getY());
+        }
+        final Set<Point> result = new HashSet<>();
+        for (Point p : points) result.add(p.move(-x, -y));
+        return result;
+    }
+}
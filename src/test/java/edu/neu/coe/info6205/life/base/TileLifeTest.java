@@ -0,0 +1,117 @@
+package edu.neu.coe.info6205.life.base;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static edu.neu.coe.info6205.life.library.Library.*;
+import static org.junit.Assert.*;
+
+public class TileLifeTest {
+
+    @Test
+    public void testCreate() {
+        final TileLife target = TileLife.create(0L, Glider1);
+        assertEquals(5, target.getCount());
+        assertEquals(0L, target.getGeneration());
+        // NOTE the glider straddles the tiles at (0, 0) and (0, -1).
+        assertEquals(2, target.getTileCount());
+        assertTrue(target.isAlive(0, 0));
+        assertTrue(target.isAlive(1, -2));
+        assertFalse(target.isAlive(0, -1));
+        assertEquals(new HashSet<>(Group.create(0L, Glider1).pointsAbsolute()), new HashSet<>(target.points()));
+    }
+
+    @Test
+    public void testRender() {
+        assertEquals(Group.create(0L, Glider1).render(), TileLife.create(0L, Glider1).render());
+        assertEquals(TileLife.create(0L, Loaf).toGroup().render(), TileLife.create(0L, Loaf).render());
+    }
+
+    @Test
+    public void testGeneration() {
+        final TileLife target = TileLife.create(0L, Blinker);
+        final List<Long> generations = new ArrayList<>();
+        final TileLife gen1 = target.generation((l, v) -> generations.add(l));
+        assertEquals(1, generations.size());
+        assertEquals(Long.valueOf(0L), generations.get(0));
+        assertEquals(1L, gen1.getGeneration());
+        assertEquals("*O*\nOrigin: {0, 0}\n", gen1.render());
+        final TileLife gen2 = gen1.generation((l, v) -> generations.add(l));
+        assertEquals(target, gen2);
+        assertNotEquals(target, gen1);
+        assertEquals(target.hashCode(), gen2.hashCode());
+    }
+
+    @Test
+    public void testStillLife() {
+        final TileLife target = TileLife.create(0L, Beehive);
+        final TileLife gen1 = step(target, 1);
+        assertEquals(target, gen1);
+        // NOTE nothing changed, so nothing need be recalculated.
+        assertEquals(0, gen1.getChangedCount());
+        assertEquals(target, step(gen1, 10));
+    }
+
+    @Test
+    public void testDeath() {
+        final TileLife target = step(TileLife.create(0L, Blip2), 1);
+        assertEquals(0, target.getCount());
+        assertEquals(0, target.getTileCount());
+    }
+
+    @Test
+    public void testAgainstHashLife() {
+        // NOTE the soup straddles the tiles around the origin, including those with negative coordinates.
+        final Random random = new Random(0L);
+        final List<Point> points = new ArrayList<>();
+        for (int x = -40; x < 40; x++)
+            for (int y = -40; y < 40; y++)
+                if (random.nextInt(3) == 0) points.add(new Point(x, y));
+        TileLife target = TileLife.create(0L, points);
+        HashLife expected = HashLife.create(0L, points);
+        for (int i = 0; i < 100; i++) {
+            assertEquals("generation " + i, expected.getCount(), target.getCount());
+            assertEquals("generation " + i, new HashSet<>(expected.points()), new HashSet<>(target.points()));
+            target = step(target, 1);
+            expected = expected.advance(1);
+        }
+    }
+
+    @Test
+    public void testActivity() {
+        // NOTE a glider (which crosses many tiles) and a field of blocks (which never change).
+        final List<Point> points = new ArrayList<>();
+        for (int i = 0; i < 20; i++)
+            for (int j = 0; j < 20; j++)
+                for (Point p : Point.points(Block)) points.add(p.move(1000 + 100 * i, 1000 + 100 * j));
+        final int blocks = points.size();
+        points.addAll(Point.points(Glider1));
+        final TileLife target = step(TileLife.create(0L, points), 2);
+        assertTrue(target.getTileCount() >= 400);
+        assertTrue(target.getChangedCount() <= 4);
+        final TileLife advanced = step(target, 398);
+        assertEquals(blocks + 5, advanced.getCount());
+        final HashSet<Point> expected = new HashSet<>(HashLife.create(0L, points).advance(400).points());
+        assertEquals(expected, new HashSet<>(advanced.points()));
+    }
+
+    @Test
+    public void testToGroup() {
+        final TileLife target = step(TileLife.create(0L, Glider1), 8);
+        final Group group = target.toGroup();
+        assertEquals(8L, group.getGeneration());
+        assertEquals(target.render(), group.render());
+        assertEquals(target, TileLife.create(group));
+    }
+
+    private static TileLife step(TileLife tileLife, int generations) {
+        for (int i = 0; i < generations; i++)
+            tileLife = tileLife.generation((l, v) -> {
+            });
+        return tileLife;
+    }
+}
@@ -0,0 +1,190 @@
+package edu.neu.coe.info6205.sort;
+
+import edu.neu.coe.info6205.util.Config;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The checks which every sort must pass, so that the test class of each sort need only test what is specific to that sort.
+ */
+public class SortTester {
+
+    /**
+     * Check the basic contract of a SortWithHelper of Integers:
+     * the usual small example; random arrays of various sizes (compared with Arrays.sort);
+     * and sorting with an InstrumentedHelper.
+     *
+     * @param description the description of the sorter (for the helpers).
+     * @param factory     a function which creates the sorter from a helper.
+     * @param config      the configuration.
+     */
+    public static void checkSort(String description, Function<Helper<Integer>, ? extends SortWithHelper<Integer>> factory, Config config) {
+        final Integer[] xs = new Integer[]{3, 4, 2, 1};
+        assertArrayEquals(description, new Integer[]{1, 2, 3, 4}, factory.apply(new BaseHelper<>(description, xs.length, config)).sort(xs));
+        for (int n : new int[]{1, 2, 3, 10, 1000, 10000}) {
+            final int m = n + 1;
+            final Helper<Integer> helper = new BaseHelper<>(description, n, 0L, config);
+            assertSorts(description + ": n=" + n, helper.random(Integer.class, r -> r.nextInt(m)), factory.apply(helper)::mutatingSort);
+        }
+        final int n = 1000;
+        final InstrumentedHelper<Integer> instrumented = new InstrumentedHelper<>(description, n, 0L, config);
+        final Integer[] zs = instrumented.random(Integer.class, r -> r.nextInt(n));
+        assertTrue(description + ": instrumented", instrumented.sorted(factory.apply(instrumented).sort(zs)));
+    }
+
+    /**
+     * Check that a SortWithHelper of Integers sorts a sub-array, leaving the rest of the array alone.
+     * NOTE QuickSort does not support sort(xs, from, to).
+     *
+     * @param description the description of the sorter (for the helper).
+     * @param factory     a function which creates the sorter from a helper.
+     * @param config      the configuration.
+     */
+    public static void checkSortSubArray(String description, Function<Helper<Integer>, ? extends SortWithHelper<Integer>> factory, Config config) {
+        final int n = 1000;
+        final Helper<Integer> helper = new BaseHelper<>(description, n, 0L, config);
+        final Integer[] xs = helper.random(Integer.class, r -> r.nextInt(n));
+        final Integer[] expected = Arrays.copyOf(xs, n);
+        Arrays.sort(expected, 7, n - 11);
+        factory.apply(helper).sort(xs, 7, n - 11);
+        assertArrayEquals(description + ": sub-array", expected, xs);
+    }
+
+    /**
+     * Check that a SortWithHelper of Integers sorts every permutation of 0...n-1, for each n up to maxN.
+     * This is appropriate for sorts (such as the heapsorts) whose behavior depends on the shape of the input.
+     *
+     * @param description the description of the sorter (for the helper).
+     * @param factory     a function which creates the sorter from a helper.
+     * @param config      the configuration.
+     * @param maxN        the largest number of elements (keep this small: there are maxN! permutations).
+     */
+    public static void checkPermutations(String description, Function<Helper<Integer>, ? extends SortWithHelper<Integer>> factory, Config config, int maxN) {
+        for (int n = 1; n <= maxN; n++) {
+            final SortWithHelper<Integer> sorter = factory.apply(new BaseHelper<>(description, n, config));
+            final Integer[] expected = new Integer[n];
+            for (int i = 0; i < n; i++) expected[i] = i;
+            final Integer[] permutation = Arrays.copyOf(expected, n);
+            do {
+                final Integer[] xs = Arrays.copyOf(permutation, n);
+                sorter.mutatingSort(xs);
+                assertArrayEquals(description + ": " + Arrays.toString(permutation), expected, xs);
+            } while (nextPermutation(permutation));
+        }
+    }
+
+    /**
+     * Check that a SortWithHelper is stable, i.e. that equal elements remain in their original order.
+     *
+     * @param description the description of the sorter (for the helper).
+     * @param factory     a function which creates the sorter from a helper.
+     * @param config      the configuration.
+     */
+    public static void checkStable(String description, Function<Helper<Keyed>, ? extends SortWithHelper<Keyed>> factory, Config config) {
+        final int n = 10000;
+        final Random random = new Random(0L);
+        final Keyed[] xs = new Keyed[n];
+        for (int i = 0; i < n; i++) xs[i] = new Keyed(random.nextInt(10), i);
+        final Keyed[] ys = factory.apply(new BaseHelper<>(description, n, config)).sort(xs);
+        for (int i = 1; i < n; i++) {
+            assertTrue(description, ys[i - 1].key <= ys[i].key);
+            if (ys[i - 1].key == ys[i].key) assertTrue(description + ": unstable at " + i, ys[i - 1].index < ys[i].index);
+        }
+    }
+
+    /**
+     * Assert that sorter (which sorts in place) yields the same result as Arrays.sort.
+     *
+     * @param message the message in case of failure.
+     * @param xs      the array to be sorted.
+     * @param sorter  the (mutating) sorter.
+     * @param <X>     the underlying type.
+     */
+    public static <X extends Comparable<X>> void assertSorts(String message, X[] xs, Consumer<X[]> sorter) {
+        final X[] expected = Arrays.copyOf(xs, xs.length);
+        Arrays.sort(expected);
+        sorter.accept(xs);
+        assertArrayEquals(message, expected, xs);
+    }
+
+    /**
+     * Assert that sorter (which sorts in place) yields the same result as Arrays.sort.
+     *
+     * @param message the message in case of failure.
+     * @param xs      the array to be sorted.
+     * @param sorter  the (mutating) sorter.
+     */
+    public static void assertSorts(String message, int[] xs, Consumer<int[]> sorter) {
+        final int[] expected = Arrays.copyOf(xs, xs.length);
+        Arrays.sort(expected);
+        sorter.accept(xs);
+        assertArrayEquals(message, expected, xs);
+    }
+
+    /**
+     * Assert that sorter (which sorts in place) yields the same result as Arrays.sort.
+     *
+     * @param message the message in case of failure.
+     * @param xs      the array to be sorted.
+     * @param sorter  the (mutating) sorter.
+     */
+    public static void assertSorts(String message, long[] xs, Consumer<long[]> sorter) {
+        final long[] expected = Arrays.copyOf(xs, xs.length);
+        Arrays.sort(expected);
+        sorter.accept(xs);
+        assertArrayEquals(message, expected, xs);
+    }
+
+    /**
+     * Rearrange xs into the next permutation in lexicographic order.
+     *
+     * @return false if xs was the last permutation (in which case xs is unchanged).
+     */
+    private static boolean nextPermutation(Integer[] xs) {
+        int i = xs.length - 2;
+        while (i >= 0 && xs[i] > xs[i + 1]) i--;
+        if (i < 0) return false;
+        int j = xs.length - 1;
+        while (xs[j] < xs[i]) j--;
+        swap(xs, i, j);
+        for (int k = i + 1, l = xs.length - 1; k < l; k++, l--) swap(xs, k, l);
+        return true;
+    }
+
+    private static void swap(Integer[] xs, int i, int j) {
+        final Integer x = xs[i];
+        xs[i] = xs[j];
+        xs[j] = x;
+    }
+
+    /**
+     * An element which is compared only by its key, and which remembers its original index (for checking stability).
+     */
+    public static class Keyed implements Comparable<Keyed> {
+        public Keyed(int key, int index) {
+            this.key = key;
+            this.index = index;
+        }
+
+        public int compareTo(Keyed o) {
+            return Integer.compare(key, o.key);
+        }
+
+        @Override
+        public String toString() {
+            return key + "/" + index;
+        }
+
+        public final int key;
+        public final int index;
+    }
+
+    private SortTester() {
+    }
+}
@@ -0,0 +1,90 @@
+package edu.neu.coe.info6205.sort.counting;
+
+import edu.neu.coe.info6205.sort.BaseHelper;
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.HelperFactory;
+import edu.neu.coe.info6205.sort.SortTester;
+import edu.neu.coe.info6205.util.Config;
+import edu.neu.coe.info6205.util.SortBenchmarkHelper;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.chrono.ChronoLocalDateTime;
+import java.util.Arrays;
+import java.util.function.ToLongFunction;
+
+import static org.junit.Assert.*;
+
+public class KeyRadixSortTest {
+
+    @BeforeClass
+    public static void beforeClass() throws IOException {
+        config = Config.load(KeyRadixSortTest.class);
+    }
+
+    @Test
+    public void testSort() {
+        SortTester.checkSort(KeyRadixSort.DESCRIPTION, h -> new KeyRadixSort<>(h, Integer::longValue), config);
+        SortTester.checkStable(KeyRadixSort.DESCRIPTION, h -> new KeyRadixSort<>(h, x -> x.key), config);
+    }
+
+    @Test
+    public void testSortIntegersExtremes() {
+        // NOTE the keys span the whole range of int, so the packed key-index pairs use every bit of the key.
+        final Integer[] xs = new Integer[]{0, Integer.MAX_VALUE, -1, Integer.MIN_VALUE, 1, Integer.MIN_VALUE + 1};
+        final KeyRadixSort<Integer> sorter = new KeyRadixSort<>(config, Integer::longValue);
+        assertArrayEquals(new Integer[]{Integer.MIN_VALUE, Integer.MIN_VALUE + 1, -1, 0, 1, Integer.MAX_VALUE}, sorter.sort(xs));
+    }
+
+    @Test
+    public void testSortLongsWideRange() {
+        // NOTE the range of these keys is too great to be packed with the index.
+        final Long[] xs = new Long[]{Long.MAX_VALUE, 0L, Long.MIN_VALUE, -1L, 1L, Long.MIN_VALUE + 1};
+        final KeyRadixSort<Long> sorter = new KeyRadixSort<>(config, Long::longValue);
+        assertArrayEquals(new Long[]{Long.MIN_VALUE, Long.MIN_VALUE + 1, -1L, 0L, 1L, Long.MAX_VALUE}, sorter.sort(xs));
+    }
+
+    @Test
+    public void testSortLocalDateTimes() {
+        final int n = 10000;
+        final LocalDateTime[] xs = SortBenchmarkHelper.generateRandomLocalDateTimeArray(n);
+        final Helper<ChronoLocalDateTime<?>> helper = HelperFactory.create(KeyRadixSort.DESCRIPTION, n, config);
+        final KeyRadixSort<ChronoLocalDateTime<?>> sorter = new KeyRadixSort<>(helper, KeyRadixSort.localDateTimeKeys());
+        final ChronoLocalDateTime<?>[] ys = Arrays.copyOf(xs, n, ChronoLocalDateTime[].class);
+        sorter.mutatingSort(ys);
+        for (int i = 1; i < n; i++) assertTrue(ys[i - 1].compareTo(ys[i]) <= 0);
+    }
+
+    @Test
+    public void testStable() {
+        final String[] xs = new String[]{"b1", "a1", "b2", "c1", "a2", "b3"};
+        final KeyRadixSort<String> sorter = new KeyRadixSort<>(new BaseHelper<String>("test", config), s -> s.charAt(0));
+        sorter.mutatingSort(xs);
+        assertArrayEquals(new String[]{"a1", "a2", "b1", "b2", "b3", "c1"}, xs);
+    }
+
+    @Test
+    public void testSortSubArrayWithTwoKeys() {
+        final String[] xs = new String[]{"z9", "b2", "a2", "b1", "a1", "a0"};
+        final KeyRadixSort<String> sorter = new KeyRadixSort<>(new BaseHelper<String>("test", config), s -> s.charAt(0), s -> s.charAt(1));
+        sorter.sort(xs, 1, 5);
+        assertArrayEquals(new String[]{"z9", "a1", "a2", "b1", "b2", "a0"}, xs);
+    }
+
+    @Test
+    public void testLocalDateTimeKeys() {
+        final ToLongFunction<ChronoLocalDateTime<?>>[] keys = KeyRadixSort.localDateTimeKeys();
+        assertEquals(2, keys.length);
+        keys[0] = null;
+        assertNotNull(KeyRadixSort.localDateTimeKeys()[0]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNoKeys() {
+        new KeyRadixSort<Integer>(config);
+    }
+
+    private static Config config;
+}
@@ -0,0 +1,107 @@
+package edu.neu.coe.info6205.sort.counting;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class LSDFileSortTest {
+
+    @Test
+    public void testSortDates() throws IOException {
+        // NOTE records are an ISO date (the key) followed by a sequence number, so that stability can be checked.
+        final int n = 10000;
+        final Random random = new Random(0L);
+        final String[] records = new String[n];
+        for (int i = 0; i < n; i++)
+            records[i] = String.format("%04d-%02d-%02d:%06d", 1990 + random.nextInt(40), 1 + random.nextInt(12), 1 + random.nextInt(28), i);
+        final Path file = write(records);
+        try {
+            // NOTE a small buffer size ensures that the write buffers are flushed many times.
+            new LSDFileSort(17, 0, 10, 256).sort(file);
+            final String[] expected = records.clone();
+            Arrays.sort(expected, Comparator.comparing((String s) -> s.substring(0, 10)));
+            assertArrayEquals(expected, read(file, 17));
+            assertEquals(1, Files.list(file.getParent()).count());
+        } finally {
+            delete(file);
+        }
+    }
+
+    @Test
+    public void testSortKeyOffset() throws IOException {
+        final String[] records = new String[]{"a|zz", "b|ab", "c|zb", "d|aa", "e|ab"};
+        final Path file = write(records);
+        try {
+            new LSDFileSort(4, 2, 2).sort(file);
+            assertArrayEquals(new String[]{"d|aa", "b|ab", "e|ab", "c|zb", "a|zz"}, read(file, 4));
+        } finally {
+            delete(file);
+        }
+    }
+
+    @Test
+    public void testSortUnsignedBytes() throws IOException {
+        final Path file = Files.createTempFile("lsd", ".dat");
+        try {
+            Files.write(file, new byte[]{(byte) 0xFF, 1, 0x7F, 2, (byte) 0x80, 3, 0, 4});
+            new LSDFileSort(2, 0, 1).sort(file);
+            assertArrayEquals(new byte[]{0, 4, 0x7F, 2, (byte) 0x80, 3, (byte) 0xFF, 1}, Files.readAllBytes(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testSortUniformKey() throws IOException {
+        final String[] records = new String[]{"xx3", "xx1", "xx2"};
+        final Path file = write(records);
+        try {
+            new LSDFileSort(3, 0, 2).sort(file);
+            assertArrayEquals(records, read(file, 3));
+        } finally {
+            delete(file);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSortBadLength() throws IOException {
+        final Path file = write(new String[]{"abc", "de"});
+        try {
+            new LSDFileSort(3, 0, 1).sort(file);
+        } finally {
+            delete(file);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadLayout() {
+        new LSDFileSort(4, 2, 3);
+    }
+
+    private static Path write(String[] records) throws IOException {
+        final Path directory = Files.createTempDirectory("lsd");
+        final Path file = directory.resolve("records.dat");
+        Files.write(file, String.join("", records).getBytes(StandardCharsets.US_ASCII));
+        return file;
+    }
+
+    private static String[] read(Path file, int recordLength) throws IOException {
+        final String s = new String(Files.readAllBytes(file), StandardCharsets.US_ASCII);
+        final String[] result = new String[s.length() / recordLength];
+        for (int i = 0; i < result.length; i++) result[i] = s.substring(i * recordLength, (i + 1) * recordLength);
+        return result;
+    }
+
+    private static void delete(Path file) throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(file.getParent());
+    }
+}
@@ -0,0 +1,74 @@
+package edu.neu.coe.info6205.sort.counting;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static edu.neu.coe.info6205.sort.SortTester.assertSorts;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class LSDRadixSortTest {
+
+    @Test
+    public void testSortInts() {
+        for (int bits : new int[]{1, 3, 8, 11, 16}) {
+            final Random random = new Random(0L);
+            final int[] xs = new int[10000];
+            for (int i = 0; i < xs.length; i++) xs[i] = random.nextInt();
+            xs[0] = Integer.MIN_VALUE;
+            xs[1] = Integer.MAX_VALUE;
+            xs[2] = 0;
+            xs[3] = -1;
+            assertSorts("bits: " + bits, xs, new LSDRadixSort(bits)::sort);
+        }
+    }
+
+    @Test
+    public void testSortLongs() {
+        for (int bits : new int[]{1, 8, 11, 16}) {
+            final Random random = new Random(0L);
+            final long[] xs = new long[10000];
+            for (int i = 0; i < xs.length; i++) xs[i] = random.nextLong();
+            xs[0] = Long.MIN_VALUE;
+            xs[1] = Long.MAX_VALUE;
+            xs[2] = 0;
+            xs[3] = -1;
+            assertSorts("bits: " + bits, xs, new LSDRadixSort(bits)::sort);
+        }
+    }
+
+    @Test
+    public void testSortSmallKeysSubArray() {
+        // NOTE small keys mean that most passes are skipped (and the number of passes performed may be odd).
+        final Random random = new Random(0L);
+        final int[] xs = new int[1000];
+        for (int i = 0; i < xs.length; i++) xs[i] = random.nextInt(200) - 100;
+        final int[] expected = Arrays.copyOf(xs, xs.length);
+        Arrays.sort(expected, 10, 990);
+        new LSDRadixSort(8).sort(xs, 10, 990);
+        assertArrayEquals(expected, xs);
+        final long[] ys = new long[]{5, 3, -7, 3, 0};
+        new LSDRadixSort(16).sort(ys);
+        assertArrayEquals(new long[]{-7, 0, 3, 3, 5}, ys);
+    }
+
+    @Test
+    public void testSortAllEqual() {
+        final int[] xs = new int[]{42, 42, 42};
+        new LSDRadixSort(11).sort(xs);
+        assertArrayEquals(new int[]{42, 42, 42}, xs);
+        new LSDRadixSort().sort(new int[0]);
+    }
+
+    @Test
+    public void testGetBits() {
+        assertEquals(8, new LSDRadixSort().getBits());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadBits() {
+        new LSDRadixSort(17);
+    }
+}
@@ -10,6 +10,8 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -39,6 +41,36 @@ public class MSDStringSortTest {
         MSDStringSort.sort(xs);
         assertEquals("African-American", xs[0]);
         assertEquals("Palestinian", xs[16]);
+        final String[] ys = Arrays.copyOf(xs, xs.length);
+        Arrays.sort(ys);
+        assertArrayEquals(ys, xs);
+    }
+
+    @Test
+    public void sortParallel() {
+        final Random random = new Random(0L);
+        final String[] xs = new String[100000];
+        // NOTE the alphabet includes characters beyond 255 (which go into the overflow bucket).
+        final char[] alphabet = "abcdeéz\u0100\u4e2d\u6587".toCharArray();
+        for (int i = 0; i < xs.length; i++) {
+            final StringBuilder sb = new StringBuilder();
+            final int length = random.nextInt(8);
+            for (int j = 0; j < length; j++) sb.append(alphabet[random.nextInt(alphabet.length)]);
+            xs[i] = sb.toString();
+        }
+        final String[] expected = Arrays.copyOf(xs, xs.length);
+        Arrays.sort(expected);
+        new MSDStringSort(new ForkJoinPool(4), 1000).sort(xs, 0, xs.length);
+        assertArrayEquals(expected, xs);
+    }
+
+    @Test
+    public void sortSubArray() {
+        final String[] xs = Arrays.copyOf(input, input.length);
+        new MSDStringSort().sort(xs, 2, 9);
+        final String[] ys = Arrays.copyOf(input, input.length);
+        Arrays.sort(ys, 2, 9);
+        assertArrayEquals(ys, xs);
     }
 
     /**
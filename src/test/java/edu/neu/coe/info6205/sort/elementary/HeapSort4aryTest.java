@@ -0,0 +1,67 @@
+package edu.neu.coe.info6205.sort.elementary;
+
+import edu.neu.coe.info6205.sort.BaseHelper;
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.InstrumentedHelper;
+import edu.neu.coe.info6205.sort.SortTester;
+import edu.neu.coe.info6205.util.Config;
+import edu.neu.coe.info6205.util.PrivateMethodTester;
+import edu.neu.coe.info6205.util.Utilities;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class HeapSort4aryTest {
+
+    @Test
+    public void testSort() {
+        SortTester.checkSort(HeapSort_4ary.DESCRIPTION, HeapSort_4ary::new, config);
+        SortTester.checkSortSubArray(HeapSort_4ary.DESCRIPTION, HeapSort_4ary::new, config);
+    }
+
+    @Test
+    public void testPermutations() {
+        // NOTE up to 8 elements, the last internal node of the heap has each of one to four children.
+        SortTester.checkPermutations(HeapSort_4ary.DESCRIPTION, HeapSort_4ary::new, config, 8);
+    }
+
+    @Test
+    public void testLevelBoundaries() {
+        // NOTE a 4-ary heap has full levels at 1, 5, 21, 85, 341 elements: check each side of these boundaries.
+        for (int full = 1; full < 1000; full = 4 * full + 1)
+            for (int n = Math.max(1, full - 2); n <= full + 2; n++) {
+                final Helper<Integer> helper = new BaseHelper<>(HeapSort_4ary.DESCRIPTION, n, 0L, config);
+                final int m = n;
+                SortTester.assertSorts("n=" + n, helper.random(Integer.class, r -> r.nextInt(m)), new HeapSort_4ary<>(helper)::mutatingSort);
+            }
+    }
+
+    @Test
+    public void testVersusBinary() {
+        final int n = 10000;
+        final InstrumentedHelper<Integer> helper = new InstrumentedHelper<>(HeapSort_4ary.DESCRIPTION, n, 0L, config);
+        final Integer[] xs = helper.random(Integer.class, r -> r.nextInt());
+        final Integer[] ys = Arrays.copyOf(xs, n);
+        assertTrue(helper.sorted(new HeapSort_4ary<>(helper).sort(xs)));
+        final InstrumentedHelper<Integer> binary = new InstrumentedHelper<>(HeapSort_BottomUp.DESCRIPTION, n, 0L, config);
+        assertTrue(binary.sorted(new HeapSort_BottomUp<>(binary).sort(ys)));
+        // NOTE the 4-ary heap is half as deep, so it moves about half as many elements,
+        // but it makes three compares per level, rather than one: about 1.5 n lg n compares in all.
+        final int copies = (int) new PrivateMethodTester(helper).invokePrivate("getCopies");
+        final int binaryCopies = (int) new PrivateMethodTester(binary).invokePrivate("getCopies");
+        assertTrue(copies + " vs " + binaryCopies, copies < 0.6 * binaryCopies);
+        assertTrue(helper.getCompares() < 1.6 * n * Utilities.lg(n));
+        assertTrue(helper.getCompares() > binary.getCompares());
+    }
+
+    @BeforeClass
+    public static void beforeClass() throws IOException {
+        config = Config.load();
+    }
+
+    private static Config config;
+}
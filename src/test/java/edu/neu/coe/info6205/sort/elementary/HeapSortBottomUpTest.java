@@ -0,0 +1,69 @@
+package edu.neu.coe.info6205.sort.elementary;
+
+import edu.neu.coe.info6205.sort.InstrumentedHelper;
+import edu.neu.coe.info6205.sort.SortTester;
+import edu.neu.coe.info6205.util.Config;
+import edu.neu.coe.info6205.util.Utilities;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class HeapSortBottomUpTest {
+
+    @Test
+    public void testSort() {
+        SortTester.checkSort(HeapSort_BottomUp.DESCRIPTION, HeapSort_BottomUp::new, config);
+        SortTester.checkSortSubArray(HeapSort_BottomUp.DESCRIPTION, HeapSort_BottomUp::new, config);
+    }
+
+    @Test
+    public void testPermutations() {
+        // NOTE up to 8 elements, the heap has every shape of its last level (including a node with only one child).
+        SortTester.checkPermutations(HeapSort_BottomUp.DESCRIPTION, HeapSort_BottomUp::new, config, 8);
+    }
+
+    @Test
+    public void testComparesVersusHeapSort() {
+        final int n = 10000;
+        final InstrumentedHelper<Integer> helper = new InstrumentedHelper<>(HeapSort_BottomUp.DESCRIPTION, n, 0L, config);
+        final Integer[] xs = helper.random(Integer.class, r -> r.nextInt());
+        final Integer[] ys = Arrays.copyOf(xs, n);
+        assertTrue(helper.sorted(new HeapSort_BottomUp<>(helper).sort(xs)));
+        final long compares = helper.getCompares();
+        final InstrumentedHelper<Integer> classic = new InstrumentedHelper<>("HeapSort", n, 0L, config);
+        assertTrue(classic.sorted(new HeapSort<>(classic).sort(ys)));
+        // NOTE the leaf-search makes one compare per level (and the climb is short), whereas HeapSort makes two.
+        assertTrue(compares < 1.1 * n * Utilities.lg(n));
+        assertTrue(compares + " vs " + classic.getCompares(), compares < 0.6 * classic.getCompares());
+    }
+
+    @Test
+    public void testClimb() {
+        // NOTE in ascending order, the sinking element (the smallest in the heap) never climbs:
+        // in descending order (already a heap), the construction phase climbs all the way back up.
+        final int n = 1000;
+        for (boolean ascending : new boolean[]{true, false}) {
+            final InstrumentedHelper<Integer> helper = new InstrumentedHelper<>(HeapSort_BottomUp.DESCRIPTION, n, 0L, config);
+            final Integer[] xs = new Integer[n];
+            for (int i = 0; i < n; i++) xs[i] = ascending ? i : n - i;
+            assertTrue(helper.sorted(new HeapSort_BottomUp<>(helper).sort(xs)));
+            assertTrue(helper.getCompares() < 1.1 * n * Utilities.lg(n));
+        }
+        final InstrumentedHelper<Integer> helper = new InstrumentedHelper<>(HeapSort_BottomUp.DESCRIPTION, n, 0L, config);
+        final Integer[] xs = new Integer[n];
+        Arrays.fill(xs, 42);
+        new HeapSort_BottomUp<>(helper).sort(xs);
+        for (Integer x : xs) assertEquals(Integer.valueOf(42), x);
+    }
+
+    @BeforeClass
+    public static void beforeClass() throws IOException {
+        config = Config.load();
+    }
+
+    private static Config config;
+}
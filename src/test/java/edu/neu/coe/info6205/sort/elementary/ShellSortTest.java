@@ -4,6 +4,7 @@
 
 package edu.neu.coe.info6205.sort.elementary;
 
+import edu.neu.coe.info6205.sort.BaseHelper;
 import edu.neu.coe.info6205.sort.BaseHelperTest;
 import edu.neu.coe.info6205.sort.GenericSort;
 import edu.neu.coe.info6205.sort.Helper;
@@ -16,6 +17,8 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.Assert.*;
 
@@ -228,6 +231,96 @@ public class ShellSortTest {
         ShellSort.doRandomDoubleShellSort(3, 1000, 10, Config.load());
     }
 
+    @Test
+    public void testGapSequences() {
+        assertArrayEquals(new int[]{701, 301, 132, 57, 23, 10, 4, 1}, GapSequences.CIURA.gaps(1000));
+        assertArrayEquals(new int[]{8858, 3937, 1750}, Arrays.copyOf(GapSequences.CIURA.gaps(10000), 3));
+        assertArrayEquals(new int[]{525, 233, 103, 46, 20, 9, 4, 1}, GapSequences.TOKUDA.gaps(1000));
+        assertArrayEquals(new int[]{41, 19, 5, 1}, GapSequences.SEDGEWICK.gaps(50));
+        assertArrayEquals(new int[]{16, 12, 9, 8, 6, 4, 3, 2, 1}, GapSequences.PRATT.gaps(16));
+        assertArrayEquals(new int[]{40, 13, 4, 1}, GapSequences.KNUTH.gaps(100));
+        assertArrayEquals(new int[]{127, 63, 31, 15, 7, 3, 1}, GapSequences.POWERS_OF_TWO.gaps(100));
+        assertEquals(GapSequences.CIURA, GapSequences.forName(" Ciura"));
+        assertEquals(GapSequences.PRATT, GapSequences.forMode(5));
+        for (GapSequences gaps : GapSequences.values())
+            for (int n = 2; n < 100000; n = n * 3 + 1) {
+                final int[] hs = gaps.gaps(n);
+                assertEquals(gaps + ": " + n, 1, hs[hs.length - 1]);
+                for (int i = 1; i < hs.length; i++) assertTrue(hs[i - 1] > hs[i]);
+            }
+    }
+
+    @Test
+    public void testSortGapSequences() {
+        final int n = 10000;
+        for (GapSequences gaps : GapSequences.values()) {
+            final Helper<Integer> helper = new BaseHelper<>("ShellSort", n, 0L, config);
+            final Integer[] xs = helper.random(Integer.class, r -> r.nextInt());
+            final Integer[] expected = Arrays.copyOf(xs, n);
+            Arrays.sort(expected);
+            assertArrayEquals(gaps.toString(), expected, new ShellSort<>(gaps, helper).sort(xs));
+        }
+    }
+
+    @Test
+    public void testSortParallel() {
+        final int n = 200000;
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (GapSequences gaps : new GapSequences[]{GapSequences.CIURA, GapSequences.PRATT}) {
+                final Helper<Integer> helper = new BaseHelper<>("ShellSort", n, 0L, config);
+                final Integer[] xs = helper.random(Integer.class, r -> r.nextInt(n));
+                final Integer[] expected = Arrays.copyOf(xs, n);
+                Arrays.sort(expected);
+                // NOTE a sub-array checks that the chains are relative to from.
+                final ShellSort<Integer> sorter = new ShellSort<>(gaps, helper, pool);
+                sorter.sort(xs, 0, n);
+                assertArrayEquals(gaps.toString(), expected, xs);
+                final Integer[] ys = helper.random(Integer.class, r -> r.nextInt(n));
+                final Integer[] zs = Arrays.copyOf(ys, n);
+                Arrays.sort(zs, 3, n - 5);
+                sorter.sort(ys, 3, n - 5);
+                assertArrayEquals(gaps.toString(), zs, ys);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testSortParallelInstrumented() {
+        final int n = 20000;
+        final InstrumentedHelper<Integer> helper = new InstrumentedHelper<>("ShellSort", n, 0L, config.copy("instrumenting", "inversions", "0"));
+        final ShellSort<Integer> sorter = new ShellSort<>(GapSequences.CIURA, helper, ForkJoinPool.commonPool());
+        final Integer[] xs = helper.random(Integer.class, r -> r.nextInt());
+        assertTrue(helper.sorted(sorter.sort(xs)));
+        assertTrue(helper.getCompares() > 0);
+    }
+
+    @Test
+    public void testCreate() {
+        final int n = 1000;
+        final Config tokuda = config.copy(ShellSort.SHELLSORT, ShellSort.GAPS, "tokuda");
+        final ShellSort<Integer> sorter = ShellSort.create(new BaseHelper<Integer>("ShellSort", n, 0L, tokuda));
+        assertEquals(GapSequences.TOKUDA.gaps(n)[0], sorter.new H(n).first());
+        final Integer[] xs = sorter.getHelper().random(Integer.class, r -> r.nextInt());
+        assertTrue(sorter.getHelper().sorted(sorter.sort(xs)));
+        // NOTE without gaps in [shellsort], the gap sequence is Ciura's.
+        final ShellSort<Integer> byDefault = ShellSort.create(new BaseHelper<Integer>("ShellSort", n, 0L, config.copy(ShellSort.SHELLSORT, ShellSort.GAPS, "")));
+        assertEquals(GapSequences.CIURA.gaps(n)[0], byDefault.new H(n).first());
+    }
+
+    @Test
+    public void testCreateParallel() {
+        final int n = 100000;
+        final Config parallel = config.copy(ShellSort.SHELLSORT, ShellSort.PARALLEL, "true");
+        final Helper<Integer> helper = new BaseHelper<>("ShellSort", n, 0L, parallel);
+        final Integer[] xs = helper.random(Integer.class, r -> r.nextInt(n));
+        final Integer[] expected = Arrays.copyOf(xs, n);
+        Arrays.sort(expected);
+        assertArrayEquals(expected, ShellSort.create(helper).sort(xs));
+    }
+
     final static LazyLogger logger = new LazyLogger(ShellSort.class);
 
     private static Config config;
@@ -0,0 +1,139 @@
+package edu.neu.coe.info6205.sort.elementary;
+
+import edu.neu.coe.info6205.sort.BaseHelper;
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.InstrumentedHelper;
+import edu.neu.coe.info6205.sort.SortTester;
+import edu.neu.coe.info6205.sort.SortWithHelper;
+import edu.neu.coe.info6205.sort.linearithmic.MergeSort;
+import edu.neu.coe.info6205.sort.linearithmic.MergeSortBasic;
+import edu.neu.coe.info6205.sort.linearithmic.MultiwayMergeSort;
+import edu.neu.coe.info6205.sort.linearithmic.QuickSort_DualPivot;
+import edu.neu.coe.info6205.sort.par.ParallelMergeSort;
+import edu.neu.coe.info6205.util.Config;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class SortingNetworkTest {
+
+    @Test
+    public void testSort() {
+        Integer[] xs = new Integer[]{3, 4, 2, 1};
+        SortWithHelper<Integer> sorter = new SortingNetwork<>(new BaseHelper<Integer>(SortingNetwork.DESCRIPTION, config));
+        assertArrayEquals(new Integer[]{1, 2, 3, 4}, sorter.sort(xs));
+    }
+
+    @Test
+    public void testNetworkSizes() {
+        final int[] expected = {0, 0, 1, 3, 5, 9, 12, 16, 19, 25, 29, 35, 39, 45, 51, 56, 60};
+        for (int n = 0; n <= SortingNetwork.MAX_SIZE; n++) {
+            final int[] network = SortingNetwork.network(n);
+            assertEquals("n=" + n, expected[n] * 2, network.length);
+            for (int k = 0; k < network.length; k += 2) assertTrue(network[k] < network[k + 1] && network[k + 1] < n);
+        }
+    }
+
+    /**
+     * By the 0-1 principle, a network sorts every input if (and only if) it sorts every sequence of zeros and ones.
+     */
+    @Test
+    public void testSortZeroOne() {
+        final Helper<Integer> helper = new BaseHelper<>(SortingNetwork.DESCRIPTION, config);
+        final SortingNetwork<Integer> sorter = new SortingNetwork<>(helper);
+        for (int n = 0; n <= SortingNetwork.MAX_SIZE; n++)
+            for (int bits = 0; bits < 1 << n; bits++) {
+                // NOTE an offset of 1 checks that the networks are applied relative to from.
+                final Integer[] xs = new Integer[n + 1];
+                final int[] ys = new int[n + 1];
+                xs[0] = -1;
+                ys[0] = -1;
+                for (int i = 0; i < n; i++) {
+                    xs[i + 1] = bits >> i & 1;
+                    ys[i + 1] = bits >> i & 1;
+                }
+                sorter.sort(xs, 1, n + 1);
+                SortingNetwork.sort(ys, 1, n + 1);
+                assertTrue("n=" + n + ", bits=" + bits, helper.sorted(xs));
+                for (int i = 1; i <= n; i++) assertTrue("n=" + n + ", bits=" + bits, ys[i - 1] <= ys[i]);
+            }
+    }
+
+    @Test
+    public void testSortRandom() {
+        final Random random = new Random(0L);
+        // NOTE arrays larger than MAX_SIZE are sorted by insertion sort.
+        for (int n = 0; n <= 40; n++) {
+            final int[] ys = new int[n];
+            for (int i = 0; i < n; i++) ys[i] = random.nextInt(10);
+            final Integer[] xs = Arrays.stream(ys).boxed().toArray(Integer[]::new);
+            final int[] expected = Arrays.copyOf(ys, n);
+            Arrays.sort(expected);
+            SortingNetwork.sort(ys, 0, n);
+            assertArrayEquals(expected, ys);
+            final SortingNetwork<Integer> sorter = new SortingNetwork<>(new BaseHelper<Integer>(SortingNetwork.DESCRIPTION, config));
+            assertArrayEquals(Arrays.stream(expected).boxed().toArray(Integer[]::new), sorter.sort(xs));
+        }
+    }
+
+    @Test
+    public void testSortInstrumented() {
+        final int n = 16;
+        final InstrumentedHelper<Integer> helper = new InstrumentedHelper<>(SortingNetwork.DESCRIPTION, n, 0L, config);
+        final SortingNetwork<Integer> sorter = new SortingNetwork<>(helper);
+        helper.init(n);
+        final Integer[] xs = helper.random(Integer.class, r -> r.nextInt(1000));
+        sorter.sort(xs, 0, n);
+        assertTrue(helper.sorted(xs));
+        assertEquals(60, helper.getCompares());
+    }
+
+    @Test
+    public void testBaseCase() {
+        assertEquals(InsertionSort.class, InsertionSort.create(new BaseHelper<Integer>("test", config)).getClass());
+        for (String baseCase : new String[]{"insertion", "insertionopt", "network"}) {
+            final Config c = config.copy(Config.HELPER, InsertionSort.BASECASE, baseCase);
+            final int n = 10000;
+            final Helper<Integer> helper = new BaseHelper<>("test", n, 0L, c);
+            final InsertionSort<Integer> insertionSort = InsertionSort.createUnstable(helper);
+            assertEquals(baseCase.equals("network"), insertionSort instanceof SortingNetwork);
+            assertEquals(InsertionSort.class, InsertionSort.create(helper).getClass());
+            assertEquals(baseCase.equals("insertionopt"), insertionSort instanceof InsertionSortOpt);
+            final Integer[] xs = helper.random(Integer.class, r -> r.nextInt());
+            final Integer[] expected = Arrays.copyOf(xs, n);
+            Arrays.sort(expected);
+            assertArrayEquals(baseCase, expected, new MergeSort<>(helper).sort(xs));
+            assertArrayEquals(baseCase, expected, new QuickSort_DualPivot<>(helper).sort(xs));
+        }
+    }
+
+    @Test
+    public void testBaseCaseStable() {
+        // NOTE the stable sorts must ignore basecase = network or insertionopt (neither of which is stable).
+        for (String baseCase : new String[]{InsertionSort.BASECASE_NETWORK, InsertionSort.BASECASE_INSERTION_OPT}) {
+            final Config c = config.copy(Config.HELPER, InsertionSort.BASECASE, baseCase);
+            SortTester.checkStable(MergeSort.DESCRIPTION + " with " + baseCase, MergeSort::new, c);
+            SortTester.checkStable(MergeSortBasic.DESCRIPTION + " with " + baseCase, MergeSortBasic::new, c);
+            SortTester.checkStable(MultiwayMergeSort.DESCRIPTION + " with " + baseCase, MultiwayMergeSort::new, c);
+            SortTester.checkStable(ParallelMergeSort.DESCRIPTION + " with " + baseCase, ParallelMergeSort::new, c);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBaseCaseInvalid() {
+        final Config c = config.copy(Config.HELPER, InsertionSort.BASECASE, "bubble");
+        InsertionSort.create(new BaseHelper<Integer>("test", c));
+    }
+
+    @BeforeClass
+    public static void beforeClass() throws IOException {
+        config = Config.load();
+    }
+
+    private static Config config;
+}
@@ -0,0 +1,118 @@
+package edu.neu.coe.info6205.sort.linearithmic;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class ExternalMergeSortTest {
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("ems");
+        input = directory.resolve("input.dat");
+        output = directory.resolve("output.dat");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.list(directory)) {
+            for (Path path : (Iterable<Path>) paths::iterator) Files.deleteIfExists(path);
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    @Test
+    public void testSortRandom() throws IOException {
+        final int n = 10000;
+        final long[] xs = new Random(0L).longs(n).toArray();
+        write(xs);
+        // NOTE small buffers ensure that records are read and written in many chunks.
+        final ExternalMergeSort sorter = new ExternalMergeSort(Long.BYTES, ExternalMergeSort.keyComparator(0, Long.BYTES), 100, 4, 256);
+        sorter.sort(input, output);
+        // NOTE keys are compared as unsigned bytes, so the order is the unsigned order.
+        assertArrayEquals(sortUnsigned(xs), read());
+        // NOTE replacement selection yields runs of (on average) twice the heap size for random input.
+        final int runs = sorter.getRunCount();
+        assertTrue("runs: " + runs, runs > n / 300 && runs < n / 150);
+        assertTrue(sorter.getMergePasses() > 1);
+        // Only the input and output should remain.
+        try (Stream<Path> paths = Files.list(directory)) {
+            assertEquals(2, paths.count());
+        }
+    }
+
+    @Test
+    public void testSortSorted() throws IOException {
+        final long[] xs = new long[5000];
+        for (int i = 0; i < xs.length; i++) xs[i] = i;
+        write(xs);
+        final ExternalMergeSort sorter = new ExternalMergeSort(Long.BYTES, ExternalMergeSort.keyComparator(0, Long.BYTES), 10, 2);
+        sorter.sort(input, output);
+        assertArrayEquals(xs, read());
+        assertEquals(1, sorter.getRunCount());
+        assertEquals(0, sorter.getMergePasses());
+    }
+
+    @Test
+    public void testSortReversed() throws IOException {
+        final long[] xs = new long[1000];
+        for (int i = 0; i < xs.length; i++) xs[i] = xs.length - i;
+        write(xs);
+        final ExternalMergeSort sorter = new ExternalMergeSort(Long.BYTES, ExternalMergeSort.keyComparator(0, Long.BYTES), 10, 10);
+        sorter.sort(input, output);
+        final long[] expected = xs.clone();
+        Arrays.sort(expected);
+        assertArrayEquals(expected, read());
+        // NOTE replacement selection cannot do better than the heap size for reversed input.
+        assertEquals(100, sorter.getRunCount());
+        assertEquals(2, sorter.getMergePasses());
+    }
+
+    @Test
+    public void testSortEmpty() throws IOException {
+        write(new long[0]);
+        new ExternalMergeSort(Long.BYTES, ExternalMergeSort.keyComparator(0, Long.BYTES), 10, 2).sort(input, output);
+        assertEquals(0, Files.size(output));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSortBadLength() throws IOException {
+        Files.write(input, new byte[]{1, 2, 3});
+        new ExternalMergeSort(2, ExternalMergeSort.keyComparator(0, 2), 10, 2).sort(input, output);
+    }
+
+    private void write(long[] xs) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(xs.length * Long.BYTES);
+        for (long x : xs) buffer.putLong(x);
+        Files.write(input, buffer.array());
+    }
+
+    private long[] read() throws IOException {
+        final ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(output));
+        final long[] result = new long[buffer.capacity() / Long.BYTES];
+        for (int i = 0; i < result.length; i++) result[i] = buffer.getLong();
+        return result;
+    }
+
+    private static long[] sortUnsigned(long[] xs) {
+        final long[] result = xs.clone();
+        for (int i = 0; i < result.length; i++) result[i] ^= Long.MIN_VALUE;
+        Arrays.sort(result);
+        for (int i = 0; i < result.length; i++) result[i] ^= Long.MIN_VALUE;
+        return result;
+    }
+
+    private Path directory;
+    private Path input;
+    private Path output;
+}
@@ -0,0 +1,110 @@
+package edu.neu.coe.info6205.sort.linearithmic;
+
+import edu.neu.coe.info6205.sort.BaseHelper;
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.InstrumentedHelper;
+import edu.neu.coe.info6205.sort.SortTester;
+import edu.neu.coe.info6205.sort.SortWithHelper;
+import edu.neu.coe.info6205.util.Config;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.Assert.assertTrue;
+
+public class IntroSortPatternDefeatingTest {
+
+    @Test
+    public void testSort() {
+        SortTester.checkSort(IntroSort_PatternDefeating.DESCRIPTION, IntroSort_PatternDefeating::new, config);
+    }
+
+    @Test
+    public void testSortNinther() {
+        // NOTE above the threshold for the median of medians, the last element may be less than the pivot,
+        // so the scan from the left must be stopped by the greatest of the three medians instead.
+        final Random random = new Random(0L);
+        for (int k = 0; k < 1000; k++) {
+            final int n = 129 + random.nextInt(40);
+            final Integer[] xs = new Integer[n];
+            for (int i = 0; i < n; i++) xs[i] = random.nextInt();
+            SortTester.assertSorts("k=" + k, xs, new IntroSort_PatternDefeating<Integer>(config)::mutatingSort);
+        }
+    }
+
+    @Test
+    public void testSortDuplicates() {
+        int n = 100000;
+        final InstrumentedHelper<Integer> helper = new InstrumentedHelper<>(IntroSort_PatternDefeating.DESCRIPTION, n, 0L, config);
+        final SortWithHelper<Integer> sorter = new IntroSort_PatternDefeating<>(helper);
+        final Integer[] xs = helper.random(Integer.class, r -> r.nextInt(4));
+        assertTrue(helper.sorted(sorter.sort(xs)));
+        // NOTE with only four distinct values, the runs of equal elements are never sorted again.
+        assertTrue(helper.getCompares() < 10 * n);
+    }
+
+    @Test
+    public void testSortOrdered() {
+        int n = 100000;
+        final InstrumentedHelper<Integer> helper = new InstrumentedHelper<>(IntroSort_PatternDefeating.DESCRIPTION, n, config);
+        final SortWithHelper<Integer> sorter = new IntroSort_PatternDefeating<>(helper);
+        final Integer[] xs = new Integer[n];
+        for (int i = 0; i < n; i++) xs[i] = i;
+        assertTrue(helper.sorted(sorter.sort(xs)));
+        assertTrue(helper.getCompares() < 3 * n);
+    }
+
+    @Test
+    public void testSortReversed() {
+        int n = 100000;
+        final InstrumentedHelper<Integer> helper = new InstrumentedHelper<>(IntroSort_PatternDefeating.DESCRIPTION, n, config);
+        final SortWithHelper<Integer> sorter = new IntroSort_PatternDefeating<>(helper);
+        final Integer[] xs = new Integer[n];
+        for (int i = 0; i < n; i++) xs[i] = n - i;
+        assertTrue(helper.sorted(sorter.sort(xs)));
+        assertTrue(helper.getCompares() < 4 * n);
+    }
+
+    @Test
+    public void testSortMostlyOrdered() {
+        int n = 100000;
+        final InstrumentedHelper<Integer> helper = new InstrumentedHelper<>(IntroSort_PatternDefeating.DESCRIPTION, n, config);
+        final SortWithHelper<Integer> sorter = new IntroSort_PatternDefeating<>(helper);
+        final Integer[] xs = new Integer[n];
+        for (int i = 0; i < n; i++) xs[i] = i;
+        // NOTE swap a few pairs of elements of a sorted array.
+        final Random random = new Random(0L);
+        for (int k = 0; k < 10; k++) {
+            final int i = random.nextInt(n), j = random.nextInt(n);
+            final Integer x = xs[i];
+            xs[i] = xs[j];
+            xs[j] = x;
+        }
+        assertTrue(helper.sorted(sorter.sort(xs)));
+        // NOTE n lg n is about 17n.
+        assertTrue(helper.getCompares() < 8 * n);
+        assertTrue(helper.maxDepth() > 0);
+    }
+
+    @Test
+    public void testSortPatterns() {
+        int n = 100000;
+        final Helper<Integer> helper = new BaseHelper<>(IntroSort_PatternDefeating.DESCRIPTION, n, config);
+        final SortWithHelper<Integer> sorter = new IntroSort_PatternDefeating<>(helper);
+        final Integer[] organPipe = new Integer[n];
+        for (int i = 0; i < n; i++) organPipe[i] = Math.min(i, n - i);
+        assertTrue(helper.sorted(sorter.sort(organPipe)));
+        final Integer[] sawTooth = new Integer[n];
+        for (int i = 0; i < n; i++) sawTooth[i] = i % 1000;
+        assertTrue(helper.sorted(sorter.sort(sawTooth)));
+    }
+
+    @BeforeClass
+    public static void beforeClass() throws IOException {
+        config = Config.load();
+    }
+
+    private static Config config;
+}
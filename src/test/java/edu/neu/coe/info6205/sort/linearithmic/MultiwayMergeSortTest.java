@@ -0,0 +1,98 @@
+package edu.neu.coe.info6205.sort.linearithmic;
+
+import edu.neu.coe.info6205.sort.BaseHelper;
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.InstrumentedHelper;
+import edu.neu.coe.info6205.sort.SortTester;
+import edu.neu.coe.info6205.sort.SortWithHelper;
+import edu.neu.coe.info6205.util.Config;
+import edu.neu.coe.info6205.util.PrivateMethodTester;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+public class MultiwayMergeSortTest {
+
+    @Test
+    public void testSort() {
+        // NOTE k = 5 is not a power of two, so the loser tree is not complete.
+        for (String k : new String[]{"", "2", "5", "64"})
+            for (String noCopy : new String[]{"true", "false"}) {
+                final Config c = config.copy(MultiwayMergeSort.MULTIWAYMERGESORT, MultiwayMergeSort.K, k).copy(MergeSort.MERGESORT, MergeSort.NOCOPY, noCopy);
+                final String description = MultiwayMergeSort.DESCRIPTION + ": k=" + k + ", nocopy=" + noCopy;
+                SortTester.checkSort(description, MultiwayMergeSort::new, c);
+                SortTester.checkSortSubArray(description, MultiwayMergeSort::new, c);
+                SortTester.checkStable(description, MultiwayMergeSort::new, c);
+            }
+    }
+
+    @Test
+    public void testFanIn() {
+        assertEquals(2, MultiwayMergeSort.fanIn(0));
+        assertEquals(2, MultiwayMergeSort.fanIn(8192));
+        assertEquals(16, MultiwayMergeSort.fanIn(100000));
+        assertEquals(256, MultiwayMergeSort.fanIn(1L << 20));
+        assertEquals(256, MultiwayMergeSort.fanIn(32L << 20));
+    }
+
+    @Test
+    public void testMergeExhaustedRuns() {
+        // NOTE in ascending (descending) order, the runs are exhausted one at a time from the left (right),
+        // so that the loser tree has to deal with more and more empty runs.
+        final int n = 10000;
+        final Config c = config.copy(MultiwayMergeSort.MULTIWAYMERGESORT, MultiwayMergeSort.K, "7");
+        final Integer[] xs = new Integer[n];
+        for (int i = 0; i < n; i++) xs[i] = i;
+        SortTester.assertSorts("ascending", xs, new MultiwayMergeSort<Integer>(new BaseHelper<>(MultiwayMergeSort.DESCRIPTION, n, c))::mutatingSort);
+        for (int i = 0; i < n; i++) xs[i] = n - i;
+        SortTester.assertSorts("descending", xs, new MultiwayMergeSort<Integer>(new BaseHelper<>(MultiwayMergeSort.DESCRIPTION, n, c))::mutatingSort);
+    }
+
+    @Test
+    public void testPasses() {
+        // NOTE with nocopy false, every level of the recursion copies each element twice (once into aux and once back),
+        // and a fan-in of 16 needs far fewer levels than a fan-in of 2 (about a quarter as many, allowing for the cutoff).
+        final int n = 1 << 16;
+        final int[] copies = new int[2];
+        final String[] ks = new String[]{"2", "16"};
+        for (int i = 0; i < ks.length; i++) {
+            final Config c = config.copy(MultiwayMergeSort.MULTIWAYMERGESORT, MultiwayMergeSort.K, ks[i]).copy(MergeSort.MERGESORT, MergeSort.NOCOPY, "false");
+            final InstrumentedHelper<Integer> helper = new InstrumentedHelper<>(MultiwayMergeSort.DESCRIPTION, n, 0L, c);
+            final Integer[] xs = helper.random(Integer.class, r -> r.nextInt());
+            assertTrue(helper.sorted(new MultiwayMergeSort<>(helper).sort(xs)));
+            copies[i] = (int) new PrivateMethodTester(helper).invokePrivate("getCopies");
+        }
+        assertTrue(copies[0] + " copies versus " + copies[1], copies[1] * 2 < copies[0]);
+    }
+
+    @Test
+    public void testSortInstrumented() {
+        int n = 1000;
+        final Config c = config.copy(MultiwayMergeSort.MULTIWAYMERGESORT, MultiwayMergeSort.K, "8");
+        final InstrumentedHelper<Integer> helper = new InstrumentedHelper<>(MultiwayMergeSort.DESCRIPTION, n, 0L, c);
+        final SortWithHelper<Integer> sorter = new MultiwayMergeSort<>(helper);
+        final Integer[] xs = helper.random(Integer.class, r -> r.nextInt(1000));
+        final int inversions = helper.inversions(xs);
+        final Integer[] ys = sorter.sort(xs);
+        assertTrue(helper.sorted(ys));
+        // NOTE insertion sort and the merges both fix exactly one inversion at a time.
+        assertEquals(inversions, helper.getFixes());
+        assertTrue(helper.getCompares() < n * 12);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidFanIn() {
+        final Config c = config.copy(MultiwayMergeSort.MULTIWAYMERGESORT, MultiwayMergeSort.K, "1");
+        new MultiwayMergeSort<Integer>(new BaseHelper<>(MultiwayMergeSort.DESCRIPTION, c)).sort(new Integer[]{3, 4, 2, 1});
+    }
+
+    @BeforeClass
+    public static void beforeClass() throws IOException {
+        config = Config.load();
+    }
+
+    private static Config config;
+}
@@ -0,0 +1,107 @@
+package edu.neu.coe.info6205.sort.linearithmic;
+
+import edu.neu.coe.info6205.sort.BaseHelper;
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.InstrumentedHelper;
+import edu.neu.coe.info6205.sort.SortTester;
+import edu.neu.coe.info6205.util.Config;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static edu.neu.coe.info6205.sort.linearithmic.QuickSort_Block.BLOCK;
+import static org.junit.Assert.*;
+
+public class QuickSortBlockTest {
+
+    @Test
+    public void testSort() {
+        SortTester.checkSort(QuickSort_Block.DESCRIPTION, QuickSort_Block::new, config);
+        final Helper<String> helper = new BaseHelper<>(QuickSort_Block.DESCRIPTION, 10000, 0L, config);
+        final String[] xs = helper.random(String.class, r -> Integer.toString(r.nextInt(10000), 36));
+        assertTrue(helper.sorted(new QuickSort_Block<>(helper).sort(xs)));
+    }
+
+    @Test
+    public void testPartitionBlockBoundaries() {
+        // NOTE these sizes are such that the block loop runs not at all, exactly once, or several times,
+        // and that the Hoare partitioning of what remains has nothing, one, or almost 2 BLOCK elements to do.
+        for (int n : new int[]{3, 2 * BLOCK - 1, 2 * BLOCK, 2 * BLOCK + 1, 2 * BLOCK + 2, 4 * BLOCK, 10 * BLOCK + 3})
+            for (int m : new int[]{2, n}) {
+                final Helper<Integer> helper = new BaseHelper<>(QuickSort_Block.DESCRIPTION, n + 10, 0L, config);
+                checkPartition("n=" + n + ", m=" + m, helper, helper.random(Integer.class, r -> r.nextInt(m)), 5, n + 5);
+            }
+    }
+
+    @Test
+    public void testPartitionAllMisplaced() {
+        // NOTE in reverse order, every element of every block is misplaced, so every offset buffer is full.
+        final int n = 8 * BLOCK;
+        final Helper<Integer> helper = new BaseHelper<>(QuickSort_Block.DESCRIPTION, n, config);
+        final Integer[] xs = new Integer[n];
+        for (int i = 0; i < n; i++) xs[i] = n - i;
+        checkPartition("reversed", helper, xs, 0, n);
+        // NOTE when all elements are equal, every element is also "misplaced" (it is both not less and not greater).
+        Arrays.fill(xs, 42);
+        final int j = checkPartition("equal", helper, xs, 0, n);
+        assertTrue("equal: unbalanced at " + j, j > n / 4 && j < 3 * n / 4);
+    }
+
+    @Test
+    public void testPartitionInstrumented() {
+        final int n = 4 * BLOCK + 7;
+        final InstrumentedHelper<Integer> helper = new InstrumentedHelper<>(QuickSort_Block.DESCRIPTION, n, 0L, config);
+        checkPartition("instrumented", helper, helper.random(Integer.class, r -> r.nextInt(n)), 0, n);
+        // NOTE every element other than the pivot is compared at least once;
+        // those of a block which is unfinished when the block loop ends are compared again by the Hoare partitioning.
+        assertTrue(helper.getCompares() >= n - 1);
+        assertTrue(helper.getCompares() < n + 2 * BLOCK);
+    }
+
+    @Test
+    public void testSortOrdered() {
+        int n = 100000;
+        final Helper<Integer> helper = new BaseHelper<>(QuickSort_Block.DESCRIPTION, n, config);
+        final QuickSort<Integer> sorter = new QuickSort_Block<>(helper);
+        final Integer[] xs = new Integer[n];
+        for (int i = 0; i < n; i++) xs[i] = i;
+        assertTrue(helper.sorted(sorter.sort(xs)));
+        for (int i = 0; i < n; i++) xs[i] = n - i;
+        assertTrue(helper.sorted(sorter.sort(xs)));
+    }
+
+    /**
+     * Partition xs[from...to) and check that the result is a valid partition, leaving the rest of xs alone.
+     *
+     * @return the index of the pivot.
+     */
+    private static int checkPartition(String message, Helper<Integer> helper, Integer[] xs, int from, int to) {
+        final Integer[] original = Arrays.copyOf(xs, xs.length);
+        @SuppressWarnings("unchecked") final BoundsPartitioner<Integer> partitioner = (BoundsPartitioner<Integer>) new QuickSort_Block<>(helper).createPartitioner();
+        final int[] bounds = new int[2 * BoundsPartitioner.MAX_PARTITIONS];
+        assertEquals(message, 2, partitioner.partition(xs, from, to, bounds));
+        final int j = bounds[1];
+        assertEquals(message, from, bounds[0]);
+        assertEquals(message, j + 1, bounds[2]);
+        assertEquals(message, to, bounds[3]);
+        for (int i = from; i < j; i++) assertTrue(message + ": left at " + i, xs[i] <= xs[j]);
+        for (int i = j + 1; i < to; i++) assertTrue(message + ": right at " + i, xs[i] >= xs[j]);
+        for (int i = 0; i < from; i++) assertEquals(message, original[i], xs[i]);
+        for (int i = to; i < xs.length; i++) assertEquals(message, original[i], xs[i]);
+        final Integer[] expected = Arrays.copyOfRange(original, from, to);
+        final Integer[] actual = Arrays.copyOfRange(xs, from, to);
+        Arrays.sort(expected);
+        Arrays.sort(actual);
+        assertArrayEquals(message + ": not a permutation", expected, actual);
+        return j;
+    }
+
+    @BeforeClass
+    public static void beforeClass() throws IOException {
+        config = Config.load();
+    }
+
+    private static Config config;
+}
@@ -4,11 +4,21 @@
 
 package edu.neu.coe.info6205.sort.linearithmic;
 
+import edu.neu.coe.info6205.sort.BaseHelper;
 import edu.neu.coe.info6205.sort.GenericSort;
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.HelperFactory;
 import edu.neu.coe.info6205.util.Config;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 @SuppressWarnings("ALL")
 public class QuickSortTest {
@@ -42,4 +52,53 @@ public class QuickSortTest {
         assertEquals(Character.valueOf('Z'), array[array.length - 1]);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testSortParallel() throws Exception {
+        final Config config = Config.load(getClass());
+        final int n = 100000;
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final Function<Helper<Integer>, QuickSort<Integer>>[] factories = new Function[]{
+                    (Function<Helper<Integer>, QuickSort<Integer>>) QuickSort_Basic::new,
+                    (Function<Helper<Integer>, QuickSort<Integer>>) QuickSort_3way::new,
+                    (Function<Helper<Integer>, QuickSort<Integer>>) QuickSort_DualPivot::new,
+                    (Function<Helper<Integer>, QuickSort<Integer>>) IntroSort::new
+            };
+            for (Function<Helper<Integer>, QuickSort<Integer>> factory : factories) {
+                final Helper<Integer> helper = new BaseHelper<>("parallel", n, 0L, config);
+                final QuickSort<Integer> sorter = factory.apply(helper);
+                sorter.setParallel(pool, 1000);
+                // NOTE the many duplicates exercise the middle partitions of QuickSort_3way and QuickSort_DualPivot.
+                final Integer[] xs = new Integer[n];
+                final Random random = new Random(0L);
+                for (int i = 0; i < n; i++) xs[i] = random.nextInt(n / 10);
+                final Integer[] expected = Arrays.copyOf(xs, n);
+                Arrays.sort(expected);
+                assertArrayEquals(sorter.toString(), expected, sorter.sort(xs, true));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testSortParallelInstrumented() throws Exception {
+        final Config config = Config.setupConfig("true", "0", "1", "", "");
+        final int n = 10000;
+        final Helper<Integer> helper = HelperFactory.create("parallel", n, config);
+        final QuickSort<Integer> sorter = new QuickSort_DualPivot<>(helper);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            // NOTE the instrumented helper is not thread-safe, so this sort must run on the calling thread.
+            sorter.setParallel(pool, 100);
+            final Integer[] xs = helper.random(Integer.class, r -> r.nextInt(n));
+            final Integer[] ys = sorter.sort(xs, true);
+            assertTrue(helper.sorted(ys));
+            assertEquals(0, pool.getStealCount());
+            assertTrue(helper.maxDepth() > 0);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+}
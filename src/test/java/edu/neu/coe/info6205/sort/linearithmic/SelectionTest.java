@@ -0,0 +1,164 @@
+package edu.neu.coe.info6205.sort.linearithmic;
+
+import edu.neu.coe.info6205.sort.BaseHelper;
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.InstrumentedHelper;
+import edu.neu.coe.info6205.sort.SortException;
+import edu.neu.coe.info6205.util.Config;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class SelectionTest {
+
+    @Test
+    public void testSelect() {
+        final Integer[] xs = new Integer[]{3, 4, 2, 1};
+        assertEquals(Integer.valueOf(3), new Selection<>(new BaseHelper<Integer>("Selection", config)).select(xs, 2));
+    }
+
+    @Test
+    public void testSelectEveryRank() {
+        final int n = 100;
+        for (int k = 0; k < n; k++) {
+            final Helper<Integer> helper = new BaseHelper<>("Selection", n, k, config);
+            final Integer[] xs = helper.random(Integer.class, r -> r.nextInt(n));
+            final Integer[] sorted = Arrays.copyOf(xs, n);
+            Arrays.sort(sorted);
+            assertEquals(sorted[k], new Selection<>(helper).select(xs, k));
+            checkSelected(xs, k);
+        }
+    }
+
+    @Test
+    public void testSelectPatterns() {
+        final int n = 100000;
+        final Helper<Integer> helper = new BaseHelper<>("Selection", n, 0L, config);
+        final Selection<Integer> selection = new Selection<>(helper);
+        final Integer[] ascending = new Integer[n], descending = new Integer[n], organPipe = new Integer[n], equal = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            ascending[i] = i;
+            descending[i] = n - i;
+            organPipe[i] = Math.min(i, n - i);
+            equal[i] = 42;
+        }
+        final Integer[] few = helper.random(Integer.class, r -> r.nextInt(3));
+        for (Integer[] xs : Arrays.asList(ascending, descending, organPipe, equal, few))
+            for (int k : new int[]{0, 1, n / 3, n / 2, n - 1}) {
+                final Integer[] ys = Arrays.copyOf(xs, n);
+                final Integer[] sorted = Arrays.copyOf(xs, n);
+                Arrays.sort(sorted);
+                assertEquals(sorted[k], selection.select(ys, k));
+                checkSelected(ys, k);
+            }
+    }
+
+    @Test
+    public void testSelectInstrumented() {
+        final int n = 10000;
+        final InstrumentedHelper<Integer> helper = new InstrumentedHelper<>("Selection", n, 0L, config.copy("instrumenting", "inversions", "0"));
+        final Integer[] xs = helper.random(Integer.class, r -> r.nextInt());
+        new Selection<>(helper).select(xs, n / 2);
+        checkSelected(xs, n / 2);
+        // NOTE selection is linear: quickselect needs about 3.4 n compares (for the median) on average.
+        assertTrue(helper.getCompares() < 5 * n);
+    }
+
+    @Test
+    public void testPartialSort() {
+        final int n = 10000;
+        for (int k : new int[]{0, 1, 100, n - 1, n, n + 1}) {
+            final Helper<Integer> helper = new BaseHelper<>("Selection", n, k, config);
+            final Integer[] xs = helper.random(Integer.class, r -> r.nextInt());
+            final Integer[] sorted = Arrays.copyOf(xs, n);
+            Arrays.sort(sorted);
+            final Integer[] ys = new Selection<>(helper).partialSort(xs, k);
+            assertArrayEquals("k=" + k, Arrays.copyOf(sorted, Math.min(k, n)), Arrays.copyOf(ys, Math.min(k, n)));
+        }
+    }
+
+    @Test
+    public void testTopK() {
+        final int n = 10000;
+        final Helper<Integer> helper = new BaseHelper<>("Selection", n, 0L, config);
+        final Integer[] xs = helper.random(Integer.class, r -> r.nextInt(n));
+        final Integer[] sorted = Arrays.copyOf(xs, n);
+        Arrays.sort(sorted);
+        for (int k : new int[]{1, 10, 1000, n}) {
+            final List<Integer> top = Selection.topK(Arrays.asList(xs), k);
+            assertEquals(k, top.size());
+            for (int i = 0; i < k; i++) assertEquals(sorted[n - 1 - i], top.get(i));
+        }
+        assertEquals(Arrays.asList(3, 2, 1), Selection.topK(Arrays.asList(1, 3, 2), 5));
+        assertTrue(Selection.topK(Arrays.asList(xs), 0).isEmpty());
+    }
+
+    /**
+     * McIlroy's adversary ("A Killer Adversary for Quicksort") decides the values of the elements only as they are compared,
+     * so as to make every pivot as bad as possible: without the median of medians, selection would be quadratic.
+     */
+    @Test
+    public void testSelectAdversary() {
+        final int n = 10000;
+        final Adversary adversary = new Adversary(n);
+        final Adversary.Element[] xs = new Adversary.Element[n];
+        for (int i = 0; i < n; i++) xs[i] = adversary.new Element(i);
+        final Adversary.Element x = new Selection<>(new BaseHelper<Adversary.Element>("Selection", config)).select(xs, n / 2);
+        assertTrue(adversary.compares < 50L * n);
+        for (int i = 0; i < n / 2; i++) assertTrue(xs[i].compareTo(x) <= 0);
+        for (int i = n / 2 + 1; i < n; i++) assertTrue(xs[i].compareTo(x) >= 0);
+    }
+
+    static class Adversary {
+        Adversary(int n) {
+            gas = n;
+            values = new int[n];
+            Arrays.fill(values, gas);
+        }
+
+        class Element implements Comparable<Element> {
+            Element(int index) {
+                this.index = index;
+            }
+
+            public int compareTo(Element o) {
+                compares++;
+                final int x = index, y = o.index;
+                if (values[x] == gas && values[y] == gas) values[x == candidate ? x : y] = solid++;
+                if (values[x] == gas) candidate = x;
+                else if (values[y] == gas) candidate = y;
+                return Integer.compare(values[x], values[y]);
+            }
+
+            private final int index;
+        }
+
+        private final int gas;
+        private final int[] values;
+        private int solid = 0;
+        private int candidate = 0;
+        long compares = 0;
+    }
+
+    @Test(expected = SortException.class)
+    public void testSelectOutOfRange() {
+        new Selection<>(new BaseHelper<Integer>("Selection", config)).select(new Integer[]{3, 4, 2, 1}, 4);
+    }
+
+    private static void checkSelected(Integer[] xs, int k) {
+        for (int i = 0; i < k; i++) assertTrue(xs[i] <= xs[k]);
+        for (int i = k + 1; i < xs.length; i++) assertTrue(xs[i] >= xs[k]);
+    }
+
+    @BeforeClass
+    public static void beforeClass() throws IOException {
+        config = Config.load();
+    }
+
+    private static Config config;
+}
@@ -0,0 +1,154 @@
+package edu.neu.coe.info6205.sort.linearithmic;
+
+import edu.neu.coe.info6205.sort.BaseHelper;
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.InstrumentedHelper;
+import edu.neu.coe.info6205.sort.SortTester;
+import edu.neu.coe.info6205.sort.SortWithHelper;
+import edu.neu.coe.info6205.util.Config;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+public class TimSortTest {
+
+    @Test
+    public void testSort() {
+        SortTester.checkSort(TimSort.DESCRIPTION, TimSort::new, config);
+        SortTester.checkSortSubArray(TimSort.DESCRIPTION, TimSort::new, config);
+        SortTester.checkStable(TimSort.DESCRIPTION, TimSort::new, config);
+    }
+
+    @Test
+    public void testSortReused() {
+        int n = 100000;
+        final Helper<Integer> helper = new BaseHelper<>(TimSort.DESCRIPTION, n, 0L, config);
+        final TimSort<Integer> sorter = new TimSort<>(helper);
+        // NOTE the same sorter (and therefore the same temporary array) is used for each sort.
+        for (int m : new int[]{n, 100, 2})
+            SortTester.assertSorts("m=" + m, helper.random(Integer.class, r -> r.nextInt(m)), sorter::mutatingSort);
+    }
+
+    @Test
+    public void testGallopMergeLo() {
+        // NOTE two runs of equal length, which interleave in blocks of 1000 elements: galloping pays off.
+        final int n = 20000;
+        final InstrumentedHelper<Integer> helper = new InstrumentedHelper<>(TimSort.DESCRIPTION, n, config);
+        final TimSort<Integer> sorter = new TimSort<>(helper);
+        final Integer[] xs = interleavedRuns(n, 1000, 2);
+        SortTester.assertSorts("mergeLo", xs, sorter::mutatingSort);
+        // NOTE finding the two runs takes n compares: merging them takes only a few per block.
+        assertTrue(helper.getCompares() < n + n / 10);
+        assertTrue(sorter.getMinGallop() < 7);
+    }
+
+    @Test
+    public void testGallopMergeHi() {
+        // NOTE the first run is twice as long as the second, so the merge works from the right-hand end.
+        final int n = 30000;
+        final InstrumentedHelper<Integer> helper = new InstrumentedHelper<>(TimSort.DESCRIPTION, n, config);
+        final TimSort<Integer> sorter = new TimSort<>(helper);
+        final Integer[] xs = interleavedRuns(n, 1000, 3);
+        SortTester.assertSorts("mergeHi", xs, sorter::mutatingSort);
+        assertTrue(helper.getCompares() < n + n / 10);
+        assertTrue(sorter.getMinGallop() < 7);
+    }
+
+    @Test
+    public void testNoGallop() {
+        // NOTE when the runs interleave element by element, galloping never pays off and is penalized.
+        final int n = 20000;
+        final InstrumentedHelper<Integer> helper = new InstrumentedHelper<>(TimSort.DESCRIPTION, n, config);
+        final TimSort<Integer> sorter = new TimSort<>(helper);
+        final Integer[] xs = interleavedRuns(n, 1, 2);
+        SortTester.assertSorts("no gallop", xs, sorter::mutatingSort);
+        assertTrue(helper.getCompares() > n + n / 2);
+        assertTrue(sorter.getMinGallop() >= 7);
+    }
+
+    @Test
+    public void testGallopStable() {
+        // NOTE both runs consist of blocks of equal keys, so galloping must find the leftmost (or rightmost) of equals.
+        final int n = 20000;
+        final SortTester.Keyed[] xs = new SortTester.Keyed[n];
+        for (int i = 0; i < n / 2; i++) xs[i] = new SortTester.Keyed(i / 500, i);
+        for (int i = n / 2; i < n; i++) xs[i] = new SortTester.Keyed((i - n / 2) / 700, i);
+        final SortTester.Keyed[] ys = new TimSort<>(new BaseHelper<SortTester.Keyed>(TimSort.DESCRIPTION, n, config)).sort(xs);
+        for (int i = 1; i < n; i++) {
+            assertTrue(ys[i - 1].key <= ys[i].key);
+            if (ys[i - 1].key == ys[i].key) assertTrue("unstable at " + i, ys[i - 1].index < ys[i].index);
+        }
+    }
+
+    @Test
+    public void testSortRuns() {
+        int n = 100000;
+        final InstrumentedHelper<Integer> helper = new InstrumentedHelper<>(TimSort.DESCRIPTION, n, config);
+        final SortWithHelper<Integer> sorter = new TimSort<>(helper);
+        final Integer[] xs = new Integer[n];
+        for (int i = 0; i < n; i++) xs[i] = i;
+        assertTrue(helper.sorted(sorter.sort(xs)));
+        assertEquals(n - 1, helper.getCompares());
+        // NOTE two runs: descending then ascending.
+        final Integer[] ys = new Integer[n];
+        for (int i = 0; i < n / 2; i++) ys[i] = n - 2 * i;
+        for (int i = n / 2; i < n; i++) ys[i] = 2 * i - n + 1;
+        final int before = helper.getCompares();
+        assertTrue(helper.sorted(sorter.sort(ys)));
+        assertTrue(helper.getCompares() - before < 2 * n);
+    }
+
+    @Test
+    public void testSortInstrumented() {
+        int n = 1000;
+        final InstrumentedHelper<Integer> helper = new InstrumentedHelper<>(TimSort.DESCRIPTION, n, 0L, config);
+        final SortWithHelper<Integer> sorter = new TimSort<>(helper);
+        final Integer[] xs = helper.random(Integer.class, r -> r.nextInt(1000));
+        final int inversions = helper.inversions(xs);
+        final Integer[] ys = sorter.sort(xs);
+        assertTrue(helper.sorted(ys));
+        assertTrue(helper.getCompares() > 0);
+        // NOTE each fix removes exactly one inversion.
+        assertEquals(inversions, helper.getFixes());
+    }
+
+    @Test
+    public void testConfiguration() {
+        int n = 10000;
+        final Config tuned = config.copy(TimSort.TIMSORT, TimSort.MINMERGE, "64").copy(TimSort.TIMSORT, TimSort.GALLOP, "3");
+        final InstrumentedHelper<Integer> helper = new InstrumentedHelper<>(TimSort.DESCRIPTION, n, 0L, tuned);
+        final SortWithHelper<Integer> sorter = new TimSort<>(helper);
+        final Integer[] xs = helper.random(Integer.class, r -> r.nextInt());
+        assertTrue(helper.sorted(sorter.sort(xs)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConfigurationInvalid() {
+        final Config invalid = config.copy(TimSort.TIMSORT, TimSort.MINMERGE, "1");
+        final SortWithHelper<Integer> sorter = new TimSort<>(new BaseHelper<Integer>(TimSort.DESCRIPTION, invalid));
+        sorter.sort(new Integer[]{3, 4, 2, 1});
+    }
+
+    /**
+     * Create an array of 0...n-1 consisting of ascending runs, such that the array is divided into blocks of size block,
+     * and each block of every group of k blocks belongs to the first run except the last block, which belongs to the second.
+     */
+    private static Integer[] interleavedRuns(int n, int block, int k) {
+        final Integer[] result = new Integer[n];
+        int first = 0, second = n - n / k;
+        for (int i = 0; i < n; i++)
+            if (i / block % k == k - 1) result[second++] = i;
+            else result[first++] = i;
+        return result;
+    }
+
+    @BeforeClass
+    public static void beforeClass() throws IOException {
+        config = Config.load();
+    }
+
+    private static Config config;
+}
@@ -0,0 +1,84 @@
+package edu.neu.coe.info6205.sort.par;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class ParMergeSortTest {
+
+    @Test
+    public void testSortSmall() {
+        int[] xs = new int[]{3, 4, 2, 1, 0};
+        ParMergeSort.sort(xs, new ForkJoinPool(2));
+        assertArrayEquals(new int[]{0, 1, 2, 3, 4}, xs);
+    }
+
+    @Test
+    public void testSortRandom() {
+        final Random random = new Random(0L);
+        final int[] xs = new int[100000];
+        for (int i = 0; i < xs.length; i++) xs[i] = random.nextInt();
+        final int[] expected = Arrays.copyOf(xs, xs.length);
+        Arrays.sort(expected);
+        ParMergeSort.sort(xs, new ForkJoinPool(4));
+        assertArrayEquals(expected, xs);
+    }
+
+    @Test
+    public void testSortSubArrayWithExplicitCutoff() {
+        final Random random = new Random(0L);
+        final int[] xs = new int[10007];
+        for (int i = 0; i < xs.length; i++) xs[i] = random.nextInt(1000);
+        final int[] expected = Arrays.copyOf(xs, xs.length);
+        Arrays.sort(expected, 13, 9999);
+        // NOTE a small cutoff forces many levels, so that both directions of the ping-pong are exercised.
+        ParMergeSort.sort(xs, 13, 9999, new ForkJoinPool(3), 37);
+        assertArrayEquals(expected, xs);
+    }
+
+    @Test
+    public void testSortParallelMerge() {
+        final Random random = new Random(0L);
+        final int[] xs = new int[100003];
+        for (int i = 0; i < xs.length; i++) xs[i] = random.nextInt(100);
+        final int[] expected = Arrays.copyOf(xs, xs.length);
+        Arrays.sort(expected);
+        // NOTE many duplicates exercise both the lowerBound and upperBound co-ranks.
+        ParMergeSort.sort(xs, 0, xs.length, new ForkJoinPool(4), 64, true);
+        assertArrayEquals(expected, xs);
+    }
+
+    @Test
+    public void testMergeAction() {
+        final int[] src = new int[]{1, 3, 3, 5, 7, 9, 11, 0, 2, 3, 3, 4, 12};
+        final int[] dst = new int[src.length];
+        new ForkJoinPool(2).invoke(new ParMergeSort.MergeAction(src, 0, 0, 7, 7, src.length, dst, 0, 0, 1));
+        assertArrayEquals(new int[]{0, 1, 2, 3, 3, 3, 3, 4, 5, 7, 9, 11, 12}, dst);
+    }
+
+    @Test
+    public void testBounds() {
+        final int[] xs = new int[]{1, 3, 3, 3, 5};
+        assertEquals(1, ParMergeSort.lowerBound(xs, 0, 0, 5, 3));
+        assertEquals(4, ParMergeSort.upperBound(xs, 0, 0, 5, 3));
+        assertEquals(11, ParMergeSort.lowerBound(xs, 10, 10, 15, 3));
+        assertEquals(15, ParMergeSort.upperBound(xs, 10, 10, 15, 7));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSortBadCutoff() {
+        ParMergeSort.sort(new int[10], 0, 10, new ForkJoinPool(1), 0);
+    }
+
+    @Test
+    public void testCutoff() {
+        assertEquals(ParMergeSort.MIN_CUTOFF, ParMergeSort.cutoff(1000, 8));
+        assertEquals(100000000 / 32, ParMergeSort.cutoff(100000000, 8));
+        assertEquals(100000000 / 4, ParMergeSort.cutoff(100000000, 0));
+    }
+}
@@ -0,0 +1,85 @@
+package edu.neu.coe.info6205.sort.par;
+
+import edu.neu.coe.info6205.sort.*;
+import edu.neu.coe.info6205.sort.linearithmic.MergeSort;
+import edu.neu.coe.info6205.util.Config;
+import edu.neu.coe.info6205.util.PrivateMethodTester;
+import edu.neu.coe.info6205.util.StatPack;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class ParallelMergeSortTest {
+
+    @BeforeClass
+    public static void beforeClass() throws IOException {
+        config = Config.load(ParallelMergeSortTest.class);
+    }
+
+    @Test
+    public void testSort1() {
+        Integer[] xs = new Integer[]{3, 4, 2, 1, 0};
+        final Config config = Config.setupConfig("true", "", "0", "1", "");
+        GenericSort<Integer> s = new ParallelMergeSort<>(xs.length, config);
+        Integer[] ys = s.sort(xs);
+        assertArrayEquals(new Integer[]{0, 1, 2, 3, 4}, ys);
+    }
+
+    @Test
+    public void testSortParallel() {
+        for (boolean insurance : new boolean[]{false, true})
+            for (boolean noCopy : new boolean[]{false, true}) {
+                final Config x = config.copy(Config.HELPER, Config.INSTRUMENT, "false").copy(MergeSort.MERGESORT, MergeSort.INSURANCE, Boolean.toString(insurance)).copy(MergeSort.MERGESORT, MergeSort.NOCOPY, Boolean.toString(noCopy));
+                final int N = 100000;
+                final Helper<Integer> helper = HelperFactory.create("parallel merge sort", N, x);
+                assertFalse(helper.instrumented());
+                final Integer[] xs = helper.random(Integer.class, r -> r.nextInt(1000));
+                final Integer[] expected = Arrays.copyOf(xs, xs.length);
+                Arrays.sort(expected);
+                final Sort<Integer> s = new ParallelMergeSort<>(helper, new ForkJoinPool(4));
+                assertArrayEquals(expected, s.sort(xs));
+            }
+    }
+
+    @Test
+    public void testSortPresorted() {
+        final Config x = config.copy(Config.HELPER, Config.INSTRUMENT, "false").copy(MergeSort.MERGESORT, MergeSort.INSURANCE, "true");
+        final int N = 50000;
+        final Integer[] xs = new Integer[N];
+        for (int i = 0; i < N; i++) xs[i] = i;
+        final Sort<Integer> s = new ParallelMergeSort<>(N, x);
+        final Integer[] ys = s.sort(xs);
+        for (int i = 0; i < N; i++) assertEquals(Integer.valueOf(i), ys[i]);
+        s.close();
+    }
+
+    @Test
+    public void testSortInstrumentedMatchesMergeSort() {
+        int k = 7;
+        int N = (int) Math.pow(2, k);
+        final Config x = Config.setupConfig("true", "0", "1", "", "");
+        final Helper<Integer> helper1 = HelperFactory.create("merge sort", N, x);
+        final Integer[] xs = helper1.random(Integer.class, r -> r.nextInt(10000));
+        final Sort<Integer> mergeSort = new MergeSort<>(helper1);
+        mergeSort.init(N);
+        helper1.preProcess(xs);
+        helper1.postProcess(mergeSort.sort(xs));
+        final Helper<Integer> helper2 = HelperFactory.create("parallel merge sort", N, x);
+        final Sort<Integer> parallelMergeSort = new ParallelMergeSort<>(helper2);
+        parallelMergeSort.init(N);
+        helper2.preProcess(xs);
+        helper2.postProcess(parallelMergeSort.sort(xs));
+        final StatPack statPack1 = (StatPack) new PrivateMethodTester(helper1).invokePrivate("getStatPack");
+        final StatPack statPack2 = (StatPack) new PrivateMethodTester(helper2).invokePrivate("getStatPack");
+        assertEquals(statPack1.getStatistics(InstrumentedHelper.COMPARES).mean(), statPack2.getStatistics(InstrumentedHelper.COMPARES).mean(), 0.0);
+        assertEquals(statPack1.getStatistics(InstrumentedHelper.COPIES).mean(), statPack2.getStatistics(InstrumentedHelper.COPIES).mean(), 0.0);
+        assertEquals(statPack2.getStatistics(InstrumentedHelper.INVERSIONS).mean(), statPack2.getStatistics(InstrumentedHelper.FIXES).mean(), 0.0);
+    }
+
+    private static Config config;
+}